@@ -26,7 +26,9 @@
 package net.runelite.client.plugins.bankheatmap;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import lombok.Getter;
 import net.runelite.api.Constants;
@@ -41,52 +43,116 @@ public class HeatmapCalculation
 	@Getter
 	private final Map<Integer, HeatmapItem> heatmapItems = new HashMap<>();
 
+	// Ids and quantities of the items last calculated
+	private int[] lastIds = new int[0];
+	private int[] lastQuantities = new int[0];
+
 	@Inject
 	private HeatmapCalculation(ItemManager itemManager)
 	{
 		this.itemManager = itemManager;
 	}
 
+	/**
+	 * Calculates the heatmap of the items, items whose quantity hasn't changed since the last calculation
+	 * keep their prices.
+	 */
 	void calculate(Item[] items)
 	{
-		heatmapItems.clear();
+		if (isUnchanged(items))
+		{
+			return;
+		}
 
+		final Set<Integer> ids = new HashSet<>();
+		boolean changed = false;
 		for (final Item item : items)
 		{
-			final int qty = item.getQuantity();
-			final int id = item.getId();
-
-			final HeatmapItem hItem = new HeatmapItem();
-			hItem.setId(id);
-			hItem.setQuantity(qty);
-			heatmapItems.put(item.getId(), hItem);
-
-			if (id <= 0 || qty == 0)
+			ids.add(item.getId());
+			final HeatmapItem hItem = heatmapItems.get(item.getId());
+			if (hItem == null || hItem.getQuantity() != item.getQuantity())
 			{
-				continue;
+				heatmapItems.put(item.getId(), createItem(item));
+				changed = true;
 			}
+		}
+
+		changed |= heatmapItems.keySet().retainAll(ids);
+
+		lastIds = new int[items.length];
+		lastQuantities = new int[items.length];
+		for (int i = 0; i < items.length; i++)
+		{
+			lastIds[i] = items[i].getId();
+			lastQuantities[i] = items[i].getQuantity();
+		}
 
-			switch (id)
+		// Nothing to normalize again if only the order of the items changed
+		if (changed)
+		{
+			normalizeItems();
+		}
+	}
+
+	void clear()
+	{
+		heatmapItems.clear();
+		lastIds = new int[0];
+		lastQuantities = new int[0];
+	}
+
+	private boolean isUnchanged(Item[] items)
+	{
+		if (items.length != lastIds.length)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < items.length; i++)
+		{
+			if (items[i].getId() != lastIds[i] || items[i].getQuantity() != lastQuantities[i])
 			{
-				case ItemID.COINS_995:
-					hItem.setAlchPrice(qty);
-					hItem.setGePrice(qty);
-					break;
-				case ItemID.PLATINUM_TOKEN:
-					hItem.setGePrice(qty * 1000L);
-					hItem.setAlchPrice(qty * 1000L);
-					break;
-				default:
-					final long storePrice = itemManager.getItemDefinition(id).getPrice();
-					final long alchPrice = (long) (storePrice * Constants.HIGH_ALCHEMY_MULTIPLIER);
-
-					hItem.setGePrice(itemManager.getItemPrice(id) * qty);
-					hItem.setAlchPrice(alchPrice * qty);
-					break;
+				return false;
 			}
 		}
 
-		normalizeItems();
+		return true;
+	}
+
+	private HeatmapItem createItem(Item item)
+	{
+		final int qty = item.getQuantity();
+		final int id = item.getId();
+
+		final HeatmapItem hItem = new HeatmapItem();
+		hItem.setId(id);
+		hItem.setQuantity(qty);
+
+		if (id <= 0 || qty == 0)
+		{
+			return hItem;
+		}
+
+		switch (id)
+		{
+			case ItemID.COINS_995:
+				hItem.setAlchPrice(qty);
+				hItem.setGePrice(qty);
+				break;
+			case ItemID.PLATINUM_TOKEN:
+				hItem.setGePrice(qty * 1000L);
+				hItem.setAlchPrice(qty * 1000L);
+				break;
+			default:
+				final long storePrice = itemManager.getItemDefinition(id).getPrice();
+				final long alchPrice = (long) (storePrice * Constants.HIGH_ALCHEMY_MULTIPLIER);
+
+				hItem.setGePrice(itemManager.getItemPrice(id) * qty);
+				hItem.setAlchPrice(alchPrice * qty);
+				break;
+		}
+
+		return hItem;
 	}
 
 	private void normalizeItems()
@@ -25,35 +25,42 @@
 
 package net.runelite.client.plugins.bankheatmap;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
-import java.util.concurrent.TimeUnit;
-import lombok.Getter;
+import java.awt.image.IndexColorModel;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import net.runelite.api.ItemDefinition;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.api.widgets.WidgetItem;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.overlay.WidgetItemOverlay;
-import net.runelite.client.util.ImageUtil;
+import net.runelite.client.util.AsyncBufferedImage;
 
 public class HeatmapItemOverlay extends WidgetItemOverlay
 {
 	private static final int ALPHA = 135;
 	private static final int COLOR_BOUNDARY = 240;
+	// Amount of colours the heatmap factors are rounded to
+	private static final int PALETTE_SIZE = 64;
+	// More than a full bank
+	private static final int MAX_MASKS = 2048;
+	private static final IndexColorModel[] PALETTE = createPalette();
 
 	private final HeatmapPlugin plugin;
 	private final ItemManager itemManager;
 
-	@Getter
-	private final Cache<Integer, BufferedImage> heatmapImages = CacheBuilder.newBuilder()
-		.maximumSize(160)
-		.expireAfterWrite(2, TimeUnit.MINUTES)
-		.build();
+	private final Map<Integer, HeatmapMask> masks = new LinkedHashMap<Integer, HeatmapMask>(256, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, HeatmapMask> eldest)
+		{
+			return size() > MAX_MASKS;
+		}
+	};
 
 	@Inject
 	HeatmapItemOverlay(HeatmapPlugin plugin, ItemManager itemManager)
@@ -76,14 +83,28 @@ public class HeatmapItemOverlay extends WidgetItemOverlay
 		}
 
 		Rectangle bounds = itemWidget.getCanvasBounds();
-		BufferedImage image = heatmapImages.getIfPresent(itemId);
-		if (image == null)
+		HeatmapMask mask = masks.get(itemId);
+		// The quantity is drawn on the item image, so the outline changes with it
+		if (mask == null || mask.getQuantity() != hItem.getQuantity())
 		{
-			image = getImage(hItem, mode);
-			heatmapImages.put(itemId, image);
+			mask = createMask(hItem);
+			masks.put(itemId, mask);
 		}
 
-		graphics.drawImage(image, bounds.x, bounds.y, null);
+		int level = getLevel(mode == HeatmapPlugin.HEATMAP_MODE.GE ? hItem.getGeFactor() : hItem.getAlchFactor());
+		graphics.drawImage(mask.getImage(level, PALETTE), bounds.x, bounds.y, null);
+	}
+
+	void clearMasks()
+	{
+		masks.clear();
+	}
+
+	private static int getLevel(float value)
+	{
+		// NaN, when all items have the same value, ends up as the lowest level
+		int level = (int) (value * (PALETTE_SIZE - 1) + 0.5f);
+		return Math.max(0, Math.min(PALETTE_SIZE - 1, level));
 	}
 
 	private static Color getColor(float value)
@@ -94,12 +115,34 @@ public class HeatmapItemOverlay extends WidgetItemOverlay
 		return new Color(c.getRed(), c.getGreen(), c.getBlue(), ALPHA);
 	}
 
-	private BufferedImage getImage(HeatmapItem item, HeatmapPlugin.HEATMAP_MODE mode)
+	// Two colour models per level, transparent for pixels outside the item and the heatmap colour inside it
+	private static IndexColorModel[] createPalette()
+	{
+		IndexColorModel[] palette = new IndexColorModel[PALETTE_SIZE];
+		for (int i = 0; i < PALETTE_SIZE; i++)
+		{
+			Color color = getColor((float) i / (PALETTE_SIZE - 1));
+			palette[i] = new IndexColorModel(1, 2,
+				new byte[]{0, (byte) color.getRed()},
+				new byte[]{0, (byte) color.getGreen()},
+				new byte[]{0, (byte) color.getBlue()},
+				new byte[]{0, (byte) color.getAlpha()});
+		}
+
+		return palette;
+	}
+
+	private HeatmapMask createMask(HeatmapItem item)
 	{
-		ItemDefinition itemDefinition = itemManager.getItemDefinition(item.getId());
-		boolean stackable = item.getQuantity() > 1 || itemDefinition.isStackable();
-		BufferedImage image = itemManager.getImage(item.getId(), item.getQuantity(), stackable);
-		Color color = getColor(mode == HeatmapPlugin.HEATMAP_MODE.GE ? item.getGeFactor() : item.getAlchFactor());
-		return ImageUtil.fillImage(image, color);
+		int id = item.getId();
+		int quantity = item.getQuantity();
+		ItemDefinition itemDefinition = itemManager.getItemDefinition(id);
+		boolean stackable = quantity > 1 || itemDefinition.isStackable();
+		AsyncBufferedImage image = itemManager.getImage(id, quantity, stackable);
+		HeatmapMask mask = new HeatmapMask(image, quantity, PALETTE);
+
+		// The image might still be loading, build the outline again once it has
+		image.onLoaded(() -> masks.replace(id, mask, new HeatmapMask(image, quantity, PALETTE)));
+		return mask;
 	}
-}
\ No newline at end of file
+}
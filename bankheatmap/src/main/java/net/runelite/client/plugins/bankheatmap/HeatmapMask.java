@@ -0,0 +1,54 @@
+package net.runelite.client.plugins.bankheatmap;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import lombok.Getter;
+
+/**
+ * The outline of an item image as a 1 bit mask, independent of the heatmap colour.
+ * <p>
+ * A tinted image only wraps the mask raster with the colour model of a palette entry, so tinting doesn't copy
+ * any pixels and every tint is created once per item.
+ */
+class HeatmapMask
+{
+	@Getter
+	private final int quantity;
+	private final WritableRaster raster;
+	private final BufferedImage[] tintedImages;
+
+	HeatmapMask(final BufferedImage image, final int quantity, final IndexColorModel[] palette)
+	{
+		this.quantity = quantity;
+		this.tintedImages = new BufferedImage[palette.length];
+
+		final BufferedImage mask = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_BINARY, palette[0]);
+		raster = mask.getRaster();
+		for (int y = 0; y < image.getHeight(); y++)
+		{
+			for (int x = 0; x < image.getWidth(); x++)
+			{
+				// Same pixels ImageUtil.fillImage would fill
+				if ((image.getRGB(x, y) >>> 24) != 0)
+				{
+					raster.setSample(x, y, 0, 1);
+				}
+			}
+		}
+
+		tintedImages[0] = mask;
+	}
+
+	BufferedImage getImage(final int level, final IndexColorModel[] palette)
+	{
+		BufferedImage image = tintedImages[level];
+		if (image == null)
+		{
+			image = new BufferedImage(palette[level], raster, false, null);
+			tintedImages[level] = image;
+		}
+
+		return image;
+	}
+}
@@ -79,6 +79,8 @@ public class HeatmapPlugin extends Plugin
 	protected void shutDown()
 	{
 		overlayManager.remove(heatmapItemOverlay);
+		heatmapItemOverlay.clearMasks();
+		heatmapCalculation.clear();
 		heatmapMode = HEATMAP_MODE.NULL;
 	}
 
@@ -88,7 +90,6 @@ public class HeatmapPlugin extends Plugin
 		if ("setBankTitle".equals(event.getEventName()))
 		{
 			Item[] items = getBankTabItems();
-			heatmapItemOverlay.getHeatmapImages().invalidateAll();
 			if (items != null)
 			{
 				heatmapCalculation.calculate(items);
@@ -146,7 +147,6 @@ public class HeatmapPlugin extends Plugin
 		}
 		else
 		{
-			heatmapItemOverlay.getHeatmapImages().invalidateAll();
 			heatmapMode = mode;
 		}
 	}
@@ -35,12 +35,12 @@ import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.inject.Inject;
@@ -90,7 +90,7 @@ public class BankHistoryPanel extends PluginPanel
 	private JFreeChart chart;
 	private ChartPanel graphPanel = null;
 	private SimpleTimeSelection timeSelection = SimpleTimeSelection.TWENTY_FOUR_HOURS;
-	private Map<LocalDateTime, Long> currentDataRange;
+	private NavigableMap<LocalDateTime, Long> currentDataRange;
 	private JLabel changeLabel;
 	private TimeSeriesCollection dataset;
 	private int currentBankTab = -1;
@@ -380,11 +380,8 @@ public class BankHistoryPanel extends PluginPanel
 			return result;
 		}
 
-		LocalDateTime start = Collections.min(currentDataRange.keySet());
-		LocalDateTime end = Collections.max(currentDataRange.keySet());
-
-		long startValue = currentDataRange.get(start);
-		long endValue = currentDataRange.get(end);
+		long startValue = currentDataRange.firstEntry().getValue();
+		long endValue = currentDataRange.lastEntry().getValue();
 		long finishValue = endValue - startValue;
 		DecimalFormat decimalFormat = new DecimalFormat();
 		decimalFormat.setRoundingMode(RoundingMode.DOWN);
@@ -443,41 +440,36 @@ public class BankHistoryPanel extends PluginPanel
 
 	private TimeSeriesCollection getDataset(String username)
 	{
-		BankValueHistoryContainer container = tracker.getBankValueHistory(username);
 		TimeSeriesCollection collection = new TimeSeriesCollection();
+		TimeSeries timeSeries = new TimeSeries("bankValueVsTime");
+		NavigableMap<LocalDateTime, Long> currentDataRange = new TreeMap<>();
+
+		LocalDateTime start;
+		LocalDateTime end;
 
-		if (container == null)
+		if (timeSelection != null)
 		{
-			return collection;
+			start = SimpleTimeSelection.getPastTime(timeSelection);
+			end = LocalDateTime.now();
 		}
-
-		TimeSeries timeSeries = new TimeSeries("bankValueVsTime");
-		Map<LocalDateTime, Long> currentDataRange = new HashMap<>();
-		for (Map.Entry<LocalDateTime, BankValue> entry : container.getPricesMap().entrySet())
+		else
 		{
-			long price = entry.getValue().getBankValue();
-
-			LocalDateTime entryDateTime = entry.getKey();
-			LocalDateTime start;
-			LocalDateTime end;
+			start = startDatePickerPanel.getLocalDateTime();
+			end = toDatePickerPanel.getLocalDateTime();
+		}
 
-			if (timeSelection != null)
-			{
-				start = SimpleTimeSelection.getPastTime(timeSelection);
-				end = LocalDateTime.now();
-			}
-			else
+		if (currentBankTab != -1 && (timeSelection == SimpleTimeSelection.ALL || end != null && start != null))
+		{
+			if (timeSelection == SimpleTimeSelection.ALL)
 			{
-				start = startDatePickerPanel.getLocalDateTime();
-				end = toDatePickerPanel.getLocalDateTime();
+				start = null;
+				end = null;
 			}
 
-			if ((currentBankTab != -1 && currentBankTab == entry.getValue().getTab()) &&
-				(timeSelection == SimpleTimeSelection.ALL ||
-					end != null && start != null && onOrAfter(entryDateTime, start) && onOrBefore(entryDateTime, end)))
+			currentDataRange = tracker.getBankValueHistory(username, currentBankTab, start, end, BankValueHistoryTracker.MAX_CHART_POINTS);
+			for (Map.Entry<LocalDateTime, Long> entry : currentDataRange.entrySet())
 			{
-				currentDataRange.put(entryDateTime.atZone(ZoneId.systemDefault()).toLocalDateTime(), price);
-				timeSeries.add(new Millisecond(Date.from(entryDateTime.atZone(ZoneId.systemDefault()).toInstant())), price);
+				timeSeries.add(new Millisecond(Date.from(entry.getKey().atZone(ZoneId.systemDefault()).toInstant())), entry.getValue());
 			}
 		}
 
@@ -487,16 +479,6 @@ public class BankHistoryPanel extends PluginPanel
 		return collection;
 	}
 
-	private boolean onOrBefore(LocalDateTime first, LocalDateTime second)
-	{
-		return first.compareTo(second) == 0 || first.isBefore(second);
-	}
-
-	private boolean onOrAfter(LocalDateTime first, LocalDateTime second)
-	{
-		return first.compareTo(second) == 0 || first.isAfter(second);
-	}
-
 	protected void setDatasetButton(boolean enabled)
 	{
 		if (addDatasetButton != null && addDatasetButton.isEnabled() != enabled)
@@ -30,7 +30,6 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.image.BufferedImage;
-import java.lang.reflect.InvocationTargetException;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import lombok.extern.slf4j.Slf4j;
@@ -168,19 +167,24 @@ public class BankHistoryPlugin extends Plugin
 	protected void shutDown()
 	{
 		clientToolbar.removeNavigation(navButton);
+		tracker.persist();
 	}
 
 	@Subscribe
-	public void onWidgetLoaded(final WidgetLoaded event) throws InvocationTargetException, InterruptedException
+	public void onWidgetLoaded(final WidgetLoaded event)
 	{
 		if (event.getGroupId() == WidgetID.BANK_GROUP_ID)
 		{
 			log.trace("Player opened the bank");
-			SwingUtilities.invokeAndWait(() -> this.setActivePanel(client.getUsername()));
-			if (isHistoryPanelActive())
+			final String username = client.getUsername();
+			SwingUtilities.invokeLater(() ->
 			{
-				bankHistoryPanel.setDatasetButton(true);
-			}
+				this.setActivePanel(username);
+				if (isHistoryPanelActive())
+				{
+					bankHistoryPanel.setDatasetButton(true);
+				}
+			});
 		}
 	}
 
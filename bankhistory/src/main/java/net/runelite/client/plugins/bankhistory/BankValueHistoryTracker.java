@@ -28,18 +28,23 @@ import com.google.gson.Gson;
 import com.google.inject.Provides;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -54,8 +59,12 @@ import net.runelite.http.api.RuneLiteAPI;
 
 /**
  * Track the change in bank value overtime. Caches values locally.
+ * <p>
+ * The history of each account is loaded once and kept in memory, new entries are written
+ * to disk in the background shortly after they are added.
  */
 @Slf4j
+@Singleton
 public class BankValueHistoryTracker
 {
 	private static final List<Varbits> TAB_VARBITS = List.of(
@@ -75,6 +84,11 @@ public class BankValueHistoryTracker
 		RuneLiteAPI.GSON.newBuilder().registerTypeAdapter(BankValueHistoryContainer.class,
 			new BankValueHistoryDeserializer()).create();
 	private static final String EXTENTION = ".json";
+	private static final String MIGRATED_EXTENTION = ".json.migrated";
+	// Maximum amount of entries returned for a single chart
+	static final int MAX_CHART_POINTS = 500;
+	// Delay before new entries are written, any entry added in the meantime restarts the delay
+	private static final long PERSIST_DELAY = 5;
 
 	@Inject
 	private Client client;
@@ -88,6 +102,13 @@ public class BankValueHistoryTracker
 	@Inject
 	private ContainerCalculation bankCalculation;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
+	private final Map<String, BankValueSeries> seriesCache = new HashMap<>();
+	private Set<String> availableUsers;
+	private ScheduledFuture<?> persistFuture;
+
 	@Provides
 	BankHistoryConfig getConfig(ConfigManager configManager)
 	{
@@ -108,46 +129,109 @@ public class BankValueHistoryTracker
 	 */
 	public void add(String username, BankValue bankValue)
 	{
-		BankValueHistoryContainer valueHistory = getBankValueHistory(username);
-		if (valueHistory != null)
+		BankValueSeries series = getSeries(username);
+		if (series != null)
 		{
-			valueHistory.addPrice(bankValue);
-			try (FileWriter writer = new FileWriter(getFileForUser(username)))
+			series.append(bankValue.getTab(), LocalDateTime.now(), bankValue.getBankValue());
+			synchronized (this)
 			{
-				GSON.toJson(valueHistory, writer);
+				loadAvailableUsers().add(username);
+			}
+			schedulePersist();
+
+			log.debug("Adding bank value history entry {}", bankValue);
+		}
+	}
+
+	private synchronized void schedulePersist()
+	{
+		if (persistFuture != null)
+		{
+			persistFuture.cancel(false);
+		}
+
+		persistFuture = executor.schedule(this::persist, PERSIST_DELAY, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Writes all entries that haven't been written to disk yet.
+	 */
+	public void persist()
+	{
+		final List<BankValueSeries> cached;
+		synchronized (this)
+		{
+			cached = new ArrayList<>(seriesCache.values());
+		}
+
+		for (BankValueSeries series : cached)
+		{
+			try
+			{
+				series.flush();
 			}
 			catch (IOException e)
 			{
 				log.error("Unable to write to price value cache", e);
 			}
-
-			log.debug("Adding bank value history entry {}", valueHistory);
 		}
 	}
 
 	/**
-	 * Gets the current bank value history from disk.
+	 * Gets the bank value history of a tab for the given range, sampled down so charts never have to read the
+	 * full history.
 	 *
 	 * @param username username associated with the bank value.
-	 * @return the retrieved bank value
+	 * @param start start of the range, or null for the first entry
+	 * @param end end of the range, or null for the last entry
+	 * @param maxPoints maximum amount of entries to return
+	 * @return the retrieved bank values, keyed by the time they were added
 	 */
-	public BankValueHistoryContainer getBankValueHistory(String username)
+	public NavigableMap<LocalDateTime, Long> getBankValueHistory(String username, int tab, LocalDateTime start, LocalDateTime end, int maxPoints)
 	{
-		try
+		BankValueSeries series = getSeries(username);
+		if (series != null)
 		{
-			File playerHistoryFile = getFileForUser(username);
-
-			try (FileReader reader = new FileReader(getFileForUser(username)))
+			try
 			{
-				log.debug("Creating bank history cache file at {}", playerHistoryFile.getAbsolutePath());
-				BankValueHistoryContainer container = GSON.fromJson(reader, BankValueHistoryContainer.class);
-				if (container == null)
-				{
-					return new BankValueHistoryContainer();
-				}
+				return series.getRange(tab, start, end, maxPoints);
+			}
+			catch (IOException e)
+			{
+				log.error("Error reading the cache files", e);
+			}
+		}
+
+		return Collections.emptyNavigableMap();
+	}
+
+	/**
+	 * Get the value history for a specific user, the first time a user is loaded their
+	 * old json history file is migrated.
+	 *
+	 * @param username user to get the data for
+	 * @return value history for user
+	 */
+	private synchronized BankValueSeries getSeries(@NonNull String username)
+	{
+		BankValueSeries series = seriesCache.get(username);
+		if (series != null)
+		{
+			return series;
+		}
 
-				return container;
+		series = new BankValueSeries(new File(HISTORY_CACHE, username));
+
+		try
+		{
+			series.load();
+			if (series.isEmpty())
+			{
+				migrateLegacyHistory(username, series);
 			}
+
+			seriesCache.put(username, series);
+			return series;
 		}
 		catch (IOException e)
 		{
@@ -157,45 +241,66 @@ public class BankValueHistoryTracker
 		return null;
 	}
 
-	/**
-	 * Get the data file for a specific user
-	 *
-	 * @param username user to get the data for
-	 * @return data file for user
-	 */
-	public File getFileForUser(@NonNull String username) throws IOException
+	private void migrateLegacyHistory(String username, BankValueSeries series) throws IOException
 	{
-		File file = new File(HISTORY_CACHE, username + EXTENTION);
+		File legacyFile = new File(HISTORY_CACHE, username + EXTENTION);
+		if (!legacyFile.exists())
+		{
+			return;
+		}
 
-		if (!file.exists())
+		log.debug("Migrating bank history cache file at {}", legacyFile.getAbsolutePath());
+		try (FileReader reader = new FileReader(legacyFile))
 		{
-			file.createNewFile();
+			BankValueHistoryContainer container = GSON.fromJson(reader, BankValueHistoryContainer.class);
+			if (container != null)
+			{
+				List<Map.Entry<LocalDateTime, BankValue>> entries = new ArrayList<>(container.getPricesMap().entrySet());
+				entries.sort(Map.Entry.comparingByKey());
+				for (Map.Entry<LocalDateTime, BankValue> entry : entries)
+				{
+					series.append(entry.getValue().getTab(), entry.getKey(), entry.getValue().getBankValue());
+				}
+
+				series.flush();
+			}
 		}
 
-		return file;
+		if (!legacyFile.renameTo(new File(HISTORY_CACHE, username + MIGRATED_EXTENTION)))
+		{
+			log.warn("Unable to rename migrated bank history cache file {}", legacyFile.getName());
+		}
 	}
 
-
 	/**
 	 * Get all accounts that have tracking data from the local file cache.
 	 *
 	 * @return available accounts with data
 	 */
-	public List<String> getAvailableUsers()
+	public synchronized List<String> getAvailableUsers()
+	{
+		return new ArrayList<>(loadAvailableUsers());
+	}
+
+	// Only lists the cache folder the first time, afterwards accounts are added as they get data
+	private Set<String> loadAvailableUsers()
 	{
-		List<String> result = new ArrayList<>();
-		File[] accountFiles = HISTORY_CACHE.listFiles();
-		if (accountFiles == null)
+		if (availableUsers != null)
 		{
-			return result;
+			return availableUsers;
 		}
 
-		for (File file : accountFiles)
+		availableUsers = new LinkedHashSet<>();
+		File[] accountFiles = HISTORY_CACHE.listFiles((file) -> file.isDirectory() || file.getName().endsWith(EXTENTION));
+		if (accountFiles != null)
 		{
-			result.add(file.getName().replace(EXTENTION, ""));
+			for (File file : accountFiles)
+			{
+				availableUsers.add(file.getName().replace(EXTENTION, ""));
+			}
 		}
 
-		return result;
+		return availableUsers;
 	}
 
 	/**
@@ -206,22 +311,8 @@ public class BankValueHistoryTracker
 	 */
 	public LocalDateTime getLastDataEntry(String username, int tab)
 	{
-		BankValueHistoryContainer container = getBankValueHistory(username);
-		Set<LocalDateTime> times =
-			container
-				.getPricesMap()
-				.entrySet()
-				.parallelStream()
-				.filter(bv -> bv.getValue().getTab() == tab)
-				.map(Map.Entry::getKey)
-				.collect(Collectors.toSet());
-
-		if (times.isEmpty())
-		{
-			return null;
-		}
-
-		return Collections.max(times);
+		BankValueSeries series = getSeries(username);
+		return series == null ? null : series.getLastEntry(tab);
 	}
 
 	/**
@@ -233,9 +324,6 @@ public class BankValueHistoryTracker
 	{
 		clientThread.invokeLater(() ->
 		{
-			int currentBankTab = client.getVar(Varbits.CURRENT_BANK_TAB);
-			LocalDateTime lastEntry = getLastDataEntry(client.getUsername(), currentBankTab);
-
 			if (config.getOnlyManualEntries() && !force)
 			{
 				callback.accept("Automatic entries are currently disabled");
@@ -243,29 +331,39 @@ public class BankValueHistoryTracker
 				return;
 			}
 
-			if (force || lastEntry == null || LocalDateTime.now().isAfter(lastEntry.plusHours(config.getDefaultDatasetEntry())))
+			// Everything that needs the client is read here, the history is only accessed off the client thread
+			String username = client.getUsername();
+			int currentBankTab = client.getVar(Varbits.CURRENT_BANK_TAB);
+			long bankValue = bankCalculation.calculate(getBankTabItems());
+
+			executor.execute(() ->
 			{
-				BankValueHistoryTracker.this.add(client.getUsername(),
-					BankValue
-						.builder()
-						.tab(client.getVar(Varbits.CURRENT_BANK_TAB))
-						.bankValue(bankCalculation.calculate(getBankTabItems()))
-						.build());
-
-				log.debug("New entry added!");
-				if (callback != null)
+				LocalDateTime lastEntry = getLastDataEntry(username, currentBankTab);
+
+				if (force || lastEntry == null || LocalDateTime.now().isAfter(lastEntry.plusHours(config.getDefaultDatasetEntry())))
 				{
-					callback.accept("New entry added!");
+					BankValueHistoryTracker.this.add(username,
+						BankValue
+							.builder()
+							.tab(currentBankTab)
+							.bankValue(bankValue)
+							.build());
+
+					log.debug("New entry added!");
+					if (callback != null)
+					{
+						callback.accept("New entry added!");
+					}
 				}
-			}
-			else
-			{
-				log.debug("No entry added.");
-				if (callback != null)
+				else
 				{
-					callback.accept("No entry added.");
+					log.debug("No entry added.");
+					if (callback != null)
+					{
+						callback.accept("No entry added.");
+					}
 				}
-			}
+			});
 		});
 	}
 
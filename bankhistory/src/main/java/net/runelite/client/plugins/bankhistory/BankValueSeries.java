@@ -0,0 +1,286 @@
+package net.runelite.client.plugins.bankhistory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only bank value history for a single account.
+ * <p>
+ * Every bank tab is stored as two columns, `*tab*.time` holding the epoch milliseconds of each entry and
+ * `*tab*.value` holding the matching bank value. Entries are only ever appended so both columns are sorted by time,
+ * which allows a range to be found with a binary search and sampled without reading the rest of the history.
+ * <p>
+ * New entries are kept in memory until {@link #flush()} is called, reads include them.
+ */
+@Slf4j
+class BankValueSeries
+{
+	private static final String TIME_EXTENSION = ".time";
+	private static final String VALUE_EXTENSION = ".value";
+	private static final int ENTRY_SIZE = Long.BYTES;
+
+	private final File folder;
+	// Timestamp of the newest entry for each tab
+	private final Map<Integer, Long> lastEntries = new HashMap<>();
+	// Entries that have been added but not yet written to disk
+	private final List<Entry> pending = new ArrayList<>();
+
+	BankValueSeries(File folder)
+	{
+		this.folder = folder;
+	}
+
+	/**
+	 * Reads the newest timestamp of every tab, only the last entry of each time column is read.
+	 */
+	synchronized void load() throws IOException
+	{
+		lastEntries.clear();
+
+		File[] files = folder.listFiles((dir, name) -> name.endsWith(TIME_EXTENSION));
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			int tab;
+			try
+			{
+				tab = Integer.parseInt(file.getName().replace(TIME_EXTENSION, ""));
+			}
+			catch (NumberFormatException e)
+			{
+				log.debug("Ignoring unknown bank value file {}", file.getName());
+				continue;
+			}
+
+			int size = size(tab);
+			if (size > 0)
+			{
+				lastEntries.put(tab, readTimestamp(tab, size - 1));
+			}
+		}
+	}
+
+	synchronized boolean isEmpty()
+	{
+		return lastEntries.isEmpty();
+	}
+
+	/**
+	 * @return the time of the newest entry for this tab, or null if the tab has no entries
+	 */
+	synchronized LocalDateTime getLastEntry(int tab)
+	{
+		Long timestamp = lastEntries.get(tab);
+		return timestamp == null ? null : toLocalDateTime(timestamp);
+	}
+
+	synchronized void append(int tab, LocalDateTime time, long value)
+	{
+		// Keep the time column sorted even if the system clock is moved backwards
+		long timestamp = Math.max(toEpochMilli(time), lastEntries.getOrDefault(tab, Long.MIN_VALUE));
+		pending.add(new Entry(tab, timestamp, value));
+		lastEntries.put(tab, timestamp);
+	}
+
+	/**
+	 * Writes all entries added since the last flush, each column is only opened once per tab.
+	 */
+	synchronized void flush() throws IOException
+	{
+		if (pending.isEmpty())
+		{
+			return;
+		}
+
+		folder.mkdirs();
+
+		Map<Integer, List<Entry>> entriesByTab = pending.stream()
+			.collect(Collectors.groupingBy(Entry::getTab, LinkedHashMap::new, Collectors.toList()));
+		for (Map.Entry<Integer, List<Entry>> tabEntries : entriesByTab.entrySet())
+		{
+			int tab = tabEntries.getKey();
+			List<Entry> entries = tabEntries.getValue();
+			ByteBuffer times = ByteBuffer.allocate(entries.size() * ENTRY_SIZE);
+			ByteBuffer values = ByteBuffer.allocate(entries.size() * ENTRY_SIZE);
+			for (Entry entry : entries)
+			{
+				times.putLong(entry.getTimestamp());
+				values.putLong(entry.getValue());
+			}
+
+			// Both columns are truncated to the same length so an interrupted write can't misalign them
+			long offset = (long) size(tab) * ENTRY_SIZE;
+			write(getTimeFile(tab), offset, times);
+			write(getValueFile(tab), offset, values);
+
+			pending.removeAll(entries);
+		}
+	}
+
+	/**
+	 * Get the entries of a tab between two times (inclusive), sampled down to at most {@code maxPoints} entries.
+	 * The first and last entry of the range are always included.
+	 *
+	 * @param start start of the range, or null for the first entry
+	 * @param end end of the range, or null for the last entry
+	 * @return value of each sampled entry, keyed by its time
+	 */
+	synchronized NavigableMap<LocalDateTime, Long> getRange(int tab, LocalDateTime start, LocalDateTime end, int maxPoints) throws IOException
+	{
+		NavigableMap<LocalDateTime, Long> result = new TreeMap<>();
+		addPending(result, tab, start, end);
+
+		int size = size(tab);
+		if (size == 0)
+		{
+			return result;
+		}
+
+		try (FileChannel timeChannel = FileChannel.open(getTimeFile(tab).toPath(), StandardOpenOption.READ);
+			FileChannel valueChannel = FileChannel.open(getValueFile(tab).toPath(), StandardOpenOption.READ))
+		{
+			LongBuffer times = timeChannel.map(FileChannel.MapMode.READ_ONLY, 0, (long) size * ENTRY_SIZE).asLongBuffer();
+			LongBuffer values = valueChannel.map(FileChannel.MapMode.READ_ONLY, 0, (long) size * ENTRY_SIZE).asLongBuffer();
+
+			int from = start == null ? 0 : lowerBound(times, size, toEpochMilli(start));
+			int to = end == null ? size : lowerBound(times, size, toEpochMilli(end) + 1);
+			int count = to - from;
+			if (count <= 0)
+			{
+				return result;
+			}
+
+			// Evenly spaced entries, leaving room for the last entry
+			int step = Math.max(1, (int) Math.ceil((count - 1) / (double) Math.max(1, maxPoints - 1)));
+			for (int i = from; i < to - 1; i += step)
+			{
+				result.put(toLocalDateTime(times.get(i)), values.get(i));
+			}
+
+			result.put(toLocalDateTime(times.get(to - 1)), values.get(to - 1));
+		}
+
+		return result;
+	}
+
+	private void addPending(NavigableMap<LocalDateTime, Long> result, int tab, LocalDateTime start, LocalDateTime end)
+	{
+		long from = start == null ? Long.MIN_VALUE : toEpochMilli(start);
+		long to = end == null ? Long.MAX_VALUE : toEpochMilli(end);
+		for (Entry entry : pending)
+		{
+			if (entry.getTab() == tab && entry.getTimestamp() >= from && entry.getTimestamp() <= to)
+			{
+				result.put(toLocalDateTime(entry.getTimestamp()), entry.getValue());
+			}
+		}
+	}
+
+	// Index of the first entry at or after the timestamp
+	private static int lowerBound(LongBuffer times, int size, long timestamp)
+	{
+		int low = 0;
+		int high = size;
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if (times.get(mid) < timestamp)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	private int size(int tab)
+	{
+		return (int) (Math.min(getTimeFile(tab).length(), getValueFile(tab).length()) / ENTRY_SIZE);
+	}
+
+	private long readTimestamp(int tab, int index) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE);
+		try (FileChannel channel = FileChannel.open(getTimeFile(tab).toPath(), StandardOpenOption.READ))
+		{
+			long position = (long) index * ENTRY_SIZE;
+			while (buffer.hasRemaining())
+			{
+				int read = channel.read(buffer, position + buffer.position());
+				if (read < 0)
+				{
+					throw new IOException("Unexpected end of file");
+				}
+			}
+		}
+
+		return buffer.getLong(0);
+	}
+
+	private static void write(File file, long offset, ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			channel.truncate(offset);
+			while (buffer.hasRemaining())
+			{
+				channel.write(buffer, offset + buffer.position());
+			}
+		}
+	}
+
+	private File getTimeFile(int tab)
+	{
+		return new File(folder, tab + TIME_EXTENSION);
+	}
+
+	private File getValueFile(int tab)
+	{
+		return new File(folder, tab + VALUE_EXTENSION);
+	}
+
+	private static long toEpochMilli(LocalDateTime time)
+	{
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private static LocalDateTime toLocalDateTime(long timestamp)
+	{
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+	}
+
+	@Value
+	private static class Entry
+	{
+		int tab;
+		long timestamp;
+		long value;
+	}
+}
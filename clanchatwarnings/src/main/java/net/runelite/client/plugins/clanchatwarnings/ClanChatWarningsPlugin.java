@@ -9,11 +9,11 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -56,10 +56,15 @@ public class ClanChatWarningsPlugin extends Plugin
 	private static final Splitter NEWLINE_SPLITTER = Splitter.on("\n").omitEmptyStrings().trimResults();
 	private static final String MESSAGE_DELIMITER = "~";
 	private static final List<String> AFTER_OPTIONS = List.of("Message", "Add ignore", "Remove friend", "Kick");
-	private final Map<Pattern, String> warnings = new HashMap<>();
+	// One slot per second, cooldowns longer than the wheel are passed over until they end
+	private static final int COOLDOWN_WHEEL_SIZE = 64;
+	private WarningMatcher warningMatcher;
 	private final Map<String, String> warnPlayers = new HashMap<>();
 	private final Set<String> exemptPlayers = new HashSet<>();
 	private final Map<String, Instant> cooldownMap = new HashMap<>();
+	// Names on cooldown, by the second their cooldown ends modulo the wheel size
+	private final List<List<String>> cooldownWheel = new ArrayList<>();
+	private long lastPurgeSecond = -1;
 	private final List<Integer> trackTimer = new ArrayList<>();
 	private final List<String> trackName = new ArrayList<>();
 	private final List<String> clansName = new ArrayList<>();
@@ -75,16 +80,21 @@ public class ClanChatWarningsPlugin extends Plugin
 	@Override
 	protected void startUp()
 	{
+		for (int i = 0; i < COOLDOWN_WHEEL_SIZE; i++)
+		{
+			cooldownWheel.add(new ArrayList<>());
+		}
 		this.updateSets();
 	}
 
 	@Override
 	protected void shutDown()
 	{
-		this.warnings.clear();
 		this.exemptPlayers.clear();
 		this.warnPlayers.clear();
 		this.cooldownMap.clear();
+		this.cooldownWheel.clear();
+		this.lastPurgeSecond = -1;
 		this.trackTimer.clear();
 		this.trackName.clear();
 		this.clansName.clear();
@@ -149,13 +159,12 @@ public class ClanChatWarningsPlugin extends Plugin
 
 	void updateSets()
 	{
-		this.warnings.clear();
 		this.exemptPlayers.clear();
 		this.warnPlayers.clear();
 
-		warnings.putAll(NEWLINE_SPLITTER.splitToList(this.config.warnings()).stream()
+		warningMatcher = new WarningMatcher(NEWLINE_SPLITTER.splitToList(this.config.warnings()).stream()
 			.map((s) -> s.toLowerCase().split(MESSAGE_DELIMITER))
-			.collect(Collectors.toMap(p -> Pattern.compile(p[0].trim(), Pattern.CASE_INSENSITIVE), p -> p.length > 1 ? p[1].trim() : ""))
+			.collect(Collectors.toMap(p -> p[0].trim(), p -> p.length > 1 ? p[1].trim() : "", (p1, p2) -> p1, LinkedHashMap::new))
 		);
 
 		exemptPlayers.addAll(Text.fromCSV(this.config.exemptPlayers()).stream()
@@ -247,7 +256,7 @@ public class ClanChatWarningsPlugin extends Plugin
 			{
 				if (config.cooldown() > 0)
 				{
-					cooldownMap.put(memberName.toLowerCase(), Instant.now());
+					startCooldown(memberName.toLowerCase());
 				}
 				sendNotification(memberName, warningMessage, 1);
 			}
@@ -257,6 +266,8 @@ public class ClanChatWarningsPlugin extends Plugin
 	@Subscribe
 	public void onGameTick(GameTick event)
 	{
+		purgeCooldowns();
+
 		if (!trackName.isEmpty())
 		{
 			for (int i = 0; i < trackTimer.size(); i++)
@@ -344,16 +355,51 @@ public class ClanChatWarningsPlugin extends Plugin
 			return warnPlayers.get(username);
 		}
 
-		for (final Map.Entry<Pattern, String> entry : warnings.entrySet())
+		return warningMatcher.getWarning(username);
+	}
+
+	private void startCooldown(String username)
+	{
+		final Instant now = Instant.now();
+		cooldownMap.put(username, now);
+
+		final long endSecond = now.getEpochSecond() + config.cooldown() + 1;
+		cooldownWheel.get((int) Math.floorMod(endSecond, COOLDOWN_WHEEL_SIZE)).add(username);
+	}
+
+	/**
+	 * Removes the cooldowns that ended, visiting only the wheel slots of the seconds passed since the last purge.
+	 */
+	private void purgeCooldowns()
+	{
+		final long now = Instant.now().getEpochSecond();
+		long second = lastPurgeSecond + 1;
+		if (lastPurgeSecond < 0 || now - lastPurgeSecond > COOLDOWN_WHEEL_SIZE)
+		{
+			second = now - COOLDOWN_WHEEL_SIZE + 1;
+		}
+
+		final Instant cutoff = Instant.now().minus(config.cooldown(), ChronoUnit.SECONDS);
+		for (; second <= now; second++)
 		{
-			final Matcher m = entry.getKey().matcher(username);
-			if (m.find())
+			final Iterator<String> it = cooldownWheel.get((int) Math.floorMod(second, COOLDOWN_WHEEL_SIZE)).iterator();
+			while (it.hasNext())
 			{
-				return entry.getValue();
+				final String username = it.next();
+				final Instant start = cooldownMap.get(username);
+				if (start == null)
+				{
+					it.remove();
+				}
+				else if (cutoff.compareTo(start) > 0)
+				{
+					cooldownMap.remove(username);
+					it.remove();
+				}
 			}
 		}
 
-		return null;
+		lastPurgeSecond = now;
 	}
 
 	private String toTrueName(String str)
@@ -0,0 +1,291 @@
+package net.runelite.client.plugins.clanchatwarnings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Matches player names against all regex warnings at once.
+ * <p>
+ * Warnings without regex syntax are plain substrings and are matched together by an Aho-Corasick automaton,
+ * the other warnings are joined into one alternation with a named group per warning. When several warnings
+ * match, the first one in the config wins. Recent verdicts are remembered since the same names join again and again.
+ */
+@Slf4j
+class WarningMatcher
+{
+	private static final String REGEX_META_CHARS = "\\[](){}.*+?^$|";
+	private static final String GROUP_PREFIX = "warning";
+	private static final int MAX_CACHED_VERDICTS = 1024;
+
+	private final List<String> messages = new ArrayList<>();
+
+	// Aho-Corasick automaton over the literal warnings, transitions by state and alphabet index
+	private final int[] alphabet = new int[128];
+	private int[][] transitions;
+	// Lowest warning index matched on reaching a state, Integer.MAX_VALUE if none
+	private int[] stateMatches;
+	// Lowest warning index of an empty literal, which matches every name
+	private int emptyMatch = Integer.MAX_VALUE;
+
+	// Warnings whose regex can't be part of the alternation because it refers to its own groups
+	private final List<Pattern> separatePatterns = new ArrayList<>();
+	private final List<Integer> separateIndexes = new ArrayList<>();
+	private Pattern alternation;
+	private final List<Integer> alternationIndexes = new ArrayList<>();
+	private final List<Pattern> alternationPatterns = new ArrayList<>();
+
+	private final Map<String, Optional<String>> verdicts = new LinkedHashMap<String, Optional<String>>(64, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest)
+		{
+			return size() > MAX_CACHED_VERDICTS;
+		}
+	};
+
+	/**
+	 * @param warnings the lower case regexes mapped to their message, in config order
+	 */
+	WarningMatcher(final Map<String, String> warnings)
+	{
+		final List<String> literals = new ArrayList<>();
+		final List<Integer> literalIndexes = new ArrayList<>();
+		final StringBuilder regex = new StringBuilder();
+
+		for (final Map.Entry<String, String> warning : warnings.entrySet())
+		{
+			final String pattern = warning.getKey();
+			final int index = messages.size();
+
+			if (isLiteral(pattern))
+			{
+				messages.add(warning.getValue());
+				literals.add(pattern);
+				literalIndexes.add(index);
+				continue;
+			}
+
+			final Pattern compiled;
+			try
+			{
+				compiled = Pattern.compile(pattern, Pattern.CASE_INSENSITIVE);
+			}
+			catch (PatternSyntaxException e)
+			{
+				log.warn("Ignoring invalid regex warning: {}", pattern);
+				continue;
+			}
+
+			messages.add(warning.getValue());
+			if (refersToGroups(pattern))
+			{
+				separatePatterns.add(compiled);
+				separateIndexes.add(index);
+				continue;
+			}
+
+			if (regex.length() > 0)
+			{
+				regex.append('|');
+			}
+			regex.append("(?<").append(GROUP_PREFIX).append(index).append('>').append(pattern).append(')');
+			alternationIndexes.add(index);
+			alternationPatterns.add(compiled);
+		}
+
+		if (regex.length() > 0)
+		{
+			alternation = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+		}
+
+		buildAutomaton(literals, literalIndexes);
+	}
+
+	/**
+	 * @param name lower case player name
+	 * @return the message of the first warning matching the name, or null if none match
+	 */
+	@Nullable
+	String getWarning(final String name)
+	{
+		Optional<String> verdict = verdicts.get(name);
+		if (verdict == null)
+		{
+			final int index = findFirstMatch(name);
+			verdict = index == Integer.MAX_VALUE ? Optional.empty() : Optional.of(messages.get(index));
+			verdicts.put(name, verdict);
+		}
+
+		return verdict.orElse(null);
+	}
+
+	private int findFirstMatch(final String name)
+	{
+		int first = emptyMatch;
+
+		int state = 0;
+		for (int i = 0; i < name.length(); i++)
+		{
+			final char c = name.charAt(i);
+			state = transitions[state][c < alphabet.length ? alphabet[c] : 0];
+			first = Math.min(first, stateMatches[state]);
+		}
+
+		if (alternation != null)
+		{
+			final Matcher m = alternation.matcher(name);
+			if (m.find())
+			{
+				// The alternation reports the leftmost match, an earlier warning could still match further on
+				for (int i = 0; i < alternationIndexes.size() && alternationIndexes.get(i) < first; i++)
+				{
+					final int index = alternationIndexes.get(i);
+					if (m.group(GROUP_PREFIX + index) != null || alternationPatterns.get(i).matcher(name).find())
+					{
+						first = index;
+						break;
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < separatePatterns.size() && separateIndexes.get(i) < first; i++)
+		{
+			if (separatePatterns.get(i).matcher(name).find())
+			{
+				first = separateIndexes.get(i);
+				break;
+			}
+		}
+
+		return first;
+	}
+
+	private void buildAutomaton(final List<String> literals, final List<Integer> indexes)
+	{
+		// Index 0 is every character that isn't part of any literal
+		int alphabetSize = 1;
+		for (final String literal : literals)
+		{
+			for (int i = 0; i < literal.length(); i++)
+			{
+				final char c = literal.charAt(i);
+				if (alphabet[c] == 0)
+				{
+					alphabet[c] = alphabetSize++;
+				}
+			}
+		}
+
+		// Trie of the literals, -1 marks a missing edge
+		final List<int[]> trie = new ArrayList<>();
+		final List<Integer> matches = new ArrayList<>();
+		trie.add(newState(alphabetSize));
+		matches.add(Integer.MAX_VALUE);
+
+		for (int n = 0; n < literals.size(); n++)
+		{
+			final String literal = literals.get(n);
+			final int index = indexes.get(n);
+			if (literal.isEmpty())
+			{
+				emptyMatch = Math.min(emptyMatch, index);
+				continue;
+			}
+
+			int state = 0;
+			for (int i = 0; i < literal.length(); i++)
+			{
+				final int c = alphabet[literal.charAt(i)];
+				if (trie.get(state)[c] < 0)
+				{
+					trie.get(state)[c] = trie.size();
+					trie.add(newState(alphabetSize));
+					matches.add(Integer.MAX_VALUE);
+				}
+				state = trie.get(state)[c];
+			}
+			matches.set(state, Math.min(matches.get(state), index));
+		}
+
+		transitions = trie.toArray(new int[0][]);
+		stateMatches = new int[transitions.length];
+		for (int i = 0; i < stateMatches.length; i++)
+		{
+			stateMatches[i] = matches.get(i);
+		}
+
+		// Breadth first, filling in missing edges with the edges of the failure state
+		final int[] failure = new int[transitions.length];
+		final Queue<Integer> queue = new ArrayDeque<>();
+		for (int c = 0; c < alphabetSize; c++)
+		{
+			if (transitions[0][c] < 0)
+			{
+				transitions[0][c] = 0;
+			}
+			else
+			{
+				queue.add(transitions[0][c]);
+			}
+		}
+
+		while (!queue.isEmpty())
+		{
+			final int state = queue.poll();
+			stateMatches[state] = Math.min(stateMatches[state], stateMatches[failure[state]]);
+			for (int c = 0; c < alphabetSize; c++)
+			{
+				final int next = transitions[state][c];
+				if (next < 0)
+				{
+					transitions[state][c] = transitions[failure[state]][c];
+				}
+				else
+				{
+					failure[next] = transitions[failure[state]][c];
+					queue.add(next);
+				}
+			}
+		}
+	}
+
+	private static int[] newState(final int alphabetSize)
+	{
+		final int[] state = new int[alphabetSize];
+		Arrays.fill(state, -1);
+		return state;
+	}
+
+	// Names are ascii, other characters are left to the regex
+	private static boolean isLiteral(final String pattern)
+	{
+		for (int i = 0; i < pattern.length(); i++)
+		{
+			final char c = pattern.charAt(i);
+			if (c >= 128 || REGEX_META_CHARS.indexOf(c) >= 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	// Back references and named groups would break once the regex is nested in the alternation
+	private static boolean refersToGroups(final String pattern)
+	{
+		return pattern.matches("(?s).*(\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]).*");
+	}
+}
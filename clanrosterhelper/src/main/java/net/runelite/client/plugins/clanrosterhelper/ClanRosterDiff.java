@@ -0,0 +1,136 @@
+package net.runelite.client.plugins.clanrosterhelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * The actions needed to make the clan setup match the truthful copy of the clan roster. Names are normalized
+ * once into hashed lookups, so the diff takes linear time in the size of the roster and the clan setup.
+ */
+class ClanRosterDiff
+{
+	@Value
+	static class Action
+	{
+		String rsn;
+		String action;
+	}
+
+	@Getter
+	private final List<Action> actions = new ArrayList<>();
+
+	/**
+	 * @param extract      the truthful copy of the clan roster
+	 * @param clanMembers  the clan members scraped from the clan setup widget
+	 * @param ignoredNames the normalized names and previous names of ignored players
+	 */
+	ClanRosterDiff(final ClanRosterTruth extract, final List<ClanMemberMap> clanMembers, final Set<String> ignoredNames)
+	{
+		final Map<String, ClanMemberMap> clanMembersByName = new HashMap<>();
+		for (ClanMemberMap clanMember : clanMembers)
+		{
+			clanMembersByName.putIfAbsent(normalize(clanMember.getRSN()), clanMember);
+		}
+
+		//Iterate through known clan setup members
+		for (ClanMemberMap extractMember : extract.MEMBERS)
+		{
+			final String name = normalize(extractMember.getRSN());
+
+			//Find the extract member's match if it exists
+			final ClanMemberMap match = clanMembersByName.get(name);
+
+			//Check if the matched player is correctly ranked
+			if (match != null)
+			{
+				if (!ranksMatch(extractMember.getRank(), match.getRank()))
+				{
+					switch (extractMember.getRank().toLowerCase())
+					{
+						case "not in clan":
+						case "friend":
+							add("'" + match.getRSN() + "' rank:", "Not in clan");
+							break;
+						case "ignore":
+							add("'" + match.getRSN() + "'", "Remove Friend");
+							add("'" + match.getRSN() + "'", "Ignore Player");
+							break;
+						default:
+							add("'" + match.getRSN() + "' rank:", extractMember.getRank());
+							break;
+					}
+				}
+			}
+			else
+			{
+				switch (extractMember.getRank())
+				{
+					case "Ignore":
+						if (!ignoredNames.contains(name))
+						{
+							add("'" + extractMember.getRSN() + "'", "Ignore Player");
+						}
+						break;
+					default:
+						add("'" + extractMember.getRSN() + "'", "Add Player");
+						if (!ranksMatch(extractMember.getRank(), "friend"))
+						{
+							add("'" + extractMember.getRSN() + "' rank:", extractMember.getRank());
+						}
+						break;
+				}
+			}
+		}
+
+		//Now do the reverse to find unneeded friends/ignores/etc
+		for (ClanMemberMap clanMember : clanMembers)
+		{
+			//If they are not in the extract, they should be removed.
+			if (!extract.hasMember(normalize(clanMember.getRSN())))
+			{
+				add("'" + clanMember.getRSN() + "':", "Remove Friend");
+			}
+		}
+	}
+
+	/**
+	 * Normalize a player name for comparisons, the clan setup widget uses non-breaking spaces
+	 *
+	 * @param rsn - the player name
+	 * @return the name in lower case with regular spaces
+	 */
+	static String normalize(String rsn)
+	{
+		return rsn.replace('\u00A0', ' ').toLowerCase();
+	}
+
+	/**
+	 * Subroutine - Check if two ranks match
+	 *
+	 * @param rank1 - the first rank string
+	 * @param rank2 - the second rank string
+	 * @return true if the ranks match, false otherwise
+	 */
+	private static boolean ranksMatch(String rank1, String rank2)
+	{
+		// Friend and "Not In Clan" are synonymous on extracts and on the clan setup page.
+		if (rank1.equalsIgnoreCase("Friend") || rank1.equalsIgnoreCase("Not In Clan"))
+		{
+			return rank2.equalsIgnoreCase("Not In Clan") || rank2.equalsIgnoreCase("Friend");
+		}
+		else
+		{
+			return rank1.equalsIgnoreCase(rank2);
+		}
+	}
+
+	private void add(String rsn, String action)
+	{
+		actions.add(new Action(rsn, action));
+	}
+}
@@ -27,6 +27,7 @@ package net.runelite.client.plugins.clanrosterhelper;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Units;
 
 @ConfigGroup("clanrosterhelper")
 public interface ClanRosterHelperConfig extends Config
@@ -52,4 +53,16 @@ public interface ClanRosterHelperConfig extends Config
 	{
 		return "";
 	}
-}
\ No newline at end of file
+
+	@ConfigItem(
+		position = 2,
+		keyName = "refreshInterval",
+		name = "Refresh Interval",
+		description = "How often to check the clan roster for changes, 0 to only check when the uri changes"
+	)
+	@Units(Units.MINUTES)
+	default int getRefreshInterval()
+	{
+		return 60;
+	}
+}
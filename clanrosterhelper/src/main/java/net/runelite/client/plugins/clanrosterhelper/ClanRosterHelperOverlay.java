@@ -26,9 +26,7 @@ package net.runelite.client.plugins.clanrosterhelper;
 
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.util.List;
 import javax.inject.Inject;
-import net.runelite.api.Ignore;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -69,9 +67,9 @@ public class ClanRosterHelperOverlay extends Overlay
 	// Subroutines below
 
 	/**
-	 * Subroutine - Update the user interface. This is quite a beefy process
-	 * so this method is only called when there's the possibility of a
-	 * potential UI change.
+	 * Subroutine - Update the user interface. This is only called when the
+	 * clan setup, the roster or its diff changed, rendering uses the
+	 * components built here.
 	 */
 	public void update()
 	{
@@ -83,7 +81,7 @@ public class ClanRosterHelperOverlay extends Overlay
 			panelComponent.getChildren().add(TitleComponent.builder().text("Input URI is malformed/corrupt").build());
 			return;
 		}
-		else if (plugin.getClanMembers() == null)
+		else if (plugin.getClanMembers() == null || plugin.getRosterDiff() == null)
 		{
 			panelComponent.getChildren().add(TitleComponent.builder().text("Visit 'Clan Setup'").build());
 			return;
@@ -95,142 +93,15 @@ public class ClanRosterHelperOverlay extends Overlay
 	}
 
 	/**
-	 * Subroutine - contains the login for drawing what the user needs to
-	 * accomplish to match the extract.
+	 * Subroutine - draws what the user needs to accomplish to match the
+	 * extract, from the diff the plugin keeps up to date.
 	 */
 	private void qualifyActions()
 	{
-		//Get the extract information
-		ClanRosterTruth extract = plugin.getClanRosterTruth();
-		//Get the clan setup info
-		List<ClanMemberMap> clanMembers = plugin.getClanMembers();
-
-		//Iterate through known clan setup members
-		for (ClanMemberMap extractMember : extract.MEMBERS)
-		{
-			//Find the extract member's match if it exists
-			ClanMemberMap match = null;
-			for (ClanMemberMap clanMember : clanMembers)
-			{
-				if (extractMember.getRSN().equalsIgnoreCase(clanMember.getRSN()))
-				{
-					match = clanMember;
-					break;
-				}
-			}
-
-			//Check if the matched player is correctly ranked
-			if (match != null)
-			{
-				if (!ranksMatch(extractMember.getRank(), match.getRank()))
-				{
-					switch (extractMember.getRank().toLowerCase())
-					{
-						case "not in clan":
-						case "friend":
-							drawMember("'" + match.getRSN() + "' rank:", "Not in clan");
-							break;
-						case "ignore":
-							drawMember("'" + match.getRSN() + "'", "Remove Friend");
-							drawMember("'" + match.getRSN() + "'", "Ignore Player");
-							break;
-						default:
-							drawMember("'" + match.getRSN() + "' rank:", extractMember.getRank());
-							break;
-					}
-				}
-			}
-			else
-			{
-				switch (extractMember.getRank())
-				{
-					case "Ignore":
-						if (!isIgnored(extractMember.getRSN()))
-						{
-							drawMember("'" + extractMember.getRSN() + "'", "Ignore Player");
-						}
-						break;
-					default:
-						drawMember("'" + extractMember.getRSN() + "'", "Add Player");
-						if (!ranksMatch(extractMember.getRank(), "friend"))
-						{
-							drawMember("'" + extractMember.getRSN() + "' rank:", extractMember.getRank());
-						}
-						break;
-				}
-
-			}
-		}
-
-		//Now do the reverse to find unneeded friends/ignores/etc
-		for (ClanMemberMap clanMember : clanMembers)
-		{
-			ClanMemberMap match = null;
-			for (ClanMemberMap extractMember : extract.MEMBERS)
-			{
-				if (clanMember.getRSN().equalsIgnoreCase(extractMember.getRSN()))
-				{
-					match = clanMember;
-					break;
-				}
-			}
-
-			//If they are not in the extract, they should be removed.
-			if (match == null)
-			{
-				drawMember("'" + clanMember.getRSN() + "':", "Remove Friend");
-			}
-		}
-	}
-
-	/**
-	 * Subroutine - Check if two ranks match
-	 *
-	 * @param rank1 - the first rank string
-	 * @param rank2 - the second rank string
-	 * @return true if the ranks match, false otherwise
-	 */
-	private boolean ranksMatch(String rank1, String rank2)
-	{
-		// Friend and "Not In Clan" are synonymous on extracts and on the clan setup page.
-		if (rank1.equalsIgnoreCase("Friend") || rank1.equalsIgnoreCase("Not In Clan"))
-		{
-			if (rank2.equalsIgnoreCase("Not In Clan") || rank2.equalsIgnoreCase("Friend"))
-			{
-				return true;
-			}
-			else
-			{
-				return false;
-			}
-		}
-		else
-		{
-			return rank1.toLowerCase().equalsIgnoreCase(rank2);
-		}
-	}
-
-	/**
-	 * Subroutine - Check if a player is ignorelisted
-	 *
-	 * @param rsn - the rsn to check for ignore status
-	 * @return true if the player is ignored, false otherwise
-	 */
-	private boolean isIgnored(String rsn)
-	{
-		Ignore[] ignores = this.plugin.getClient().getIgnores();
-		for (Ignore ignore : ignores)
+		for (ClanRosterDiff.Action action : plugin.getRosterDiff().getActions())
 		{
-			if (ignore.getName().equalsIgnoreCase(rsn))
-			{
-				return true;
-			}
-			else if (ignore.getPrevName() != null && ignore.getPrevName().equalsIgnoreCase(rsn))
-			{
-				return true;
-			}
+			drawMember(action.getRsn(), action.getAction());
 		}
-		return false;
 	}
 
 	/**
@@ -26,28 +26,32 @@ package net.runelite.client.plugins.clanrosterhelper;
 
 import com.google.common.base.Strings;
 import com.google.inject.Provides;
-import java.io.IOException;
+import java.io.File;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Ignore;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
+import net.runelite.client.task.Schedule;
 import net.runelite.client.ui.overlay.OverlayManager;
-import net.runelite.http.api.RuneLiteAPI;
-import okhttp3.Call;
-import okhttp3.Callback;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.pf4j.Extension;
 
 @Extension
@@ -61,10 +65,14 @@ import org.pf4j.Extension;
 @Slf4j
 public class ClanRosterHelperPlugin extends Plugin
 {
+	private static final File ROSTER_DIR = new File(RuneLite.RUNELITE_DIR, "clan-roster-helper");
 
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -74,6 +82,14 @@ public class ClanRosterHelperPlugin extends Plugin
 	@Inject
 	private ClanRosterHelperConfig config;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
+	/**
+	 * Loads the clan roster and keeps a copy of it on disk
+	 */
+	private final ClanRosterLoader rosterLoader = new ClanRosterLoader(ROSTER_DIR);
+
 	/**
 	 * Whether the config URI for the clan roster is loaded and valid
 	 */
@@ -94,6 +110,17 @@ public class ClanRosterHelperPlugin extends Plugin
 	 */
 	private boolean isClanSetupWidgetAvailable = false;
 
+	/**
+	 * The actions to match the clan roster, recomputed only when the clan
+	 * setup, the clan roster or the ignore list changed
+	 */
+	private ClanRosterDiff rosterDiff = null;
+
+	/**
+	 * Hash of the ignore list the diff was computed with
+	 */
+	private int ignoresHash = 0;
+
 	@Provides
 	ClanRosterHelperConfig getConfig(ConfigManager configManager)
 	{
@@ -104,56 +131,49 @@ public class ClanRosterHelperPlugin extends Plugin
 	public void startUp()
 	{
 		overlayManager.add(overlay);
+		loadClanRoster();
 	}
 
 	@Override
 	public void shutDown()
 	{
 		overlayManager.remove(overlay);
+		rosterLoader.cancel();
 	}
 
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
-		//Download and digest the truthful clan roster via config
-
-		if (Strings.isNullOrEmpty(config.getDataUrl()))
+		if (!"clanrosterhelper".equals(event.getGroup()))
 		{
-			clanRosterTruth = null;
-			isClanRosterCorrupt = true;
-			overlay.update();
 			return;
 		}
 
-		final Request request = new Request.Builder()
-			.url(config.getDataUrl())
-			.build();
-
-		RuneLiteAPI.CLIENT.newCall(request).enqueue(new Callback()
+		//Reload the truthful clan roster only when its source changed
+		switch (event.getKey())
 		{
-			@Override
-			public void onFailure(Call call, IOException e)
-			{
-				clanRosterTruth = null;
-				isClanRosterCorrupt = true;
-				overlay.update();
-			}
+			case "dataInputUrl":
+			case "dataInputFormat":
+				loadClanRoster();
+				break;
+		}
+	}
 
-			@Override
-			public void onResponse(Call call, Response response) throws IOException
-			{
-				try
-				{
-					final String source = response.body().string();
-					digestClanRoster(source);
-					overlay.update();
-				}
-				finally
-				{
-					response.close();
-				}
-			}
-		});
+	/**
+	 * Revalidate the truthful clan roster once the refresh interval passed
+	 */
+	@Schedule(
+		period = 1,
+		unit = ChronoUnit.MINUTES,
+		asynchronous = true
+	)
+	public void checkClanRoster()
+	{
+		final String url = config.getDataUrl();
+		if (!Strings.isNullOrEmpty(url) && rosterLoader.isStale(url, Duration.ofMinutes(config.getRefreshInterval())))
+		{
+			refreshClanRoster(url, config.getDataInputFormat());
+		}
 	}
 
 	@Subscribe
@@ -175,12 +195,22 @@ public class ClanRosterHelperPlugin extends Plugin
 			{
 				this.clanMembers = null;
 				this.isClanSetupWidgetAvailable = false;
+				updateRosterDiff();
 			}
 			else
 			{
-				scrapeMembers();
+				boolean changed = membersChanged();
+				if (changed)
+				{
+					scrapeMembers();
+				}
+
+				final int hash = hashIgnores();
+				if (changed || hash != ignoresHash)
+				{
+					updateRosterDiff();
+				}
 			}
-			overlay.update();
 		}
 	}
 
@@ -202,6 +232,16 @@ public class ClanRosterHelperPlugin extends Plugin
 		return this.clanMembers;
 	}
 
+	/**
+	 * @return the actions to match the clan roster, null if either the
+	 * clan roster or the clan setup is unavailable
+	 */
+	public @Nullable
+	ClanRosterDiff getRosterDiff()
+	{
+		return this.rosterDiff;
+	}
+
 	/**
 	 * @return the client
 	 */
@@ -222,34 +262,154 @@ public class ClanRosterHelperPlugin extends Plugin
 	// SUB ROUTINES BELOW
 
 	/**
-	 * Subroutine - Digest the valid copy of the clan roster from source
+	 * Subroutine - Load the valid copy of the clan roster, from the copy
+	 * on disk if there is one, downloading it if that copy is missing or
+	 * due to be revalidated
+	 */
+	private void loadClanRoster()
+	{
+		rosterLoader.cancel();
+
+		final String url = config.getDataUrl();
+		if (Strings.isNullOrEmpty(url))
+		{
+			clientThread.invoke(() -> setClanRosterTruth(null));
+			return;
+		}
+
+		final ClanRosterDataFormat format = config.getDataInputFormat();
+		executor.execute(() ->
+		{
+			final ClanRosterTruth cached = rosterLoader.loadCached(url, format);
+			if (cached != null)
+			{
+				clientThread.invoke(() -> setClanRosterTruth(cached));
+			}
+
+			if (cached == null || rosterLoader.isStale(url, Duration.ofMinutes(config.getRefreshInterval())))
+			{
+				refreshClanRoster(url, format);
+			}
+		});
+	}
+
+	/**
+	 * Subroutine - Download the valid copy of the clan roster if it
+	 * changed since it was last downloaded
+	 *
+	 * @param url    - the uri of the clan roster
+	 * @param format - the format of the clan roster
+	 */
+	private void refreshClanRoster(final String url, final ClanRosterDataFormat format)
+	{
+		rosterLoader.refresh(url, format, truth -> clientThread.invoke(() -> setClanRosterTruth(truth)));
+	}
+
+	/**
+	 * Subroutine - Replace the valid copy of the clan roster, must be
+	 * called on the client thread
 	 *
-	 * @param source - the source of the clan roster
-	 * @return whether the clan roster is valid
+	 * @param truth - the clan roster, null if it is corrupt
 	 */
-	private boolean digestClanRoster(final String source)
+	private void setClanRosterTruth(@Nullable final ClanRosterTruth truth)
 	{
-		try
+		clanRosterTruth = truth;
+		isClanRosterCorrupt = truth == null;
+		updateRosterDiff();
+	}
+
+	/**
+	 * Subroutine - Recompute the actions to match the clan roster and
+	 * rebuild the overlay
+	 */
+	private void updateRosterDiff()
+	{
+		if (clanRosterTruth == null || clanMembers == null)
+		{
+			rosterDiff = null;
+		}
+		else
+		{
+			ignoresHash = hashIgnores();
+			rosterDiff = new ClanRosterDiff(clanRosterTruth, clanMembers, ignoredNames());
+		}
+		overlay.update();
+	}
+
+	/**
+	 * Subroutine - Check whether the clan setup widget differs from our
+	 * memory of clan members, without allocating
+	 *
+	 * @return true if the clan members need to be scraped again
+	 */
+	private boolean membersChanged()
+	{
+		if (this.clanMembers == null)
 		{
-			switch (config.getDataInputFormat())
+			return true;
+		}
+
+		Widget[] memberValues = this.client.getWidget(94, 28).getChildren();
+		int members = memberValues == null ? 0 : memberValues.length / 4;
+		if (members != this.clanMembers.size())
+		{
+			return true;
+		}
+
+		for (int i = 0; i < members; i++)
+		{
+			ClanMemberMap clanMember = this.clanMembers.get(i);
+			if (!clanMember.getRank().equals(memberValues[i * 4 + 1].getText())
+				|| !clanMember.getRSN().equals(memberValues[i * 4 + 2].getText()))
 			{
-				case JSON:
-					clanRosterTruth = ClanRosterTruth.fromJSON(source);
-					isClanRosterCorrupt = false;
-					break;
-				default:
-					clanRosterTruth = null;
-					isClanRosterCorrupt = true;
-					break;
+				return true;
 			}
 		}
-		catch (Exception e)
+		return false;
+	}
+
+	/**
+	 * @return a hash of the names on the ignore list
+	 */
+	private int hashIgnores()
+	{
+		Ignore[] ignores = this.client.getIgnores();
+		if (ignores == null)
+		{
+			return 0;
+		}
+
+		int hash = 1;
+		for (Ignore ignore : ignores)
 		{
-			clanRosterTruth = null;
-			isClanRosterCorrupt = true;
+			hash = 31 * hash + (ignore.getName() == null ? 0 : ignore.getName().hashCode());
+			hash = 31 * hash + (ignore.getPrevName() == null ? 0 : ignore.getPrevName().hashCode());
 		}
+		return hash;
+	}
 
-		return isClanRosterCorrupt;
+	/**
+	 * @return the normalized names and previous names on the ignore list
+	 */
+	private Set<String> ignoredNames()
+	{
+		Set<String> names = new HashSet<>();
+		Ignore[] ignores = this.client.getIgnores();
+		if (ignores != null)
+		{
+			for (Ignore ignore : ignores)
+			{
+				if (ignore.getName() != null)
+				{
+					names.add(ClanRosterDiff.normalize(ignore.getName()));
+				}
+				if (ignore.getPrevName() != null)
+				{
+					names.add(ClanRosterDiff.normalize(ignore.getPrevName()));
+				}
+			}
+		}
+		return names;
 	}
 
 	/**
@@ -0,0 +1,353 @@
+package net.runelite.client.plugins.clanrosterhelper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.RuneLiteAPI;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Loads the clan roster, keeping the last download on disk together with its ETag and Last-Modified headers.
+ * <p>
+ * The cached roster is revalidated with a conditional request, so an unchanged roster is neither downloaded
+ * nor parsed again. A downloaded roster is streamed to disk and parsed from there, it is never held in memory
+ * as a whole.
+ */
+@Slf4j
+class ClanRosterLoader
+{
+	private static final String ROSTER_FILE = "roster.json";
+	private static final String METADATA_FILE = "roster-metadata.json";
+	private static final Gson GSON = new Gson();
+
+	private final File folder;
+	private final File rosterFile;
+	private final File metadataFile;
+
+	// Describes the cached roster, null if there is none
+	private Metadata metadata;
+	private boolean metadataLoaded;
+	private Call pendingCall;
+	private String pendingUrl;
+
+	ClanRosterLoader(final File folder)
+	{
+		this.folder = folder;
+		this.rosterFile = new File(folder, ROSTER_FILE);
+		this.metadataFile = new File(folder, METADATA_FILE);
+	}
+
+	/**
+	 * @return the cached roster downloaded from the url, null if there is none or it can't be parsed
+	 */
+	@Nullable
+	synchronized ClanRosterTruth loadCached(final String url, final ClanRosterDataFormat format)
+	{
+		if (!isCached(url))
+		{
+			return null;
+		}
+
+		try (Reader reader = Files.newBufferedReader(rosterFile.toPath(), StandardCharsets.UTF_8))
+		{
+			final ClanRosterTruth truth = parse(reader, format);
+			if (truth != null)
+			{
+				return truth;
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("Unable to read the cached clan roster", e);
+		}
+
+		// Forget the broken copy so the next refresh downloads the roster again
+		metadata = null;
+		rosterFile.delete();
+		metadataFile.delete();
+		return null;
+	}
+
+	/**
+	 * @return whether the roster should be revalidated, either because it was never downloaded from the url
+	 * or because it was last checked longer than the interval ago. A zero interval never expires a cached roster.
+	 */
+	synchronized boolean isStale(final String url, final Duration interval)
+	{
+		if (!isCached(url))
+		{
+			return true;
+		}
+
+		return !interval.isZero() && System.currentTimeMillis() - metadata.checkedAt >= interval.toMillis();
+	}
+
+	/**
+	 * Downloads the roster unless the cached copy is still current. The consumer is called on the http thread
+	 * with the new roster, or with null if the roster can't be loaded and there is no cached copy to fall back on.
+	 * It isn't called when the cached roster is still current, or when the refresh is superseded by another url.
+	 */
+	synchronized void refresh(final String url, final ClanRosterDataFormat format, final Consumer<ClanRosterTruth> consumer)
+	{
+		if (pendingCall != null)
+		{
+			if (url.equals(pendingUrl))
+			{
+				return;
+			}
+			pendingCall.cancel();
+		}
+
+		final Request.Builder request = new Request.Builder().url(url);
+		if (isCached(url))
+		{
+			if (metadata.etag != null)
+			{
+				request.header("If-None-Match", metadata.etag);
+			}
+			if (metadata.lastModified != null)
+			{
+				request.header("If-Modified-Since", metadata.lastModified);
+			}
+		}
+
+		final Call call = RuneLiteAPI.CLIENT.newCall(request.build());
+		pendingCall = call;
+		pendingUrl = url;
+
+		call.enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				if (!call.isCanceled())
+				{
+					log.debug("Unable to download the clan roster", e);
+					failed(call, url, consumer);
+				}
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				try (Response r = response)
+				{
+					if (r.code() == 304)
+					{
+						revalidated(call, url);
+					}
+					else if (r.isSuccessful())
+					{
+						downloaded(call, url, format, r, consumer);
+					}
+					else
+					{
+						log.debug("Unable to download the clan roster: {}", r.code());
+						failed(call, url, consumer);
+					}
+				}
+			}
+		});
+	}
+
+	synchronized void cancel()
+	{
+		if (pendingCall != null)
+		{
+			pendingCall.cancel();
+			pendingCall = null;
+			pendingUrl = null;
+		}
+	}
+
+	private synchronized void revalidated(final Call call, final String url)
+	{
+		if (!complete(call) || !isCached(url))
+		{
+			return;
+		}
+
+		metadata.checkedAt = System.currentTimeMillis();
+		saveMetadata();
+	}
+
+	private synchronized void failed(final Call call, final String url, final Consumer<ClanRosterTruth> consumer)
+	{
+		if (complete(call) && !isCached(url))
+		{
+			consumer.accept(null);
+		}
+	}
+
+	private void downloaded(final Call call, final String url, final ClanRosterDataFormat format, final Response response,
+		final Consumer<ClanRosterTruth> consumer)
+	{
+		if (call.isCanceled())
+		{
+			return;
+		}
+
+		// Streamed and parsed without holding the lock so cancelling never waits on a download, each download gets
+		// its own temp file since a superseded one may still be running
+		File tempFile = null;
+		ClanRosterTruth truth = null;
+		try
+		{
+			folder.mkdirs();
+			tempFile = File.createTempFile(ROSTER_FILE, ".tmp", folder);
+			try (InputStream in = response.body().byteStream())
+			{
+				Files.copy(in, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			try (BufferedReader reader = Files.newBufferedReader(tempFile.toPath(), StandardCharsets.UTF_8))
+			{
+				truth = parse(reader, format);
+			}
+
+			synchronized (this)
+			{
+				if (!complete(call))
+				{
+					return;
+				}
+
+				// Only keep rosters that parse, so a broken upload doesn't replace a working cache
+				if (truth != null)
+				{
+					try
+					{
+						Files.move(tempFile.toPath(), rosterFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+						metadata = new Metadata(url, response.header("ETag"), response.header("Last-Modified"), System.currentTimeMillis());
+						saveMetadata();
+					}
+					catch (IOException e)
+					{
+						log.warn("Unable to cache the clan roster", e);
+					}
+				}
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			synchronized (this)
+			{
+				// Cancelling the call while it's streaming fails the download as well
+				if (!complete(call))
+				{
+					return;
+				}
+			}
+			log.warn("Unable to read the clan roster", e);
+			truth = null;
+		}
+		finally
+		{
+			if (tempFile != null)
+			{
+				tempFile.delete();
+			}
+		}
+
+		consumer.accept(truth);
+	}
+
+	// Clears the pending call, returns false if the call was superseded
+	private boolean complete(final Call call)
+	{
+		if (call != pendingCall || call.isCanceled())
+		{
+			return false;
+		}
+
+		pendingCall = null;
+		pendingUrl = null;
+		return true;
+	}
+
+	private boolean isCached(final String url)
+	{
+		if (!metadataLoaded)
+		{
+			metadataLoaded = true;
+			metadata = loadMetadata();
+		}
+
+		return metadata != null && url.equals(metadata.url) && rosterFile.exists();
+	}
+
+	@Nullable
+	private Metadata loadMetadata()
+	{
+		if (!metadataFile.exists())
+		{
+			return null;
+		}
+
+		try (Reader reader = Files.newBufferedReader(metadataFile.toPath(), StandardCharsets.UTF_8))
+		{
+			return GSON.fromJson(reader, Metadata.class);
+		}
+		catch (IOException | JsonParseException e)
+		{
+			log.warn("Unable to read the clan roster metadata", e);
+			return null;
+		}
+	}
+
+	private void saveMetadata()
+	{
+		final File tempFile = new File(folder, METADATA_FILE + ".tmp");
+		try
+		{
+			try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8))
+			{
+				GSON.toJson(metadata, writer);
+			}
+			Files.move(tempFile.toPath(), metadataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to save the clan roster metadata", e);
+		}
+	}
+
+	@Nullable
+	private static ClanRosterTruth parse(final Reader reader, final ClanRosterDataFormat format) throws IOException
+	{
+		switch (format)
+		{
+			case JSON:
+				return ClanRosterTruth.fromJSON(reader);
+			default:
+				return null;
+		}
+	}
+
+	@AllArgsConstructor
+	@NoArgsConstructor
+	private static class Metadata
+	{
+		private String url;
+		private String etag;
+		private String lastModified;
+		private long checkedAt;
+	}
+}
@@ -24,13 +24,14 @@
  */
 package net.runelite.client.plugins.clanrosterhelper;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The clan roster which will be used as a truthful copy. All clan setup
@@ -44,40 +45,81 @@ public class ClanRosterTruth
 	 */
 	public final List<ClanMemberMap> MEMBERS;
 
+	/**
+	 * The normalized names of the members of the clan roster
+	 */
+	private final Set<String> names;
+
 	/**
 	 * Initiate a clan roster that
 	 *
 	 * @param members - the members of the clan
+	 * @param names   - the normalized names of the members
 	 */
-	private ClanRosterTruth(final List<ClanMemberMap> members)
+	private ClanRosterTruth(final List<ClanMemberMap> members, final Set<String> names)
 	{
 		this.MEMBERS = members;
+		this.names = names;
+	}
+
+	/**
+	 * @param name - a name normalized by {@link ClanRosterDiff#normalize}
+	 * @return whether the clan roster has a member with this name
+	 */
+	public boolean hasMember(final String name)
+	{
+		return names.contains(name);
 	}
 
 	/**
-	 * Parse a clan roster from JSON
+	 * Parse a clan roster from JSON as it is read, without holding the
+	 * whole document in memory
 	 *
 	 * @param source - the json raw data
 	 * @return a clan roster, if parsing is successful
-	 * @throws Exception on parsing failure
+	 * @throws IOException on read failure
+	 * @throws JsonParseException on parsing failure
 	 */
-	public static ClanRosterTruth fromJSON(final String source) throws Exception
+	public static ClanRosterTruth fromJSON(final Reader source) throws IOException
 	{
-		Gson gson = new Gson();
-
-		JsonParser parser = new JsonParser();
-		JsonArray document = parser.parse(source).getAsJsonArray();
-
 		List<ClanMemberMap> members = new ArrayList<>();
-		for (JsonElement member : document)
+		Set<String> names = new HashSet<>();
+
+		JsonReader reader = new JsonReader(source);
+		reader.beginArray();
+		while (reader.hasNext())
 		{
-			JsonObject memberObject = member.getAsJsonObject();
-			String rsn = memberObject.get("rsn").getAsString();
-			String rank = memberObject.get("rank").getAsString();
-			ClanMemberMap map = new ClanMemberMap(rsn, rank);
-			members.add(map);
+			String rsn = null;
+			String rank = null;
+
+			reader.beginObject();
+			while (reader.hasNext())
+			{
+				switch (reader.nextName())
+				{
+					case "rsn":
+						rsn = reader.nextString();
+						break;
+					case "rank":
+						rank = reader.nextString();
+						break;
+					default:
+						reader.skipValue();
+						break;
+				}
+			}
+			reader.endObject();
+
+			if (rsn == null || rank == null)
+			{
+				throw new JsonParseException("Clan roster member without rsn or rank");
+			}
+
+			members.add(new ClanMemberMap(rsn, rank));
+			names.add(ClanRosterDiff.normalize(rsn));
 		}
+		reader.endArray();
 
-		return new ClanRosterTruth(members);
+		return new ClanRosterTruth(members, names);
 	}
-}
\ No newline at end of file
+}
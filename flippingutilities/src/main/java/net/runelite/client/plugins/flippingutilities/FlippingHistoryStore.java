@@ -0,0 +1,321 @@
+package net.runelite.client.plugins.flippingutilities;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flipping history of a single account, stored as a snapshot of all items plus a journal of the changes made since.
+ * <p>
+ * Changes are recorded in memory and appended to the journal on {@link #flush()}, so saving only writes what changed.
+ * Once the journal grows too long a new snapshot is written and a new journal is started.
+ * Every snapshot has a generation and only the journal of the same generation is replayed on top of it,
+ * so a journal left behind by an interrupted snapshot is ignored.
+ * <p>
+ * Items are serialized as they are recorded and the store keeps its own copies of them, so a flush on another thread
+ * never reads an item the client thread is still changing.
+ */
+@Slf4j
+class FlippingHistoryStore
+{
+	private static final String SNAPSHOT_FILE = "snapshot.json";
+	private static final String JOURNAL_PREFIX = "journal-";
+	private static final String JOURNAL_EXTENSION = ".log";
+	// Amount of journal entries after which a new snapshot is written
+	private static final int SNAPSHOT_THRESHOLD = 250;
+	private static final Gson GSON = new Gson();
+
+	private final File folder;
+	// Copies of the items as they were last recorded, snapshots are written from these rather than the live items
+	private final FlippingTradeBook items = new FlippingTradeBook();
+	// Serialized changes that haven't been written to the journal yet
+	private final List<String> pending = new ArrayList<>();
+	private int generation;
+	private int journalEntries;
+	private boolean cleared;
+
+	FlippingHistoryStore(File folder)
+	{
+		this.folder = folder;
+	}
+
+	synchronized boolean exists()
+	{
+		return getSnapshotFile().exists() || getJournalFile().exists();
+	}
+
+	/**
+	 * Replaces the content of the trade book with the latest snapshot and the changes made since.
+	 */
+	synchronized void load(FlippingTradeBook book) throws IOException
+	{
+		book.clear();
+		items.clear();
+		pending.clear();
+		generation = 0;
+		journalEntries = 0;
+
+		File snapshotFile = getSnapshotFile();
+		if (snapshotFile.exists())
+		{
+			try (FileReader reader = new FileReader(snapshotFile))
+			{
+				Snapshot snapshot = GSON.fromJson(reader, Snapshot.class);
+				if (snapshot != null)
+				{
+					generation = snapshot.generation;
+					if (snapshot.items != null)
+					{
+						items.load(snapshot.items);
+					}
+				}
+			}
+			catch (JsonParseException e)
+			{
+				log.warn("Unable to read flipping snapshot {}", snapshotFile, e);
+			}
+		}
+
+		File journalFile = getJournalFile();
+		if (journalFile.exists())
+		{
+			readJournal(journalFile);
+		}
+
+		book.load(copyAll(items.toList()));
+	}
+
+	private void readJournal(File journalFile) throws IOException
+	{
+		try (BufferedReader reader = new BufferedReader(new FileReader(journalFile)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty())
+				{
+					continue;
+				}
+
+				try
+				{
+					apply(items, GSON.fromJson(line, Entry.class));
+					journalEntries++;
+				}
+				catch (JsonParseException e)
+				{
+					// Most likely a partially written last line
+					log.warn("Skipping unreadable flipping journal entry in {}", journalFile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records the current state of an item, the item is added in front if it isn't known yet.
+	 */
+	synchronized void put(FlippingItem item)
+	{
+		FlippingItem copy = copy(item);
+		items.put(copy);
+		pending.add(GSON.toJson(new Entry(EntryType.PUT, copy.getItemId(), copy)));
+	}
+
+	synchronized void moveToFront(int itemId)
+	{
+		items.moveToFront(itemId);
+		pending.add(GSON.toJson(new Entry(EntryType.FRONT, itemId, null)));
+	}
+
+	synchronized void remove(int itemId)
+	{
+		items.remove(itemId);
+		pending.add(GSON.toJson(new Entry(EntryType.REMOVE, itemId, null)));
+	}
+
+	/**
+	 * Drops the whole history, the files are deleted on the next flush.
+	 */
+	synchronized void clear()
+	{
+		items.clear();
+		pending.clear();
+		cleared = true;
+	}
+
+	/**
+	 * Appends all recorded changes to the journal, or writes a new snapshot of the recorded items if the journal
+	 * has grown too long.
+	 */
+	synchronized void flush() throws IOException
+	{
+		if (cleared)
+		{
+			cleared = false;
+			Files.deleteIfExists(getSnapshotFile().toPath());
+			deleteJournals();
+			generation = 0;
+			journalEntries = 0;
+		}
+
+		if (pending.isEmpty())
+		{
+			return;
+		}
+
+		if (journalEntries + pending.size() > SNAPSHOT_THRESHOLD)
+		{
+			// The copies already contain every pending change
+			pending.clear();
+			writeSnapshot();
+			return;
+		}
+
+		folder.mkdirs();
+		try (Writer writer = new BufferedWriter(new FileWriter(getJournalFile(), true)))
+		{
+			for (String entry : pending)
+			{
+				writer.write(entry);
+				writer.write('\n');
+			}
+		}
+
+		journalEntries += pending.size();
+		pending.clear();
+	}
+
+	/**
+	 * Replaces the history with the given items, ordered from most to least recently used.
+	 */
+	synchronized void writeSnapshot(List<FlippingItem> history) throws IOException
+	{
+		items.load(copyAll(history));
+		pending.clear();
+		writeSnapshot();
+	}
+
+	private void writeSnapshot() throws IOException
+	{
+		folder.mkdirs();
+
+		File tempFile = new File(folder, SNAPSHOT_FILE + ".tmp");
+		try (Writer writer = new BufferedWriter(new FileWriter(tempFile)))
+		{
+			GSON.toJson(new Snapshot(generation + 1, items.toList()), writer);
+		}
+
+		Files.move(tempFile.toPath(), getSnapshotFile().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		generation++;
+		journalEntries = 0;
+
+		// Also removes a journal left behind by an interrupted snapshot, which would otherwise be replayed once
+		// the generation catches up with it
+		deleteJournals();
+	}
+
+	private void deleteJournals() throws IOException
+	{
+		File[] journals = folder.listFiles((dir, name) -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_EXTENSION));
+		if (journals == null)
+		{
+			return;
+		}
+
+		for (File journal : journals)
+		{
+			Files.deleteIfExists(journal.toPath());
+		}
+	}
+
+	private static void apply(FlippingTradeBook book, Entry entry)
+	{
+		if (entry == null || entry.type == null)
+		{
+			return;
+		}
+
+		switch (entry.type)
+		{
+			case PUT:
+				if (entry.item != null)
+				{
+					book.put(entry.item);
+				}
+				break;
+			case FRONT:
+				book.moveToFront(entry.itemId);
+				break;
+			case REMOVE:
+				book.remove(entry.itemId);
+				break;
+		}
+	}
+
+	// Deep copy through the same serialization the files use, so the copy is exactly what would be stored
+	private static FlippingItem copy(FlippingItem item)
+	{
+		return GSON.fromJson(GSON.toJson(item), FlippingItem.class);
+	}
+
+	private static List<FlippingItem> copyAll(List<FlippingItem> items)
+	{
+		List<FlippingItem> copies = new ArrayList<>(items.size());
+		for (FlippingItem item : items)
+		{
+			if (item != null)
+			{
+				copies.add(copy(item));
+			}
+		}
+
+		return copies;
+	}
+
+	private File getSnapshotFile()
+	{
+		return new File(folder, SNAPSHOT_FILE);
+	}
+
+	private File getJournalFile()
+	{
+		return new File(folder, JOURNAL_PREFIX + generation + JOURNAL_EXTENSION);
+	}
+
+	private enum EntryType
+	{
+		PUT,
+		FRONT,
+		REMOVE
+	}
+
+	@AllArgsConstructor
+	@NoArgsConstructor
+	private static class Entry
+	{
+		private EntryType type;
+		private int itemId;
+		private FlippingItem item;
+	}
+
+	@AllArgsConstructor
+	@NoArgsConstructor
+	private static class Snapshot
+	{
+		private int generation;
+		private List<FlippingItem> items;
+	}
+}
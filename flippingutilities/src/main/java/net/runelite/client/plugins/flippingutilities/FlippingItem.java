@@ -27,7 +27,7 @@
 package net.runelite.client.plugins.flippingutilities;
 
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -39,9 +39,12 @@ import net.runelite.http.api.ge.GrandExchangeTrade;
 public class FlippingItem
 {
 	private static int GE_RESET_TIME_SECONDS = 60 * 60 * 4;
+	//Limit the amount of trades every item holds.
+	private static final int TRADE_HISTORY_MAX_SIZE = 20;
 
+	//Oldest trade first, bounded to the most recent trades.
 	@Getter
-	private ArrayList<GrandExchangeTrade> tradeHistory;
+	private ArrayDeque<GrandExchangeTrade> tradeHistory;
 
 	@Getter
 	private final int itemId;
@@ -80,7 +83,12 @@ public class FlippingItem
 
 	public void addTradeHistory(final GrandExchangeTrade trade)
 	{
-		tradeHistory.add(trade);
+		//Make sure the individual item objects aren't massive, the oldest trade makes room for the new one.
+		while (tradeHistory.size() >= TRADE_HISTORY_MAX_SIZE)
+		{
+			tradeHistory.pollFirst();
+		}
+		tradeHistory.addLast(trade);
 	}
 
 	public void updateGELimitReset()
@@ -183,6 +183,7 @@ public class FlippingItemPanel extends JPanel
 						flippingItem.setFrozen(true);
 						itemName.setForeground(FROZEN_COLOR);
 					}
+					plugin.updateFlippingItem(flippingItem);
 				}
 			}
 		});
@@ -485,6 +486,70 @@ public class FlippingItemPanel extends JPanel
 		}
 	}
 
+	//Earliest time at which the price times or GE limit shown by this panel change, null if they never change.
+	public Instant getNextUpdateTime()
+	{
+		final Instant now = Instant.now();
+		Instant nextUpdate = getNextPriceTimeChange(flippingItem.getLatestBuyTime(), now);
+		nextUpdate = earliest(nextUpdate, getNextPriceTimeChange(flippingItem.getLatestSellTime(), now));
+
+		final Instant resetTime = flippingItem.getGeLimitResetTime();
+		if (resetTime != null)
+		{
+			//The remaining time counts down in minutes until the limit is reset.
+			final long remainingSeconds = resetTime.getEpochSecond() - now.getEpochSecond();
+			nextUpdate = earliest(nextUpdate, now.plusSeconds(remainingSeconds > 0 ? remainingSeconds % 60 + 1 : 1));
+		}
+
+		return nextUpdate;
+	}
+
+	//Next time the text from formatPriceTimeText or the outdated color of a price changes.
+	private Instant getNextPriceTimeChange(Instant priceTime, Instant now)
+	{
+		if (priceTime == null)
+		{
+			return null;
+		}
+
+		final long timeAgo = now.getEpochSecond() - priceTime.getEpochSecond();
+		long delay;
+		if (timeAgo <= 60)
+		{
+			delay = 1;
+		}
+		else if (timeAgo / 60 <= 60)
+		{
+			delay = 60 - timeAgo % 60;
+		}
+		else
+		{
+			delay = 3600 - timeAgo % 3600;
+		}
+
+		//Prices become outdated once more minutes than the configured warning have passed.
+		final long outdatedAgo = (plugin.getConfig().outOfDateWarning() + 1) * 60L;
+		if (timeAgo < outdatedAgo)
+		{
+			delay = Math.min(delay, outdatedAgo - timeAgo);
+		}
+
+		return now.plusSeconds(Math.max(1, delay));
+	}
+
+	private static Instant earliest(Instant first, Instant second)
+	{
+		if (first == null)
+		{
+			return second;
+		}
+		if (second == null)
+		{
+			return first;
+		}
+		return first.isBefore(second) ? first : second;
+	}
+
 	private String formatGELimitResetTime(Instant time)
 	{
 		DateTimeFormatter timeFormatter;
@@ -36,9 +36,14 @@ import java.awt.GridBagLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.swing.BorderFactory;
@@ -54,6 +59,7 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.ItemManager;
@@ -88,6 +94,7 @@ public class FlippingPanel extends PluginPanel
 	private ClientThread clientThread;
 	private final FlippingPlugin plugin;
 	private final ItemManager itemManager;
+	private final ScheduledExecutorService executor;
 
 	//Main item panel that holds all the shown items.
 	private final JPanel flippingItemsPanel = new JPanel();
@@ -105,6 +112,11 @@ public class FlippingPanel extends PluginPanel
 	//So we can keep track what items are shown on the panel.
 	private ArrayList<FlippingItemPanel> activePanels = new ArrayList<>();
 
+	//Shown items ordered by the next time their price times or GE limit change, only used on the EDT.
+	private final PriorityQueue<ScheduledUpdate> scheduledUpdates = new PriorityQueue<>(Comparator.comparing(ScheduledUpdate::getTime));
+	//Wakes up when the first scheduled update is due.
+	private ScheduledFuture<?> updateFuture;
+
 
 	@Inject
 	public FlippingPanel(final FlippingPlugin plugin, final ItemManager itemManager, ClientThread clientThread, ScheduledExecutorService executor)
@@ -114,6 +126,7 @@ public class FlippingPanel extends PluginPanel
 		this.plugin = plugin;
 		this.itemManager = itemManager;
 		this.clientThread = clientThread;
+		this.executor = executor;
 
 		setLayout(new BorderLayout());
 		setBackground(ColorScheme.DARK_GRAY_COLOR);
@@ -275,6 +288,8 @@ public class FlippingPanel extends PluginPanel
 				}
 				constraints.gridy++;
 			}
+
+			scheduleUpdates();
 		});
 	}
 
@@ -331,28 +346,15 @@ public class FlippingPanel extends PluginPanel
 	{
 		ArrayList<FlippingItem> result = new ArrayList<>();
 
-		for (FlippingItem item : plugin.getTradesList())
+		FlippingItem item = plugin.getFlippingItem(itemId);
+		if (item != null)
 		{
-			if (item.getItemId() == itemId)
-			{
-				result.add(item);
-				//We only expect one result
-				break;
-			}
+			result.add(item);
 		}
 
 		return result;
 	}
 
-	//Updates tooltips on prices to show how long ago the latest margin check was.
-	public void updateTimes()
-	{
-		for (FlippingItemPanel activePanel : activePanels)
-		{
-			activePanel.checkOutdatedPriceTimes();
-		}
-	}
-
 	public void updateGELimit()
 	{
 		SwingUtilities.invokeLater(() ->
@@ -361,20 +363,91 @@ public class FlippingPanel extends PluginPanel
 			{
 				activePanel.updateGELimits();
 			}
+
+			//New trades move the GE limit reset times.
+			scheduleUpdates();
 		});
 	}
 
+	//Stops updating the shown items until the panel is rebuilt.
+	public void stopUpdates()
+	{
+		SwingUtilities.invokeLater(() ->
+		{
+			scheduledUpdates.clear();
+			scheduleTimer();
+		});
+	}
+
+	//Recomputes when each shown item changes next, run on the EDT.
+	private void scheduleUpdates()
+	{
+		scheduledUpdates.clear();
+		for (FlippingItemPanel activePanel : activePanels)
+		{
+			scheduleUpdate(activePanel);
+		}
+		scheduleTimer();
+	}
+
+	private void scheduleUpdate(FlippingItemPanel itemPanel)
+	{
+		final Instant nextUpdate = itemPanel.getNextUpdateTime();
+		if (nextUpdate != null)
+		{
+			scheduledUpdates.add(new ScheduledUpdate(nextUpdate, itemPanel));
+		}
+	}
+
+	//Updates tooltips on prices to show how long ago the latest margin check was, and the GE limits,
+	//only for the items which changed.
+	private void runScheduledUpdates()
+	{
+		final Instant now = Instant.now();
+		final ArrayList<FlippingItemPanel> updatedPanels = new ArrayList<>();
+		while (!scheduledUpdates.isEmpty() && !scheduledUpdates.peek().getTime().isAfter(now))
+		{
+			final FlippingItemPanel itemPanel = scheduledUpdates.poll().getItemPanel();
+			itemPanel.checkOutdatedPriceTimes();
+			itemPanel.updateGELimits();
+			updatedPanels.add(itemPanel);
+		}
+
+		for (FlippingItemPanel itemPanel : updatedPanels)
+		{
+			scheduleUpdate(itemPanel);
+		}
+		scheduleTimer();
+	}
+
+	private void scheduleTimer()
+	{
+		if (updateFuture != null)
+		{
+			updateFuture.cancel(false);
+			updateFuture = null;
+		}
+
+		final ScheduledUpdate next = scheduledUpdates.peek();
+		if (next == null)
+		{
+			return;
+		}
+
+		final long delay = Math.max(0, Duration.between(Instant.now(), next.getTime()).toMillis());
+		updateFuture = executor.schedule(() -> SwingUtilities.invokeLater(this::runScheduledUpdates), delay, TimeUnit.MILLISECONDS);
+	}
+
 	public void deletePanel(FlippingItemPanel itemPanel)
 	{
 		if (!activePanels.contains(itemPanel))
 		{
 			return;
 		}
-		ArrayList<FlippingItem> tradeList = plugin.getTradesList();
-		tradeList.remove(itemPanel.getFlippingItem());
+		plugin.removeFlippingItem(itemPanel.getFlippingItem());
 
-		rebuildFlippingPanel(tradeList);
-		plugin.updateConfig();
+		rebuildFlippingPanel(plugin.getTradesList());
+		plugin.saveTradeHistory();
 	}
 
 	//Searches the active item panels for matching item names.
@@ -417,4 +490,11 @@ public class FlippingPanel extends PluginPanel
 		searchBar.setIcon(IconTextField.Icon.SEARCH);
 		rebuildFlippingPanel(result);
 	}
-}
\ No newline at end of file
+
+	@Value
+	private static class ScheduledUpdate
+	{
+		Instant time;
+		FlippingItemPanel itemPanel;
+	}
+}
@@ -27,18 +27,18 @@
 package net.runelite.client.plugins.flippingutilities;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Provides;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import lombok.Getter;
@@ -56,6 +56,7 @@ import net.runelite.api.events.WidgetHiddenChanged;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.RuneLite;
 import net.runelite.client.account.AccountSession;
 import net.runelite.client.account.SessionManager;
 import net.runelite.client.callback.ClientThread;
@@ -86,8 +87,6 @@ import org.pf4j.Extension;
 public class FlippingPlugin extends Plugin
 {
 
-	//Limit the amount of trades every item holds.
-	private static final int TRADE_HISTORY_MAX_SIZE = 20;
 	//Limit the amount of items stored.
 	private static final int TRADES_LIST_MAX_SIZE = 200;
 
@@ -96,15 +95,19 @@ public class FlippingPlugin extends Plugin
 	private static final int GE_OFFER_INIT_STATE_CHILD_ID = 18;
 
 	public static final String CONFIG_GROUP = "flipping";
+	//Trade history used to be stored in config, it is moved to the history store the first time it is loaded.
 	public static final String CONFIG_KEY = "items";
 
+	private static final File HISTORY_DIR = new File(RuneLite.RUNELITE_DIR, "flipping");
+	//Folder used when not logged in to a RuneLite account.
+	private static final String LOCAL_HISTORY_FOLDER = "local";
+
 	@Inject
 	private Client client;
 	@Inject
 	private ClientThread clientThread;
 	@Inject
 	private ScheduledExecutorService executor;
-	private ScheduledFuture<?> timeUpdateFuture;
 	@Inject
 	private ClientToolbar clientToolbar;
 	private NavigationButton navButton;
@@ -124,8 +127,9 @@ public class FlippingPlugin extends Plugin
 	private FlippingItemWidget flippingWidget;
 
 	//Stores all bought or sold trades.
-	@Getter
-	private ArrayList<FlippingItem> tradesList = new ArrayList<>();
+	private final FlippingTradeBook tradeBook = new FlippingTradeBook();
+	//Persists the trade book of the current account.
+	private FlippingHistoryStore historyStore;
 
 	//Ensures we don't rebuild constantly when highlighting
 	@Setter
@@ -151,6 +155,8 @@ public class FlippingPlugin extends Plugin
 
 		clientToolbar.addNavigation(navButton);
 
+		historyStore = new FlippingHistoryStore(getHistoryFolder());
+
 		clientThread.invokeLater(() ->
 		{
 			switch (client.getGameState())
@@ -159,43 +165,42 @@ public class FlippingPlugin extends Plugin
 				case UNKNOWN:
 					return false;
 			}
-			//Loads tradesList with data from previous sessions.
-			if (config.storeTradeHistory())
+			executor.submit(() ->
 			{
-				loadConfig();
-			}
+				//Loads tradesList with data from previous sessions.
+				if (config.storeTradeHistory())
+				{
+					loadTradeHistory();
+				}
+				else
+				{
+					//Start over, the history of this session replaces the previous one.
+					historyStore.clear();
+				}
 
-			executor.submit(() -> clientThread.invokeLater(() -> SwingUtilities.invokeLater(() ->
-			{
-				if (tradesList != null)
+				SwingUtilities.invokeLater(() ->
 				{
+					ArrayList<FlippingItem> tradesList = getTradesList();
 					for (FlippingItem flippingItem : tradesList)
 					{
 						flippingItem.updateGELimitReset();
 					}
 					panel.rebuildFlippingPanel(tradesList);
-				}
-			})));
+				});
+			});
 			return true;
 		});
 
-		//Ensures the panel timers are updated at 10 times per second.
-		timeUpdateFuture = executor.scheduleAtFixedRate(() ->
-		{
-			panel.updateTimes();
-			updateGELimitRemaining();
-		}, 100, 100, TimeUnit.MILLISECONDS);
 	}
 
 	@Override
 	protected void shutDown()
 	{
-		if (timeUpdateFuture != null)
-		{
-			//Stop all timers
-			timeUpdateFuture.cancel(true);
-			timeUpdateFuture = null;
-		}
+		//Stop all timers
+		panel.stopUpdates();
+
+		final FlippingHistoryStore store = historyStore;
+		executor.execute(() -> flushTradeHistory(store));
 
 		clientToolbar.removeNavigation(navButton);
 	}
@@ -207,11 +212,10 @@ public class FlippingPlugin extends Plugin
 		final AccountSession session = sessionManager.getAccountSession();
 		if (session != null && session.getUsername() != null)
 		{
-			clientThread.invokeLater(() ->
+			executor.execute(() ->
 			{
-				loadConfig();
-				SwingUtilities.invokeLater(() -> panel.rebuildFlippingPanel(tradesList));
-				return true;
+				loadTradeHistory();
+				SwingUtilities.invokeLater(() -> panel.rebuildFlippingPanel(getTradesList()));
 			});
 		}
 	}
@@ -220,11 +224,10 @@ public class FlippingPlugin extends Plugin
 	public void onSessionClose(SessionClose event)
 	{
 		//Config is now locally stored
-		clientThread.invokeLater(() ->
+		executor.execute(() ->
 		{
-			loadConfig();
-			SwingUtilities.invokeLater(() -> panel.rebuildFlippingPanel(tradesList));
-			return true;
+			loadTradeHistory();
+			SwingUtilities.invokeLater(() -> panel.rebuildFlippingPanel(getTradesList()));
 		});
 	}
 
@@ -308,7 +311,7 @@ public class FlippingPlugin extends Plugin
 			|| newOfferState == GrandExchangeOfferState.SOLD) && newOffer.getQuantitySold() == 1)
 		{
 			addFlipTrade(tradeConstructor(newOffer));
-			panel.rebuildFlippingPanel(tradesList);
+			panel.rebuildFlippingPanel(getTradesList());
 		}
 		//If the new offer is of state BOUGHT Record the trade to keep track of GE limit.
 		else if (newOffer.getQuantitySold() > 0 && newOfferState == GrandExchangeOfferState.BOUGHT)
@@ -316,7 +319,7 @@ public class FlippingPlugin extends Plugin
 			addFlipTrade(tradeConstructor(newOffer));
 		}
 
-		updateConfig();
+		saveTradeHistory();
 		panel.updateGELimit();
 	}
 
@@ -333,38 +336,57 @@ public class FlippingPlugin extends Plugin
 		return result;
 	}
 
+	//Stores all tracked items, from most to least recently margin checked.
+	public ArrayList<FlippingItem> getTradesList()
+	{
+		return tradeBook.toList();
+	}
+
+	public FlippingItem getFlippingItem(int itemId)
+	{
+		return tradeBook.get(itemId);
+	}
+
+	public void removeFlippingItem(FlippingItem flippingItem)
+	{
+		tradeBook.remove(flippingItem.getItemId());
+		historyStore.remove(flippingItem.getItemId());
+	}
+
+	//Records changes made to an item outside of GE trades, such as freezing its margin.
+	public void updateFlippingItem(FlippingItem flippingItem)
+	{
+		historyStore.put(flippingItem);
+		saveTradeHistory();
+	}
+
 	//Adds GE trade data to the trades list.
 	public void addFlipTrade(GrandExchangeTrade trade)
 	{
-		if (tradesList == null)
-		{
-			addToTradesList(trade);
-			return;
-		}
 		//Check if item is already present
-		final List<FlippingItem> matchingItem = tradesList.stream()
-			.filter((item) -> item.getItemId() == trade.getItemId())
-			.collect(Collectors.toList());
+		final FlippingItem matchingItem = tradeBook.get(trade.getItemId());
 
 		//No match found
-		if (matchingItem.size() == 0)
+		if (matchingItem == null)
 		{
 			addToTradesList(trade);
 		}
 		else if (trade.getQuantity() == 1)
 		{
 			//Found a match, update the existing flipping item.
-			updateFlip(matchingItem.get(0), trade);
+			updateFlip(matchingItem, trade);
 
 			//Move item to top
-			tradesList.remove(matchingItem.get(0));
-			tradesList.add(0, matchingItem.get(0));
+			tradeBook.moveToFront(matchingItem.getItemId());
+			historyStore.put(matchingItem);
+			historyStore.moveToFront(matchingItem.getItemId());
 		}
 		else
 		{
 			//Trade isn't a margin check, exclude updating prices.
-			matchingItem.get(0).addTradeHistory(trade);
-			matchingItem.get(0).updateGELimitReset();
+			matchingItem.addTradeHistory(trade);
+			matchingItem.updateGELimitReset();
+			historyStore.put(matchingItem);
 		}
 	}
 
@@ -376,10 +398,7 @@ public class FlippingPlugin extends Plugin
 
 		ItemStats itemStats = itemManager.getItemStats(tradeItemId, false);
 		int tradeGELimit = itemStats != null ? itemStats.getGeLimit() : 0;
-		ArrayList<GrandExchangeTrade> tradeHistory = new ArrayList<>()
-		{{
-			add(trade);
-		}};
+		ArrayDeque<GrandExchangeTrade> tradeHistory = new ArrayDeque<>();
 
 		int tradeBuyPrice = 0;
 		int tradeSellPrice = 0;
@@ -400,14 +419,16 @@ public class FlippingPlugin extends Plugin
 			0,
 			tradeBuyPrice, tradeSellPrice, tradeBuyTime, tradeSellTime, null, false);
 
+		flippingItem.addTradeHistory(trade);
 		flippingItem.updateGELimitReset();
 
-		tradesList.add(0, flippingItem);
+		tradeBook.addFirst(flippingItem);
+		historyStore.put(flippingItem);
 
 		//Make sure we don't have too much data.
-		if (tradesList.size() > TRADES_LIST_MAX_SIZE)
+		if (tradeBook.size() > TRADES_LIST_MAX_SIZE)
 		{
-			tradesList.remove(tradesList.size() - 1);
+			historyStore.remove(tradeBook.removeLast().getItemId());
 		}
 	}
 
@@ -419,11 +440,6 @@ public class FlippingPlugin extends Plugin
 		Instant tradeTime = trade.getTime();
 
 		flippingItem.addTradeHistory(trade);
-		//Make sure the individual item objects aren't massive.
-		if (flippingItem.getTradeHistory().size() > TRADE_HISTORY_MAX_SIZE)
-		{
-			flippingItem.getTradeHistory().remove(flippingItem.getTradeHistory().size() - 1);
-		}
 		//Bought
 		if (!flippingItem.isFrozen())
 		{
@@ -499,48 +515,64 @@ public class FlippingPlugin extends Plugin
 		panel.highlightItem(currentGEItemId);
 	}
 
-	private void updateGELimitRemaining()
-	{
-		long unitTime = Instant.now().toEpochMilli() / 100;
-
-		if (unitTime % 50 == 0)
-		{
-			for (FlippingItem flippingItem : tradesList)
-			{
-				panel.updateGELimit();
-			}
-		}
-	}
-
 	//Functionality to the top right reset button.
 	public void resetTradeHistory()
 	{
-		tradesList.clear();
+		tradeBook.clear();
+		historyStore.clear();
+		saveTradeHistory();
 		panel.setItemHighlighted(false);
 		configManager.unsetConfiguration(CONFIG_GROUP, CONFIG_KEY);
 		panel.cardLayout.show(panel.getCenterPanel(), FlippingPanel.getWELCOME_PANEL());
-		panel.rebuildFlippingPanel(tradesList);
+		panel.rebuildFlippingPanel(getTradesList());
 	}
 
-	//Stores all the session trade data in config.
-	public void updateConfig()
+	//Writes the trade history changes since the last save, on the executor.
+	public void saveTradeHistory()
 	{
-		if (tradesList.isEmpty())
+		final FlippingHistoryStore store = historyStore;
+		executor.execute(() -> flushTradeHistory(store));
+	}
+
+	private void flushTradeHistory(FlippingHistoryStore store)
+	{
+		try
 		{
-			return;
+			store.flush();
 		}
-		final Gson gson = new Gson();
-		executor.submit(() ->
+		catch (IOException e)
 		{
-			final String json = gson.toJson(tradesList);
-			configManager.setConfiguration(CONFIG_GROUP, CONFIG_KEY, json);
-		});
+			log.warn("Error saving flipping data", e);
+		}
 	}
 
-	//Loads previous session data to tradeList.
-	public void loadConfig()
+	//Loads previous session data to tradeList, from the history store of the current account.
+	private void loadTradeHistory()
+	{
+		log.info("Loading flipping history");
+
+		//Save what is left of the previous account before switching.
+		flushTradeHistory(historyStore);
+		final FlippingHistoryStore store = new FlippingHistoryStore(getHistoryFolder());
+		historyStore = store;
+
+		try
+		{
+			store.load(tradeBook);
+			if (!store.exists())
+			{
+				migrateConfig(store);
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Error loading flipping data", e);
+		}
+	}
+
+	//Moves trade history stored in config by earlier versions to the history store.
+	private void migrateConfig(FlippingHistoryStore store) throws IOException
 	{
-		log.info("Loading flipping config");
 		final String json = configManager.getConfiguration(CONFIG_GROUP, CONFIG_KEY);
 
 		if (json == null)
@@ -555,12 +587,31 @@ public class FlippingPlugin extends Plugin
 			{
 
 			}.getType();
-			tradesList = gson.fromJson(json, type);
+			ArrayList<FlippingItem> tradesList = gson.fromJson(json, type);
+			if (tradesList != null)
+			{
+				tradeBook.load(tradesList);
+				store.writeSnapshot(tradeBook.toList());
+			}
 		}
-		catch (Exception e)
+		catch (JsonParseException e)
 		{
 			log.info("Error loading flipping data: " + e);
+			return;
+		}
+
+		configManager.unsetConfiguration(CONFIG_GROUP, CONFIG_KEY);
+	}
+
+	private File getHistoryFolder()
+	{
+		final AccountSession session = sessionManager.getAccountSession();
+		if (session == null || session.getUsername() == null)
+		{
+			return new File(HISTORY_DIR, LOCAL_HISTORY_FOLDER);
 		}
+
+		return new File(HISTORY_DIR, session.getUsername());
 	}
 
 	@Subscribe
@@ -576,7 +627,7 @@ public class FlippingPlugin extends Plugin
 				case ("roiGradientMax"):
 				case ("marginCheckLoss"):
 				case ("twelveHourFormat"):
-					panel.rebuildFlippingPanel(tradesList);
+					panel.rebuildFlippingPanel(getTradesList());
 					break;
 				default:
 					break;
@@ -601,16 +652,8 @@ public class FlippingPlugin extends Plugin
 			flippingWidget = new FlippingItemWidget(client.getWidget(WidgetInfo.CHATBOX_CONTAINER),
 				client);
 
-			FlippingItem selectedItem = null;
 			//Check that if we've recorded any data for the item.
-			for (FlippingItem item : tradesList)
-			{
-				if (item.getItemId() == client.getVar(CURRENT_GE_ITEM))
-				{
-					selectedItem = item;
-					break;
-				}
-			}
+			FlippingItem selectedItem = tradeBook.get(client.getVar(CURRENT_GE_ITEM));
 
 			String chatInputText = client.getWidget(WidgetInfo.CHATBOX_TITLE).getText();
 			String offerText = client.getWidget(WidgetInfo.GRAND_EXCHANGE_OFFER_CONTAINER)
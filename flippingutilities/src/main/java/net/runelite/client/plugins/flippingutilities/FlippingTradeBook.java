@@ -0,0 +1,208 @@
+package net.runelite.client.plugins.flippingutilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All tracked {@link FlippingItem}s, keyed by item id and ordered from most to least recently margin checked.
+ * <p>
+ * Every entry links to its neighbours, so finding, moving to the front and removing an item are constant time
+ * no matter how many items are tracked.
+ */
+class FlippingTradeBook
+{
+	private final Map<Integer, Node> nodes = new HashMap<>();
+	// Most recently used item
+	private Node head;
+	// Least recently used item
+	private Node tail;
+
+	synchronized FlippingItem get(int itemId)
+	{
+		Node node = nodes.get(itemId);
+		return node == null ? null : node.item;
+	}
+
+	synchronized int size()
+	{
+		return nodes.size();
+	}
+
+	synchronized boolean isEmpty()
+	{
+		return nodes.isEmpty();
+	}
+
+	/**
+	 * Adds an item in front of all other items, replacing any item with the same id.
+	 */
+	synchronized void addFirst(FlippingItem item)
+	{
+		remove(item.getItemId());
+
+		Node node = new Node(item);
+		nodes.put(item.getItemId(), node);
+		linkFirst(node);
+	}
+
+	/**
+	 * Replaces the item with the same id without changing its position, unknown items are added in front.
+	 */
+	synchronized void put(FlippingItem item)
+	{
+		Node node = nodes.get(item.getItemId());
+		if (node == null)
+		{
+			addFirst(item);
+			return;
+		}
+
+		node.item = item;
+	}
+
+	/**
+	 * Moves an item in front of all other items, does nothing if the item isn't in the book.
+	 */
+	synchronized void moveToFront(int itemId)
+	{
+		Node node = nodes.get(itemId);
+		if (node == null || node == head)
+		{
+			return;
+		}
+
+		unlink(node);
+		linkFirst(node);
+	}
+
+	synchronized FlippingItem remove(int itemId)
+	{
+		Node node = nodes.remove(itemId);
+		if (node == null)
+		{
+			return null;
+		}
+
+		unlink(node);
+		return node.item;
+	}
+
+	/**
+	 * Removes the least recently used item.
+	 */
+	synchronized FlippingItem removeLast()
+	{
+		return tail == null ? null : remove(tail.item.getItemId());
+	}
+
+	/**
+	 * Replaces the content of the book, the items should be ordered from most to least recently used.
+	 */
+	synchronized void load(Collection<FlippingItem> items)
+	{
+		clear();
+
+		for (FlippingItem item : items)
+		{
+			if (item == null || nodes.containsKey(item.getItemId()))
+			{
+				continue;
+			}
+
+			Node node = new Node(item);
+			nodes.put(item.getItemId(), node);
+			linkLast(node);
+		}
+	}
+
+	synchronized void clear()
+	{
+		nodes.clear();
+		head = null;
+		tail = null;
+	}
+
+	/**
+	 * @return a copy of all items, from most to least recently used
+	 */
+	synchronized ArrayList<FlippingItem> toList()
+	{
+		ArrayList<FlippingItem> result = new ArrayList<>(nodes.size());
+		for (Node node = head; node != null; node = node.next)
+		{
+			result.add(node.item);
+		}
+
+		return result;
+	}
+
+	private void linkFirst(Node node)
+	{
+		node.prev = null;
+		node.next = head;
+		if (head != null)
+		{
+			head.prev = node;
+		}
+		head = node;
+
+		if (tail == null)
+		{
+			tail = node;
+		}
+	}
+
+	private void linkLast(Node node)
+	{
+		node.next = null;
+		node.prev = tail;
+		if (tail != null)
+		{
+			tail.next = node;
+		}
+		tail = node;
+
+		if (head == null)
+		{
+			head = node;
+		}
+	}
+
+	private void unlink(Node node)
+	{
+		if (node.prev != null)
+		{
+			node.prev.next = node.next;
+		}
+		else
+		{
+			head = node.next;
+		}
+
+		if (node.next != null)
+		{
+			node.next.prev = node.prev;
+		}
+		else
+		{
+			tail = node.prev;
+		}
+
+		node.prev = null;
+		node.next = null;
+	}
+
+	private static class Node
+	{
+		private FlippingItem item;
+		private Node prev;
+		private Node next;
+
+		private Node(FlippingItem item)
+		{
+			this.item = item;
+		}
+	}
+}
@@ -26,11 +26,10 @@ package net.runelite.client.plugins.inventorysetups;
 
 import java.awt.Color;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.function.IntUnaryOperator;
 import lombok.Getter;
 import lombok.Setter;
 
-@AllArgsConstructor
 public class InventorySetup
 {
 	@Getter
@@ -55,7 +54,6 @@ public class InventorySetup
 	private boolean stackDifference;
 
 	@Getter
-	@Setter
 	private boolean variationDifference;
 
 	@Getter
@@ -70,19 +68,72 @@ public class InventorySetup
 	@Setter
 	private boolean unorderedHighlight;
 
+	// Built when the bank is first filtered by this setup, dropped whenever the items of the setup change
+	private transient volatile SetupItemIndex itemIndex;
+
+	public InventorySetup(List<InventorySetupItem> inventory, List<InventorySetupItem> equipment, List<InventorySetupItem> rune_pouch,
+		String name, Color highlightColor, boolean stackDifference, boolean variationDifference, boolean highlightDifference,
+		boolean filterBank, boolean unorderedHighlight)
+	{
+		this.inventory = inventory;
+		this.equipment = equipment;
+		this.rune_pouch = rune_pouch;
+		this.name = name;
+		this.highlightColor = highlightColor;
+		this.stackDifference = stackDifference;
+		this.variationDifference = variationDifference;
+		this.highlightDifference = highlightDifference;
+		this.filterBank = filterBank;
+		this.unorderedHighlight = unorderedHighlight;
+	}
+
+	public void setVariationDifference(final boolean variationDifference)
+	{
+		this.variationDifference = variationDifference;
+		invalidateItemIndex();
+	}
+
 	public void updateInventory(final List<InventorySetupItem> inv)
 	{
 		inventory = inv;
+		invalidateItemIndex();
 	}
 
 	public void updateEquipment(final List<InventorySetupItem> eqp)
 	{
 		equipment = eqp;
+		invalidateItemIndex();
 	}
 
 	public void updateRunePouch(final List<InventorySetupItem> rp)
 	{
 		rune_pouch = rp;
+		invalidateItemIndex();
+	}
+
+	/**
+	 * Has to be called after changing an item of one of the containers in place.
+	 */
+	public void invalidateItemIndex()
+	{
+		itemIndex = null;
+	}
+
+	/**
+	 * @param itemId       the id of a bank item
+	 * @param canonicalize canonicalizes item ids, so noted items and place holders match their item
+	 * @return whether the inventory, equipment or rune pouch of this setup contains the item
+	 */
+	boolean containsItem(final int itemId, final IntUnaryOperator canonicalize)
+	{
+		SetupItemIndex index = itemIndex;
+		if (index == null)
+		{
+			index = new SetupItemIndex(this, canonicalize);
+			itemIndex = index;
+		}
+
+		return index.contains(itemId, canonicalize);
 	}
 
 }
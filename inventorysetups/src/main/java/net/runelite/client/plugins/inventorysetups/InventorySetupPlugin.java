@@ -546,6 +546,7 @@ public class InventorySetupPlugin extends Plugin
 			}
 
 			container.set(slot.getIndexInSlot(), newItem);
+			slot.getParentSetup().invalidateItemIndex();
 			updateJsonConfig();
 			panel.refreshCurrentSetup();
 		});
@@ -619,6 +620,7 @@ public class InventorySetupPlugin extends Plugin
 									}
 
 									container.set(slot.getIndexInSlot(), newItem);
+									slot.getParentSetup().invalidateItemIndex();
 									updateJsonConfig();
 									panel.refreshCurrentSetup();
 
@@ -636,6 +638,7 @@ public class InventorySetupPlugin extends Plugin
 						}
 
 						container.set(slot.getIndexInSlot(), newItem);
+						slot.getParentSetup().invalidateItemIndex();
 						updateJsonConfig();
 						panel.refreshCurrentSetup();
 					}
@@ -937,28 +940,7 @@ public class InventorySetupPlugin extends Plugin
 
 	private boolean setupContainsItem(final InventorySetup setup, int itemID)
 	{
-
-		// So place holders will show up in the bank.
-		itemID = itemManager.canonicalize(itemID);
-
-		// don't variation map unless it's been selected
-		if (!setup.isVariationDifference())
-		{
-			itemID = ItemVariationMapping.map(itemID);
-		}
-
-		// check the rune pouch to see if it has the item (runes in this case)
-		if (setup.getRune_pouch() != null)
-		{
-			if (checkIfContainerContainsItem(itemID, setup.getRune_pouch(), false, true))
-			{
-				return true;
-			}
-		}
-
-		// canonicalize is needed for equipment to deal with worn items like graceful.
-		return checkIfContainerContainsItem(itemID, setup.getInventory(), setup.isVariationDifference(), true) ||
-			checkIfContainerContainsItem(itemID, setup.getEquipment(), setup.isVariationDifference(), true);
+		return setup.containsItem(itemID, itemManager::canonicalize);
 	}
 
 	private boolean checkIfContainerContainsItem(int itemID, final List<InventorySetupItem> container, boolean isVariationDifference, boolean canonicalize)
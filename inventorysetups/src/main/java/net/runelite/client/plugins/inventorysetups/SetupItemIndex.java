@@ -0,0 +1,143 @@
+package net.runelite.client.plugins.inventorysetups;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import net.runelite.client.game.ItemVariationMapping;
+
+/**
+ * The item ids of an inventory setup, for checking whether a setup contains a bank item without going over
+ * all of its items. Ids are stored canonicalized, and variation mapped unless the setup tells variations apart.
+ * Bank items are looked up by their raw id after the first lookup, so a bank redraw doesn't canonicalize them again.
+ */
+class SetupItemIndex
+{
+	private final boolean variationDifference;
+	private final IntSet items = new IntSet();
+	// Raw ids that have been looked up before, split by whether the setup contains them
+	private final IntSet matches = new IntSet();
+	private final IntSet misses = new IntSet();
+
+	SetupItemIndex(final InventorySetup setup, final IntUnaryOperator canonicalize)
+	{
+		variationDifference = setup.isVariationDifference();
+
+		// Runes in the rune pouch are always variation mapped
+		addItems(setup.getRune_pouch(), false, canonicalize);
+		addItems(setup.getInventory(), variationDifference, canonicalize);
+		addItems(setup.getEquipment(), variationDifference, canonicalize);
+	}
+
+	boolean contains(final int itemId, final IntUnaryOperator canonicalize)
+	{
+		if (matches.contains(itemId))
+		{
+			return true;
+		}
+		if (misses.contains(itemId))
+		{
+			return false;
+		}
+
+		// So place holders will show up in the bank.
+		int id = canonicalize.applyAsInt(itemId);
+		if (!variationDifference)
+		{
+			id = ItemVariationMapping.map(id);
+		}
+
+		final boolean contains = items.contains(id);
+		(contains ? matches : misses).add(itemId);
+		return contains;
+	}
+
+	private void addItems(final List<InventorySetupItem> container, final boolean variationDifference, final IntUnaryOperator canonicalize)
+	{
+		if (container == null)
+		{
+			return;
+		}
+
+		for (final InventorySetupItem item : container)
+		{
+			// canonicalize is needed for equipment to deal with worn items like graceful.
+			final int id = canonicalize.applyAsInt(item.getId());
+			items.add(variationDifference ? id : ItemVariationMapping.map(id));
+		}
+	}
+
+	/**
+	 * Open addressing set of non negative ints.
+	 */
+	private static class IntSet
+	{
+		private static final int EMPTY = -1;
+
+		private int[] keys = newTable(16);
+		private int size;
+
+		boolean contains(final int key)
+		{
+			final int mask = keys.length - 1;
+			for (int i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask)
+			{
+				if (keys[i] == key)
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		void add(final int key)
+		{
+			if (key < 0 || contains(key))
+			{
+				return;
+			}
+
+			// Keep the table at most half full so probe sequences stay short
+			if ((size + 1) * 2 > keys.length)
+			{
+				final int[] old = keys;
+				keys = newTable(old.length * 2);
+				for (final int k : old)
+				{
+					if (k != EMPTY)
+					{
+						insert(k);
+					}
+				}
+			}
+
+			insert(key);
+			size++;
+		}
+
+		private void insert(final int key)
+		{
+			final int mask = keys.length - 1;
+			int i = mix(key) & mask;
+			while (keys[i] != EMPTY)
+			{
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+		}
+
+		private static int[] newTable(final int capacity)
+		{
+			final int[] table = new int[capacity];
+			Arrays.fill(table, EMPTY);
+			return table;
+		}
+
+		// Item ids are mostly sequential, spread them over the table
+		private static int mix(final int key)
+		{
+			final int h = key * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+	}
+}
@@ -31,11 +31,9 @@ import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import net.runelite.client.game.ItemManager;
-import net.runelite.client.game.ItemVariationMapping;
 import net.runelite.client.plugins.inventorysetups.InventorySetup;
 import net.runelite.client.plugins.inventorysetups.InventorySetupItem;
 import net.runelite.client.plugins.inventorysetups.InventorySetupPlugin;
-import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.util.AsyncBufferedImage;
 
 public abstract class InventorySetupContainerPanel extends JPanel
@@ -44,6 +42,7 @@ public abstract class InventorySetupContainerPanel extends JPanel
 	protected final InventorySetupPlugin plugin;
 	protected ItemManager itemManager;
 	protected boolean isHighlighted;
+	protected final SlotHighlighter highlighter = new SlotHighlighter();
 
 	InventorySetupContainerPanel(final ItemManager itemManager, final InventorySetupPlugin plugin, String captionText)
 	{
@@ -156,39 +155,6 @@ public abstract class InventorySetupContainerPanel extends JPanel
 		containerSlot.setImageLabel(toolTip, itemImg);
 	}
 
-	protected void highlightDifferentSlotColor(final InventorySetup setup, InventorySetupItem savedItem, InventorySetupItem currItem, final InventorySetupSlot containerSlot)
-	{
-		// important note: do not use item names for comparisons
-		// they are all empty to avoid clientThread usage when highlighting
-
-		// first check if stack differences are enabled and compare quantities
-		if (setup.isStackDifference() && currItem.getQuantity() != savedItem.getQuantity())
-		{
-			containerSlot.setBackground(setup.getHighlightColor());
-			return;
-		}
-
-		// obtain the correct item ids using the variation difference if applicable
-		int currId = currItem.getId();
-		int checkId = savedItem.getId();
-
-		if (!setup.isVariationDifference())
-		{
-			currId = ItemVariationMapping.map(currId);
-			checkId = ItemVariationMapping.map(checkId);
-		}
-
-		// if the ids don't match, highlight the container slot
-		if (currId != checkId)
-		{
-			containerSlot.setBackground(setup.getHighlightColor());
-			return;
-		}
-
-		// set the color back to the original, because they match
-		containerSlot.setBackground(ColorScheme.DARKER_GRAY_COLOR);
-	}
-
 	abstract public void setupContainerPanel(final JPanel containerSlotsPanel);
 
 	abstract public void highlightSlotDifferences(final List<InventorySetupItem> currContainer, final InventorySetup inventorySetup);
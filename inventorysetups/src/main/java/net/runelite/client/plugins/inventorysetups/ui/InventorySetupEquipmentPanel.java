@@ -25,6 +25,8 @@
 package net.runelite.client.plugins.inventorysetups.ui;
 
 import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,8 @@ import net.runelite.client.ui.ColorScheme;
 public class InventorySetupEquipmentPanel extends InventorySetupContainerPanel
 {
 	private Map<EquipmentInventorySlot, InventorySetupSlot> equipmentSlots;
+	// The same slots by their index in the equipment container, null for indexes without a slot
+	private List<InventorySetupSlot> slotsByIndex;
 
 	InventorySetupEquipmentPanel(final ItemManager itemManager, final InventorySetupPlugin plugin)
 	{
@@ -50,11 +54,18 @@ public class InventorySetupEquipmentPanel extends InventorySetupContainerPanel
 	public void setupContainerPanel(final JPanel containerSlotsPanel)
 	{
 		this.equipmentSlots = new HashMap<>();
+		this.slotsByIndex = new ArrayList<>();
 		for (EquipmentInventorySlot slot : EquipmentInventorySlot.values())
 		{
 			final InventorySetupSlot setupSlot = new InventorySetupSlot(ColorScheme.DARKER_GRAY_COLOR, InventorySetupSlotID.EQUIPMENT, slot.getSlotIdx());
 			super.addMouseListenerToSlot(setupSlot);
 			equipmentSlots.put(slot, setupSlot);
+
+			if (slotsByIndex.size() <= slot.getSlotIdx())
+			{
+				slotsByIndex.addAll(Collections.nCopies(slot.getSlotIdx() + 1 - slotsByIndex.size(), null));
+			}
+			slotsByIndex.set(slot.getSlotIdx(), setupSlot);
 		}
 
 		final GridLayout gridLayout = new GridLayout(5, 3, 1, 1);
@@ -88,11 +99,8 @@ public class InventorySetupEquipmentPanel extends InventorySetupContainerPanel
 
 		isHighlighted = true;
 
-		for (final EquipmentInventorySlot slot : EquipmentInventorySlot.values())
-		{
-			int slotIdx = slot.getSlotIdx();
-			super.highlightDifferentSlotColor(inventorySetup, equipToCheck.get(slotIdx), currEquipment.get(slotIdx), equipmentSlots.get(slot));
-		}
+		highlighter.compareOrdered(currEquipment, equipToCheck, inventorySetup.isVariationDifference(), inventorySetup.isStackDifference());
+		highlighter.apply(slotsByIndex, inventorySetup.getHighlightColor());
 	}
 
 	@Override
@@ -117,10 +125,7 @@ public class InventorySetupEquipmentPanel extends InventorySetupContainerPanel
 			return;
 		}
 
-		for (final EquipmentInventorySlot slot : EquipmentInventorySlot.values())
-		{
-			equipmentSlots.get(slot).setBackground(ColorScheme.DARKER_GRAY_COLOR);
-		}
+		highlighter.reset(slotsByIndex);
 
 		isHighlighted = false;
 	}
@@ -26,9 +26,7 @@ package net.runelite.client.plugins.inventorysetups.ui;
 
 import java.awt.GridLayout;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import javax.swing.JPanel;
 import net.runelite.api.ItemID;
 import net.runelite.client.game.ItemManager;
@@ -38,7 +36,6 @@ import net.runelite.client.plugins.inventorysetups.InventorySetupItem;
 import net.runelite.client.plugins.inventorysetups.InventorySetupPlugin;
 import net.runelite.client.plugins.inventorysetups.InventorySetupSlotID;
 import net.runelite.client.ui.ColorScheme;
-import org.apache.commons.lang3.tuple.ImmutablePair;
 
 public class InventorySetupInventoryPanel extends InventorySetupContainerPanel
 {
@@ -82,21 +79,30 @@ public class InventorySetupInventoryPanel extends InventorySetupContainerPanel
 
 		isHighlighted = true;
 
+		// important note: do not use item names for comparisons
+		// they are all empty to avoid clientThread usage when highlighting
 		if (inventorySetup.isUnorderedHighlight())
 		{
-			doUnorderedHighlighting(currInventory, inventorySetup);
-			return;
+			// don't count empty spaces. We only want to show items that are missing, not "extra items"
+			// that would be indicated by highlighting empty slots.
+			highlighter.compareUnordered(currInventory, inventoryToCheck, inventorySetup.isVariationDifference(),
+				inventorySetup.isStackDifference(), true, false);
+		}
+		else
+		{
+			highlighter.compareOrdered(currInventory, inventoryToCheck, inventorySetup.isVariationDifference(),
+				inventorySetup.isStackDifference());
 		}
+		highlighter.apply(inventorySlots, inventorySetup.getHighlightColor());
 
 		boolean currInvHasRunePouch = false;
-		for (int i = 0; i < NUM_INVENTORY_ITEMS; i++)
+		for (final InventorySetupItem item : currInventory)
 		{
-			InventorySetupItem currInvItem = currInventory.get(i);
-			if (!currInvHasRunePouch && ItemVariationMapping.map(currInvItem.getId()) == ItemID.RUNE_POUCH)
+			if (ItemVariationMapping.map(item.getId()) == ItemID.RUNE_POUCH)
 			{
 				currInvHasRunePouch = true;
+				break;
 			}
-			super.highlightDifferentSlotColor(inventorySetup, inventoryToCheck.get(i), currInventory.get(i), inventorySlots.get(i));
 		}
 
 		handleRunePouchHighlighting(inventorySetup, currInvHasRunePouch);
@@ -124,83 +130,13 @@ public class InventorySetupInventoryPanel extends InventorySetupContainerPanel
 			return;
 		}
 
-		for (InventorySetupSlot inventorySlot : inventorySlots)
-		{
-			inventorySlot.setBackground(ColorScheme.DARKER_GRAY_COLOR);
-		}
+		highlighter.reset(inventorySlots);
 
 		rpPanel.resetSlotColors();
 
 		isHighlighted = false;
 	}
 
-	private void doUnorderedHighlighting(final List<InventorySetupItem> currInventory, final InventorySetup inventorySetup)
-	{
-		Map<ImmutablePair<Integer, Integer>, Integer> currInvMap = new HashMap<>();
-
-		boolean currInvHasRunePouch = false;
-		for (final InventorySetupItem item : currInventory)
-		{
-			// Use variation mapping if necessary and set the quantity to 1 if ignoring stacks
-			int itemId = inventorySetup.isVariationDifference() ? item.getId() : ItemVariationMapping.map(item.getId());
-			int quantity = inventorySetup.isStackDifference() ? item.getQuantity() : 1;
-
-			if (ItemVariationMapping.map(item.getId()) == ItemID.RUNE_POUCH)
-			{
-				currInvHasRunePouch = true;
-			}
-
-			ImmutablePair<Integer, Integer> key = new ImmutablePair<>(itemId, quantity);
-			int count = currInvMap.get(key) == null ? 0 : currInvMap.get(key);
-			currInvMap.put(key, count + 1);
-		}
-
-		final List<InventorySetupItem> setupInv = inventorySetup.getInventory();
-		for (int i = 0; i < setupInv.size(); i++)
-		{
-			final InventorySetupItem item = setupInv.get(i);
-
-			/*
-			 don't count empty spaces. We only want to show items that are missing, not "extra items"
-			 that would be indicated by highlighting empty slots.
-			*/
-			if (item.getId() == -1)
-			{
-				inventorySlots.get(i).setBackground(ColorScheme.DARKER_GRAY_COLOR);
-				continue;
-			}
-
-			// Use variation mapping if necessary and set the quantity to 1 if ignoring stacks
-			int itemId = inventorySetup.isVariationDifference() ? item.getId() : ItemVariationMapping.map(item.getId());
-			int quantity = inventorySetup.isStackDifference() ? item.getQuantity() : 1;
-
-			ImmutablePair<Integer, Integer> key = new ImmutablePair<>(itemId, quantity);
-			Integer currentCount = currInvMap.get(key);
-
-			// current inventory doesn't have this item, highlight
-			if (currentCount == null)
-			{
-				inventorySlots.get(i).setBackground(inventorySetup.getHighlightColor());
-				continue;
-			}
-
-			if (currentCount == 1)
-			{
-				currInvMap.remove(key);
-			}
-			else
-			{
-				currInvMap.put(key, currentCount - 1);
-			}
-
-			inventorySlots.get(i).setBackground(ColorScheme.DARKER_GRAY_COLOR);
-
-		}
-
-		handleRunePouchHighlighting(inventorySetup, currInvHasRunePouch);
-
-	}
-
 	private void handleRunePouchHighlighting(final InventorySetup inventorySetup, boolean currInvHasRunePouch)
 	{
 		if (inventorySetup.getRune_pouch() != null)
@@ -3,9 +3,6 @@ package net.runelite.client.plugins.inventorysetups.ui;
 import java.awt.GridLayout;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import javax.swing.JPanel;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.inventorysetups.InventorySetup;
@@ -52,34 +49,8 @@ public class InventorySetupRunePouchPanel extends InventorySetupContainerPanel
 
 		// Note, we don't care about order or stack size
 
-		final List<InventorySetupItem> setupRunePouch = inventorySetup.getRune_pouch();
-
-		Map<Integer, Long> currInvMap = currContainer.stream()
-			.map(InventorySetupItem::getId)
-			.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-		for (int i = setupRunePouch.size() - 1; i >= 0; i--)
-		{
-			int itemID = setupRunePouch.get(i).getId();
-			Long currentCount = currInvMap.get(itemID);
-
-			if (currentCount == null)
-			{
-				runeSlots.get(i).setBackground(inventorySetup.getHighlightColor());
-				continue;
-			}
-
-			if (currentCount == 1)
-			{
-				currInvMap.remove(itemID);
-			}
-			else
-			{
-				currInvMap.put(itemID, currentCount - 1);
-			}
-
-			runeSlots.get(i).setBackground(ColorScheme.DARKER_GRAY_COLOR);
-		}
+		highlighter.compareUnordered(currContainer, inventorySetup.getRune_pouch(), true, false, false, true);
+		highlighter.apply(runeSlots, inventorySetup.getHighlightColor());
 	}
 
 	@Override
@@ -112,20 +83,15 @@ public class InventorySetupRunePouchPanel extends InventorySetupContainerPanel
 		{
 			return;
 		}
-		for (final InventorySetupSlot slot : runeSlots)
-		{
-			slot.setBackground(ColorScheme.DARKER_GRAY_COLOR);
-		}
+		highlighter.reset(runeSlots);
 		isHighlighted = false;
 
 	}
 
 	public void highlightAllSlots(final InventorySetup setup)
 	{
-		for (final InventorySetupSlot slot : runeSlots)
-		{
-			slot.setBackground(setup.getHighlightColor());
-		}
+		highlighter.highlightAll(runeSlots.size());
+		highlighter.apply(runeSlots, setup.getHighlightColor());
 
 		isHighlighted = true;
 	}
@@ -0,0 +1,155 @@
+package net.runelite.client.plugins.inventorysetups.ui;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.client.game.ItemVariationMapping;
+import net.runelite.client.plugins.inventorysetups.InventorySetupItem;
+import net.runelite.client.ui.ColorScheme;
+
+/**
+ * Works out which slots of a container differ from a setup, and updates the background of only those slots
+ * whose highlight changed since the last time. The items are copied into int arrays that are reused between
+ * comparisons, so comparing doesn't allocate.
+ */
+class SlotHighlighter
+{
+	private int size;
+	private int[] currentIds = new int[0];
+	private int[] currentQuantities = new int[0];
+	private int[] setupIds = new int[0];
+	private int[] setupQuantities = new int[0];
+	private boolean[] matched = new boolean[0];
+
+	// Highlights worked out by the last comparison
+	private boolean[] highlighted = new boolean[0];
+	// Highlights the slots currently show
+	private boolean[] shown = new boolean[0];
+	private Color shownColor;
+
+	/**
+	 * Compares every slot with the same slot of the setup.
+	 */
+	void compareOrdered(final List<InventorySetupItem> current, final List<InventorySetupItem> setup,
+		final boolean variationDifference, final boolean stackDifference)
+	{
+		load(current, setup, variationDifference);
+
+		for (int i = 0; i < size; i++)
+		{
+			highlighted[i] = currentIds[i] != setupIds[i]
+				|| (stackDifference && currentQuantities[i] != setupQuantities[i]);
+		}
+	}
+
+	/**
+	 * Highlights the setup slots whose item isn't anywhere in the container, every item in the container can only
+	 * account for one setup slot.
+	 *
+	 * @param skipEmpty don't highlight empty setup slots, so extra items in the container aren't shown
+	 * @param reverse   match the last setup slots first
+	 */
+	void compareUnordered(final List<InventorySetupItem> current, final List<InventorySetupItem> setup,
+		final boolean variationDifference, final boolean stackDifference, final boolean skipEmpty, final boolean reverse)
+	{
+		load(current, setup, variationDifference);
+		Arrays.fill(matched, 0, size, false);
+
+		for (int n = 0; n < size; n++)
+		{
+			final int i = reverse ? size - 1 - n : n;
+			if (skipEmpty && setupIds[i] == -1)
+			{
+				highlighted[i] = false;
+				continue;
+			}
+
+			boolean found = false;
+			for (int j = 0; j < size; j++)
+			{
+				if (!matched[j] && currentIds[j] == setupIds[i]
+					&& (!stackDifference || currentQuantities[j] == setupQuantities[i]))
+				{
+					matched[j] = true;
+					found = true;
+					break;
+				}
+			}
+
+			highlighted[i] = !found;
+		}
+	}
+
+	void highlightAll(final int slotCount)
+	{
+		ensureCapacity(slotCount);
+		size = slotCount;
+		Arrays.fill(highlighted, 0, size, true);
+	}
+
+	/**
+	 * Removes the highlight from all slots.
+	 */
+	void reset(final List<InventorySetupSlot> slots)
+	{
+		Arrays.fill(highlighted, false);
+		apply(slots, shownColor == null ? ColorScheme.DARKER_GRAY_COLOR : shownColor);
+	}
+
+	/**
+	 * Updates the background of the slots whose highlight changed, or all highlighted slots if the highlight
+	 * color changed.
+	 *
+	 * @param slots the slots by their index in the container, null for indexes without a slot
+	 */
+	void apply(final List<InventorySetupSlot> slots, final Color highlightColor)
+	{
+		final boolean colorChanged = !highlightColor.equals(shownColor);
+		final int count = Math.min(slots.size(), highlighted.length);
+		for (int i = 0; i < count; i++)
+		{
+			final InventorySetupSlot slot = slots.get(i);
+			if (slot == null || (highlighted[i] == shown[i] && !(highlighted[i] && colorChanged)))
+			{
+				continue;
+			}
+
+			slot.setBackground(highlighted[i] ? highlightColor : ColorScheme.DARKER_GRAY_COLOR);
+			shown[i] = highlighted[i];
+		}
+
+		shownColor = highlightColor;
+	}
+
+	private void load(final List<InventorySetupItem> current, final List<InventorySetupItem> setup, final boolean variationDifference)
+	{
+		size = Math.min(current.size(), setup.size());
+		ensureCapacity(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			final InventorySetupItem currentItem = current.get(i);
+			final InventorySetupItem setupItem = setup.get(i);
+			currentIds[i] = variationDifference ? currentItem.getId() : ItemVariationMapping.map(currentItem.getId());
+			currentQuantities[i] = currentItem.getQuantity();
+			setupIds[i] = variationDifference ? setupItem.getId() : ItemVariationMapping.map(setupItem.getId());
+			setupQuantities[i] = setupItem.getQuantity();
+		}
+	}
+
+	private void ensureCapacity(final int capacity)
+	{
+		if (capacity <= highlighted.length)
+		{
+			return;
+		}
+
+		currentIds = new int[capacity];
+		currentQuantities = new int[capacity];
+		setupIds = new int[capacity];
+		setupQuantities = new int[capacity];
+		matched = new boolean[capacity];
+		highlighted = Arrays.copyOf(highlighted, capacity);
+		shown = Arrays.copyOf(shown, capacity);
+	}
+}
@@ -3,6 +3,7 @@ package net.runelite.client.plugins.npcoverheaddialogue;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import net.runelite.api.Actor;
+import net.runelite.client.plugins.npcoverheaddialogue.dialog.DialogNpc;
 
 @Data
 @AllArgsConstructor
@@ -10,10 +11,13 @@ class ActorDialogState
 {
 	private Actor actor;
 	private String name;
+	private DialogNpc dialogNpc;
 	private String dialog;
 	private int dialogChangeTick;
 	private int lastXCoordinate;
 	private int lastYCoordinate;
 	private int ticksWithoutMoving;
 	private boolean inCombat;
+	// Tick at which the current dialog times out
+	private int expiryTick;
 }
\ No newline at end of file
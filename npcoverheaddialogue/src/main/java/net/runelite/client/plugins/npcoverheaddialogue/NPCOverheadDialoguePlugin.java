@@ -1,17 +1,21 @@
 package net.runelite.client.plugins.npcoverheaddialogue;
 
-import com.google.common.base.MoreObjects;
 import com.google.inject.Provides;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
-import net.runelite.api.GameState;
 import net.runelite.api.NPC;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.AnimationChanged;
@@ -19,6 +23,8 @@ import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
 import net.runelite.api.util.Text;
 import net.runelite.api.widgets.WidgetID;
 import net.runelite.api.widgets.WidgetInfo;
@@ -44,6 +50,8 @@ public class NPCOverheadDialoguePlugin extends Plugin
 	private static final int SLOW_TICK_TIMEOUT = 5;
 	private static final int MOVING_TICK_DELAY = 2;
 	private static final int AMBIENT_TICK_TIMEOUT = 15; // 9 seconds
+	// Must be larger than the longest dialog timeout
+	private static final int EXPIRY_WHEEL_SIZE = 8;
 	private static final Random RANDOM = new Random();
 
 	@Inject
@@ -52,7 +60,16 @@ public class NPCOverheadDialoguePlugin extends Plugin
 	@Inject
 	private NPCOverheadDialogueConfig config;
 
-	private final Map<Actor, ActorDialogState> dialogStateMap = new HashMap<>();
+	// Dialog states of the dialog npcs currently spawned
+	private final Map<NPC, ActorDialogState> dialogStateMap = new HashMap<>();
+	// Dialog npc by npc id, null for npcs without dialog
+	private final Map<Integer, DialogNpc> dialogNpcCache = new HashMap<>();
+	// States currently showing a dialog
+	private final Set<ActorDialogState> activeDialogs = Collections.newSetFromMap(new IdentityHashMap<>());
+	// States showing a dialog, by the tick their dialog times out at modulo the wheel size
+	private final List<List<ActorDialogState>> expiryWheel = new ArrayList<>();
+	private int lastExpiryTick = -1;
+	private boolean rescanNpcs = true;
 	private Actor actor = null;
 	private String lastNPCText = "";
 	private int actorTextTick = 0;
@@ -65,18 +82,61 @@ public class NPCOverheadDialoguePlugin extends Plugin
 		return configManager.getConfig(NPCOverheadDialogueConfig.class);
 	}
 
+	@Override
+	protected void startUp()
+	{
+		for (int i = 0; i < EXPIRY_WHEEL_SIZE; i++)
+		{
+			expiryWheel.add(new ArrayList<>());
+		}
+		rescanNpcs = true;
+	}
+
+	@Override
+	protected void shutDown()
+	{
+		clearDialogStates();
+		expiryWheel.clear();
+		dialogNpcCache.clear();
+		actor = null;
+	}
+
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged c)
 	{
-		if (!c.getGameState().equals(GameState.LOADING))
+		switch (c.getGameState())
 		{
-			return;
+			case LOADING:
+				// Npcs that despawned while loading are dropped on the next tick
+				rescanNpcs = true;
+				break;
+			case LOGIN_SCREEN:
+			case HOPPING:
+				clearDialogStates();
+				break;
+			default:
+				return;
 		}
 
 		actor = null;
 		lastNPCText = "";
 		lastPlayerText = "";
-		dialogStateMap.clear();
+	}
+
+	@Subscribe
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		getOrCreateActorDialogState(event.getNpc());
+	}
+
+	@Subscribe
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		final ActorDialogState state = dialogStateMap.remove(event.getNpc());
+		if (state != null)
+		{
+			activeDialogs.remove(state);
+		}
 	}
 
 	@Subscribe
@@ -105,22 +165,16 @@ public class NPCOverheadDialoguePlugin extends Plugin
 		}
 
 		final NPC npc = (NPC) animationChanged.getActor();
-		if (config.showDeathDialog() && npc.isDead() && npc.getName() != null)
+		if (config.showDeathDialog() && npc.isDead())
 		{
 			//for death text, best option for slayer item killed monsters
-			final DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(Text.escapeJagex(npc.getName()));
-			if (dialogNpc == null)
-			{
-				return;
-			}
-
 			final ActorDialogState state = getOrCreateActorDialogState(npc);
 			if (state == null)
 			{
 				return;
 			}
 
-			final String[] dialogues = dialogNpc.getDeathDialogs();
+			final String[] dialogues = state.getDialogNpc().getDeathDialogs();
 			if (dialogues == null)
 			{
 				return;
@@ -133,13 +187,7 @@ public class NPCOverheadDialoguePlugin extends Plugin
 	@Subscribe
 	public void onHitsplatApplied(HitsplatApplied event)
 	{
-		if (event.getActor().getName() == null || !(event.getActor() instanceof NPC))
-		{
-			return;
-		}
-
-		final DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(Text.escapeJagex(event.getActor().getName()));
-		if (dialogNpc == null)
+		if (!(event.getActor() instanceof NPC))
 		{
 			return;
 		}
@@ -152,13 +200,15 @@ public class NPCOverheadDialoguePlugin extends Plugin
 			return;
 		}
 
+		final DialogNpc dialogNpc = state.getDialogNpc();
+
 		if (config.showDeathDialog() && npc.isDead())
 		{
 			final String[] dialogues = dialogNpc.getDeathDialogs();
 			if (dialogues != null)
 			{
-				setOverheadText(dialogues[RANDOM.nextInt(dialogues.length)], npc, state);
 				state.setInCombat(true);
+				setOverheadText(dialogues[RANDOM.nextInt(dialogues.length)], npc, state);
 				// return here so damage text doesn't get applied since death dialog exists
 				return;
 			}
@@ -172,8 +222,8 @@ public class NPCOverheadDialoguePlugin extends Plugin
 				return;
 			}
 
-			setOverheadText(dialogues[RANDOM.nextInt(dialogues.length)], npc, state);
 			state.setInCombat(true);
+			setOverheadText(dialogues[RANDOM.nextInt(dialogues.length)], npc, state);
 		}
 	}
 
@@ -199,51 +249,102 @@ public class NPCOverheadDialoguePlugin extends Plugin
 			playerTextTick = 0;
 		}
 
+		if (rescanNpcs)
+		{
+			rescanNpcs();
+		}
+
 		npcTextInvoker();
+		expireDialogs(client.getTickCount());
 
-		final int currentTick = client.getTickCount();
-		for (final Map.Entry<Actor, ActorDialogState> entry : dialogStateMap.entrySet())
+		// Keep showing the dialogs that haven't timed out yet
+		for (final ActorDialogState state : activeDialogs)
 		{
-			final Actor actor = entry.getKey();
-			final ActorDialogState state = entry.getValue();
+			state.getActor().setOverheadText(state.getDialog());
+		}
+	}
+
+	// Finds the dialog npcs of the scene, for when npcs spawned while the plugin was off or despawned while loading
+	private void rescanNpcs()
+	{
+		rescanNpcs = false;
+
+		final Set<NPC> npcs = Collections.newSetFromMap(new IdentityHashMap<>());
+		npcs.addAll(client.getNpcs());
+		dialogStateMap.keySet().retainAll(npcs);
+		activeDialogs.removeIf(state -> !dialogStateMap.containsKey(state.getActor()));
+
+		for (final NPC npc : npcs)
+		{
+			getOrCreateActorDialogState(npc);
+		}
+	}
 
-			final int activeTicks = state.getDialogChangeTick() > 0 ? currentTick - state.getDialogChangeTick() : -1;
-			if (state.getDialog() == null
-				|| (state.isInCombat() && activeTicks > FAST_TICK_TIMEOUT)
-				|| (!state.isInCombat() && activeTicks > SLOW_TICK_TIMEOUT))
+	// Removes the dialogs that timed out since the last tick, only the wheel slots of the ticks passed are visited
+	private void expireDialogs(final int currentTick)
+	{
+		int tick = lastExpiryTick + 1;
+		// Visit every slot once if ticks were skipped, or the tick count was reset
+		if (lastExpiryTick < 0 || currentTick < lastExpiryTick || currentTick - lastExpiryTick > EXPIRY_WHEEL_SIZE)
+		{
+			tick = currentTick - EXPIRY_WHEEL_SIZE + 1;
+		}
+
+		for (; tick <= currentTick; tick++)
+		{
+			final Iterator<ActorDialogState> it = expiryWheel.get(Math.floorMod(tick, EXPIRY_WHEEL_SIZE)).iterator();
+			while (it.hasNext())
 			{
-				if (!Objects.equals(state.getDialog(), actor.getOverheadText()))
+				final ActorDialogState state = it.next();
+				// States whose dialog changed since are left in place until their new timeout
+				if (state.getExpiryTick() > currentTick)
 				{
-					state.setDialogChangeTick(client.getTickCount());
+					continue;
+				}
+
+				it.remove();
+				if (activeDialogs.remove(state))
+				{
+					expireDialog(state, currentTick);
 				}
-				actor.setOverheadText(null);
-				state.setDialog(null);
-				state.setInCombat(false);
-			}
-			else
-			{
-				setOverheadText(state.getDialog(), actor, state);
 			}
 		}
+
+		lastExpiryTick = currentTick;
+	}
+
+	private void expireDialog(final ActorDialogState state, final int currentTick)
+	{
+		final Actor actor = state.getActor();
+		if (!Objects.equals(state.getDialog(), actor.getOverheadText()))
+		{
+			state.setDialogChangeTick(currentTick);
+		}
+		actor.setOverheadText(null);
+		state.setDialog(null);
+		state.setInCombat(false);
+	}
+
+	private void clearDialogStates()
+	{
+		dialogStateMap.clear();
+		activeDialogs.clear();
+		expiryWheel.forEach(List::clear);
+		lastExpiryTick = -1;
 	}
 
 	// checks all local NPCs movement/idle timeout and applies an overhead message if necessary, Uses Ambient dialogues
 	private void npcTextInvoker()
 	{
-		for (final NPC npc : client.getNpcs())
+		if (!config.showWalkingDialog() && !config.showAmbientDialog())
 		{
-			final DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(MoreObjects.firstNonNull(npc.getName(), ""));
-			if (dialogNpc == null)
-			{
-				continue;
-			}
+			return;
+		}
 
-			final ActorDialogState state = getOrCreateActorDialogState(npc);
-			// If state is null that means we aren't tracking this npc
-			if (state == null)
-			{
-				continue;
-			}
+		for (final Map.Entry<NPC, ActorDialogState> entry : dialogStateMap.entrySet())
+		{
+			final NPC npc = entry.getKey();
+			final ActorDialogState state = entry.getValue();
 
 			if (config.showWalkingDialog())
 			{
@@ -258,18 +359,12 @@ public class NPCOverheadDialoguePlugin extends Plugin
 
 	private void checkWalkingDialog(final NPC npc, final ActorDialogState state)
 	{
-		DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(Text.escapeJagex(MoreObjects.firstNonNull(npc.getName(), "")));
-		if (dialogNpc == null)
-		{
-			return;
-		}
-
-		if (hasNpcMoved(npc))
+		if (hasNpcMoved(npc, state))
 		{
 			//log.info(npc + " has moved");
 
 
-			final String[] dialogues = dialogNpc.getWalkingDialogs();
+			final String[] dialogues = state.getDialogNpc().getWalkingDialogs();
 			if (dialogues == null)
 			{
 				return;
@@ -281,25 +376,19 @@ public class NPCOverheadDialoguePlugin extends Plugin
 			{
 				setOverheadText(dialogue, npc, state);
 				state.setTicksWithoutMoving(0);
-				log.debug("set " + npc + " overhead text");
+				log.debug("set {} overhead text", npc);
 			}
 		}
 		else
 		{
 			state.setTicksWithoutMoving(state.getTicksWithoutMoving() + 1);
-			log.debug("state's ticks without moving has been incremented to " + state.getTicksWithoutMoving());
+			log.debug("state's ticks without moving has been incremented to {}", state.getTicksWithoutMoving());
 		}
 	}
 
 	private void checkAmbientDialog(final NPC npc, final ActorDialogState state)
 	{
-		DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(Text.escapeJagex(MoreObjects.firstNonNull(npc.getName(), "")));
-		if (dialogNpc == null)
-		{
-			return;
-		}
-
-		final String[] dialogues = dialogNpc.getAmbientDialogs();
+		final String[] dialogues = state.getDialogNpc().getAmbientDialogs();
 		if (dialogues == null)
 		{
 			return;
@@ -338,45 +427,58 @@ public class NPCOverheadDialoguePlugin extends Plugin
 		}
 	}
 
-	private boolean hasNpcMoved(NPC npc)
+	private boolean hasNpcMoved(final NPC npc, final ActorDialogState state)
 	{
-		final ActorDialogState state = getOrCreateActorDialogState(npc);
-		// If state is null that means we aren't tracking this npc
-		if (state == null)
-		{
-			return false;
-		}
-
 		final WorldPoint npcPos = npc.getWorldLocation();
-		final WorldPoint lastNpcPos = new WorldPoint(state.getLastXCoordinate(), state.getLastYCoordinate(), -1);
-		log.debug("npc has moved? : " + (npcPos.distanceTo2D(lastNpcPos) > 0) + " : " + npcPos.distanceTo2D(lastNpcPos));
-		state.setLastXCoordinate(npc.getWorldLocation().getX());
-		state.setLastYCoordinate(npc.getWorldLocation().getY());
-		return npcPos.distanceTo2D(lastNpcPos) > 0;
+		final int distance = npcPos.distanceTo2D(new WorldPoint(state.getLastXCoordinate(), state.getLastYCoordinate(), -1));
+		log.debug("npc has moved? : {} : {}", distance > 0, distance);
+		state.setLastXCoordinate(npcPos.getX());
+		state.setLastYCoordinate(npcPos.getY());
+		return distance > 0;
 	}
 
 	@Nullable
 	private ActorDialogState getOrCreateActorDialogState(final NPC npc)
 	{
-		if (npc.getName() == null || !DialogNpc.isDialogNpc(Text.escapeJagex(npc.getName())))
-		{
-			return null;
-		}
-
 		ActorDialogState result = dialogStateMap.get(npc);
 		if (result == null)
 		{
+			final DialogNpc dialogNpc = getDialogNpc(npc);
+			if (dialogNpc == null)
+			{
+				return null;
+			}
+
 			result = new ActorDialogState(
-				npc, Text.escapeJagex(npc.getName()), npc.getOverheadText(),
+				npc, Text.escapeJagex(npc.getName()), dialogNpc, npc.getOverheadText(),
 				npc.getOverheadText() == null ? 0 : client.getTickCount(),
 				npc.getWorldLocation().getX(), npc.getWorldLocation().getY(),
-				2, false);
+				2, false, 0);
 			dialogStateMap.put(npc, result);
 		}
 
 		return result;
 	}
 
+	@Nullable
+	private DialogNpc getDialogNpc(final NPC npc)
+	{
+		final int id = npc.getId();
+		if (dialogNpcCache.containsKey(id))
+		{
+			return dialogNpcCache.get(id);
+		}
+
+		if (npc.getName() == null)
+		{
+			return null;
+		}
+
+		final DialogNpc dialogNpc = DialogNpc.getDialogNpcsByNpcName(Text.escapeJagex(npc.getName()));
+		dialogNpcCache.put(id, dialogNpc);
+		return dialogNpc;
+	}
+
 	private void setOverheadText(final String dialogue, final Actor actor, final ActorDialogState state)
 	{
 		if (state.getDialogChangeTick() <= 0 || !Objects.equals(state.getDialog(), dialogue))
@@ -385,6 +487,18 @@ public class NPCOverheadDialoguePlugin extends Plugin
 		}
 		state.setDialog(dialogue);
 		actor.setOverheadText(dialogue);
+		scheduleExpiry(state);
+	}
+
+	private void scheduleExpiry(final ActorDialogState state)
+	{
+		final int timeout = state.isInCombat() ? FAST_TICK_TIMEOUT : SLOW_TICK_TIMEOUT;
+		// Dialogs time out once they have been shown for longer than the timeout, if that
+		// tick has been handled already the dialog times out on the next tick
+		final int expiryTick = Math.max(state.getDialogChangeTick() + timeout + 1, lastExpiryTick + 1);
+		state.setExpiryTick(expiryTick);
+		activeDialogs.add(state);
+		expiryWheel.get(Math.floorMod(expiryTick, EXPIRY_WHEEL_SIZE)).add(state);
 	}
 
 	private String getWidgetTextSafely(final WidgetInfo info)
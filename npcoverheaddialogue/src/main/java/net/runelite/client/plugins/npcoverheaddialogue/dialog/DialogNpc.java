@@ -2,6 +2,7 @@ package net.runelite.client.plugins.npcoverheaddialogue.dialog;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import lombok.Getter;
 import org.apache.commons.lang3.ArrayUtils;
@@ -47,11 +48,20 @@ public enum DialogNpc
 
 	private final String npcName;
 	private final DialogCategories[] dialogCategories;
+	// The dialogs of all categories, merged once since they are looked up every tick
+	private final String[] ambientDialogs;
+	private final String[] damageDialogs;
+	private final String[] deathDialogs;
+	private final String[] walkingDialogs;
 
 	DialogNpc(final String npcName, DialogCategories... dialogCategories)
 	{
 		this.npcName = npcName;
 		this.dialogCategories = dialogCategories;
+		this.ambientDialogs = mergeDialogs(dialogCategories, DialogCategories::getAmbientDialogs);
+		this.damageDialogs = mergeDialogs(dialogCategories, DialogCategories::getDamageDialogs);
+		this.deathDialogs = mergeDialogs(dialogCategories, DialogCategories::getDeathDialogs);
+		this.walkingDialogs = mergeDialogs(dialogCategories, DialogCategories::getWalkingDialogs);
 	}
 
 	private static final Map<String, DialogNpc> NAME_MAP;
@@ -80,16 +90,7 @@ public enum DialogNpc
 	@Nullable
 	public String[] getAmbientDialogs()
 	{
-		String[] dialogs = new String[0];
-		for (final DialogCategories category : dialogCategories)
-		{
-			if (category.getAmbientDialogs() != null)
-			{
-				dialogs = ArrayUtils.addAll(dialogs, category.getAmbientDialogs());
-			}
-		}
-
-		return dialogs.length > 0 ? dialogs : null;
+		return ambientDialogs;
 	}
 
 	@Nullable
@@ -108,16 +109,7 @@ public enum DialogNpc
 	@Nullable
 	public String[] getDamageDialogs()
 	{
-		String[] dialogs = new String[0];
-		for (final DialogCategories category : dialogCategories)
-		{
-			if (category.getDamageDialogs() != null)
-			{
-				dialogs = ArrayUtils.addAll(dialogs, category.getDamageDialogs());
-			}
-		}
-
-		return dialogs.length > 0 ? dialogs : null;
+		return damageDialogs;
 	}
 
 	@Nullable
@@ -136,16 +128,7 @@ public enum DialogNpc
 	@Nullable
 	public String[] getDeathDialogs()
 	{
-		String[] dialogs = new String[0];
-		for (final DialogCategories category : dialogCategories)
-		{
-			if (category.getDeathDialogs() != null)
-			{
-				dialogs = ArrayUtils.addAll(dialogs, category.getDeathDialogs());
-			}
-		}
-
-		return dialogs.length > 0 ? dialogs : null;
+		return deathDialogs;
 	}
 
 	@Nullable
@@ -164,16 +147,7 @@ public enum DialogNpc
 	@Nullable
 	public String[] getWalkingDialogs()
 	{
-		String[] dialogs = new String[0];
-		for (final DialogCategories category : dialogCategories)
-		{
-			if (category.getWalkingDialogs() != null)
-			{
-				dialogs = ArrayUtils.addAll(dialogs, category.getWalkingDialogs());
-			}
-		}
-
-		return dialogs.length > 0 ? dialogs : null;
+		return walkingDialogs;
 	}
 
 	@Nullable
@@ -188,4 +162,19 @@ public enum DialogNpc
 
 		return v.getWalkingDialogs();
 	}
+
+	@Nullable
+	private static String[] mergeDialogs(final DialogCategories[] categories, final Function<DialogCategories, String[]> getter)
+	{
+		String[] dialogs = new String[0];
+		for (final DialogCategories category : categories)
+		{
+			if (getter.apply(category) != null)
+			{
+				dialogs = ArrayUtils.addAll(dialogs, getter.apply(category));
+			}
+		}
+
+		return dialogs.length > 0 ? dialogs : null;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package net.runelite.client.plugins.partypanel;
+
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.RuneLiteAPI;
+
+/**
+ * Counts the party messages sent and received, the totals are logged at debug level about once a minute.
+ * Message sizes are only measured while debug logging is enabled since that requires serializing them again.
+ */
+@Slf4j
+class PartyMessageCounter
+{
+	private static final int LOG_INTERVAL_TICKS = 100;
+
+	private int ticks;
+	private int sentMessages;
+	private long sentBytes;
+	private int receivedMessages;
+	private long receivedBytes;
+
+	synchronized void sent(final Object message)
+	{
+		sentMessages++;
+		sentBytes += size(message);
+	}
+
+	synchronized void received(final Object message)
+	{
+		receivedMessages++;
+		receivedBytes += size(message);
+	}
+
+	synchronized void tick()
+	{
+		if (++ticks < LOG_INTERVAL_TICKS)
+		{
+			return;
+		}
+
+		if (sentMessages > 0 || receivedMessages > 0)
+		{
+			log.debug("Party messages in the last {} ticks: sent {} ({} bytes), received {} ({} bytes)",
+				ticks, sentMessages, sentBytes, receivedMessages, receivedBytes);
+		}
+
+		ticks = 0;
+		sentMessages = 0;
+		sentBytes = 0;
+		receivedMessages = 0;
+		receivedBytes = 0;
+	}
+
+	private static int size(final Object message)
+	{
+		if (!log.isDebugEnabled())
+		{
+			return 0;
+		}
+
+		return RuneLiteAPI.GSON.toJson(message).getBytes(StandardCharsets.UTF_8).length;
+	}
+}
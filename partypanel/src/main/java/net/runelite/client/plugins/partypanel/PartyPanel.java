@@ -29,11 +29,14 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.swing.JButton;
@@ -41,6 +44,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import net.runelite.client.plugins.partypanel.data.PartyPlayer;
 import net.runelite.client.plugins.partypanel.ui.PlayerBanner;
@@ -53,6 +57,8 @@ class PartyPanel extends PluginPanel
 {
 	private static final Color BACKGROUND_COLOR = ColorScheme.DARK_GRAY_COLOR;
 	private static final Color BACKGROUND_HOVER_COLOR = ColorScheme.DARK_GRAY_HOVER_COLOR;
+	// Minimum time between two passes over the queued updates, in milliseconds
+	private static final int UPDATE_DELAY = 50;
 
 	private final PartyPanelPlugin plugin;
 	private final Map<UUID, PlayerBanner> bannerMap = new HashMap<>();
@@ -60,6 +66,10 @@ class PartyPanel extends PluginPanel
 	private PlayerPanel playerPanel = null;
 	private PartyPlayer selectedPlayer = null;
 
+	// Members that changed since the last pass, all of them are shown in a single pass on the EDT
+	private final Set<UUID> queuedUpdates = new HashSet<>();
+	private final Timer updateTimer;
+
 	@Inject
 	PartyPanel(final PartyPanelPlugin plugin)
 	{
@@ -79,6 +89,43 @@ class PartyPanel extends PluginPanel
 
 		this.add(scrollPane, BorderLayout.CENTER);
 		this.add(createLeaveButton(), BorderLayout.SOUTH);
+
+		updateTimer = new Timer(UPDATE_DELAY, e -> showQueuedUpdates());
+		updateTimer.setRepeats(false);
+	}
+
+	/**
+	 * Queues a member to be updated, can be called from any thread. Updates arriving within a short time
+	 * of each other are shown together.
+	 */
+	void queueUpdate(final UUID memberId)
+	{
+		synchronized (queuedUpdates)
+		{
+			if (queuedUpdates.add(memberId) && queuedUpdates.size() == 1)
+			{
+				updateTimer.start();
+			}
+		}
+	}
+
+	private void showQueuedUpdates()
+	{
+		final List<UUID> memberIds;
+		synchronized (queuedUpdates)
+		{
+			memberIds = new ArrayList<>(queuedUpdates);
+			queuedUpdates.clear();
+		}
+
+		for (final UUID memberId : memberIds)
+		{
+			final PartyPlayer player = plugin.getPartyMembers().get(memberId);
+			if (player != null)
+			{
+				updatePartyPlayer(player);
+			}
+		}
 	}
 
 	void refreshUI()
@@ -254,23 +301,22 @@ class PartyPanel extends PluginPanel
 				return;
 			}
 
-			final String oldPlayerName = panel.getPlayer().getUsername();
 			panel.setPlayer(player);
-			if (!Objects.equals(player.getUsername(), oldPlayerName))
-			{
-				panel.recreatePanel();
-			}
-			else
-			{
-				panel.refreshStats();
-			}
+			panel.refresh();
 		}
 		else
 		{
 			if (player.getMemberId().equals(selectedPlayer.getMemberId()))
 			{
 				this.selectedPlayer = player;
-				showPlayerView();
+				if (playerPanel == null)
+				{
+					showPlayerView();
+				}
+				else
+				{
+					playerPanel.changePlayer(player);
+				}
 			}
 		}
 	}
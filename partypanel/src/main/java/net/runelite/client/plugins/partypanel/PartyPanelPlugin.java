@@ -26,10 +26,11 @@ package net.runelite.client.plugins.partypanel;
 
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
@@ -39,7 +40,6 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.InventoryID;
-import net.runelite.api.Skill;
 import net.runelite.api.VarPlayer;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
@@ -60,13 +60,13 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
 import net.runelite.client.plugins.partypanel.data.GameItem;
 import net.runelite.client.plugins.partypanel.data.PartyPlayer;
-import net.runelite.client.plugins.partypanel.data.Prayers;
-import net.runelite.client.plugins.partypanel.ui.prayer.PrayerSprites;
+import net.runelite.client.plugins.partypanel.data.PartyPlayerUpdate;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.ws.PartyService;
 import net.runelite.client.ws.WSClient;
+import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 import net.runelite.http.api.ws.messages.party.UserJoin;
 import net.runelite.http.api.ws.messages.party.UserPart;
 import net.runelite.http.api.ws.messages.party.UserSync;
@@ -83,6 +83,8 @@ import org.pf4j.Extension;
 public class PartyPanelPlugin extends Plugin
 {
 	private static final BufferedImage ICON = ImageUtil.getResourceStreamFromClass(PartyPanelPlugin.class, "icon.png");
+	// Minimum time between two requests for new snapshots of all members
+	private static final Duration SYNC_REQUEST_COOLDOWN = Duration.ofSeconds(5);
 
 	@Inject
 	private Client client;
@@ -120,13 +122,15 @@ public class PartyPanelPlugin extends Plugin
 	}
 
 	@Getter
-	private final Map<UUID, PartyPlayer> partyMembers = new HashMap<>();
+	private final Map<UUID, PartyPlayer> partyMembers = new ConcurrentHashMap<>();
 
 	private NavigationButton navButton;
 	private boolean addedButton = false;
 	private PartyPanel panel;
 	@Getter
 	private PartyPlayer myPlayer = null;
+	private final PartyMessageCounter messageCounter = new PartyMessageCounter();
+	private Instant lastSyncRequest;
 
 	@Override
 	protected void startUp()
@@ -140,6 +144,7 @@ public class PartyPanelPlugin extends Plugin
 			.build();
 
 		wsClient.registerMessage(PartyPlayer.class);
+		wsClient.registerMessage(PartyPlayerUpdate.class);
 
 		// If there isn't already a session open, open one
 		if (!wsClient.sessionExists())
@@ -161,7 +166,7 @@ public class PartyPanelPlugin extends Plugin
 			clientThread.invokeLater(() ->
 			{
 				myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager);
-				wsClient.send(myPlayer);
+				sendSnapshot();
 			});
 		}
 	}
@@ -197,6 +202,7 @@ public class PartyPanelPlugin extends Plugin
 		addedButton = false;
 		partyMembers.clear();
 		wsClient.unregisterMessage(PartyPlayer.class);
+		wsClient.unregisterMessage(PartyPlayerUpdate.class);
 	}
 
 	boolean isInParty()
@@ -218,6 +224,8 @@ public class PartyPanelPlugin extends Plugin
 			return;
 		}
 
+		messageCounter.received(player);
+
 		player.setMember(partyService.getMemberById(player.getMemberId()));
 		if (player.getMember() == null)
 		{
@@ -225,7 +233,36 @@ public class PartyPanelPlugin extends Plugin
 		}
 
 		partyMembers.put(player.getMemberId(), player);
-		SwingUtilities.invokeLater(() -> panel.updatePartyPlayer(player));
+		panel.queueUpdate(player.getMemberId());
+	}
+
+	@Subscribe
+	public void onPartyPlayerUpdate(final PartyPlayerUpdate update)
+	{
+		if (!isInParty())
+		{
+			return;
+		}
+
+		if (update.getMemberId().equals(partyService.getLocalMember().getMemberId()))
+		{
+			return;
+		}
+
+		messageCounter.received(update);
+
+		// The update is applied to a copy, the panel may be reading the current player on the EDT
+		final PartyPlayer player = partyMembers.get(update.getMemberId());
+		final PartyPlayer updated = player == null ? null : player.withUpdate(update);
+		if (updated == null)
+		{
+			// Missed the snapshot or an earlier update of this member
+			requestSync();
+			return;
+		}
+
+		partyMembers.put(updated.getMemberId(), updated);
+		panel.queueUpdate(updated.getMemberId());
 	}
 
 	@Subscribe
@@ -246,19 +283,15 @@ public class PartyPanelPlugin extends Plugin
 		// Self joined
 		if (event.getMemberId().equals(partyService.getLocalMember().getMemberId()))
 		{
-			if (myPlayer == null)
+			clientThread.invoke(() ->
 			{
-				clientThread.invoke(() ->
+				if (myPlayer == null)
 				{
 					myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager);
-					wsClient.send(myPlayer);
-					return true;
-				});
-			}
-			else
-			{
-				wsClient.send(myPlayer);
-			}
+				}
+				sendSnapshot();
+				return true;
+			});
 		}
 	}
 
@@ -281,7 +314,7 @@ public class PartyPanelPlugin extends Plugin
 	@Subscribe
 	public void onUserSync(final UserSync event)
 	{
-		wsClient.send(myPlayer);
+		clientThread.invokeLater(this::sendSnapshot);
 	}
 
 	@Subscribe
@@ -309,65 +342,44 @@ public class PartyPanelPlugin extends Plugin
 		if (event.getGameState().equals(GameState.LOGIN_SCREEN))
 		{
 			myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager);
-			wsClient.send(myPlayer);
+			sendSnapshot();
 		}
 	}
 
 	@Subscribe
 	public void onGameTick(final GameTick tick)
 	{
+		messageCounter.tick();
+
 		if (!isInParty() || client.getLocalPlayer() == null)
 		{
 			return;
 		}
 
-		boolean changed = false;
-
 		if (myPlayer == null)
 		{
 			myPlayer = new PartyPlayer(partyService.getLocalMember(), client, itemManager);
 			// member changed account, send new data to all members
-			wsClient.send(myPlayer);
+			sendSnapshot();
 			return;
 		}
 
 		if (myPlayer.getStats() == null)
 		{
 			myPlayer.updatePlayerInfo(client, itemManager);
-			changed = true;
-		}
-		else
-		{
-			final int energy = client.getEnergy();
-			if (myPlayer.getStats().getRunEnergy() != energy)
-			{
-				myPlayer.getStats().setRunEnergy(energy);
-				changed = true;
-			}
-		}
-
-		if (!Objects.equals(client.getLocalPlayer().getName(), myPlayer.getUsername()))
-		{
-			myPlayer.setUsername(client.getLocalPlayer().getName());
-			changed = true;
+			sendSnapshot();
+			return;
 		}
 
-		if (myPlayer.getPrayers() == null)
-		{
-			myPlayer.setPrayers(new Prayers(client));
-			changed = true;
-		}
-		else
-		{
-			for (final PrayerSprites prayer : PrayerSprites.values())
-			{
-				changed = myPlayer.getPrayers().updatePrayerState(prayer, client) || changed;
-			}
-		}
+		myPlayer.setRunEnergy(client.getEnergy());
+		myPlayer.setUsername(client.getLocalPlayer().getName());
+		myPlayer.updatePrayers(client);
 
-		if (changed)
+		// Changes made since the last tick are sent together
+		final PartyPlayerUpdate update = myPlayer.createUpdate();
+		if (update != null)
 		{
-			wsClient.send(myPlayer);
+			send(update);
 		}
 	}
 
@@ -379,22 +391,15 @@ public class PartyPanelPlugin extends Plugin
 			return;
 		}
 
-		final Skill s = event.getSkill();
-		if (myPlayer.getSkillBoostedLevel(s) == event.getBoostedLevel() && myPlayer.getSkillRealLevel(s) == event.getLevel())
-		{
-			return;
-		}
-
 		myPlayer.setSkillsBoostedLevel(event.getSkill(), event.getBoostedLevel());
 		myPlayer.setSkillsRealLevel(event.getSkill(), event.getLevel());
-		myPlayer.getStats().setTotalLevel(client.getTotalLevel());
-		wsClient.send(myPlayer);
+		myPlayer.setTotalLevel(client.getTotalLevel());
 	}
 
 	@Subscribe
 	public void onItemContainerChanged(final ItemContainerChanged c)
 	{
-		if (!isInParty())
+		if (myPlayer == null || !isInParty())
 		{
 			return;
 		}
@@ -407,28 +412,54 @@ public class PartyPanelPlugin extends Plugin
 		{
 			myPlayer.setEquipment(GameItem.convertItemsToGameItems(c.getItemContainer().getItems(), itemManager));
 		}
-		else
+	}
+
+	@Subscribe
+	public void onVarbitChanged(final VarbitChanged event)
+	{
+		if (myPlayer == null || myPlayer.getStats() == null || !isInParty())
 		{
 			return;
 		}
 
-		wsClient.send(myPlayer);
+		myPlayer.setSpecialPercent(client.getVar(VarPlayer.SPECIAL_ATTACK_PERCENT) / 10);
 	}
 
-	@Subscribe
-	public void onVarbitChanged(final VarbitChanged event)
+	/**
+	 * Sends the whole local player, members replace what they know about the player with it.
+	 */
+	private void sendSnapshot()
 	{
-		if (myPlayer == null || myPlayer.getStats() == null || !isInParty())
+		if (myPlayer == null || !isInParty())
 		{
 			return;
 		}
 
-		final int specialPercent = client.getVar(VarPlayer.SPECIAL_ATTACK_PERCENT) / 10;
-		if (specialPercent != myPlayer.getStats().getSpecialPercent())
+		myPlayer.clearChanges();
+		send(myPlayer);
+	}
+
+	private void send(final PartyMemberMessage message)
+	{
+		wsClient.send(message);
+		messageCounter.sent(message);
+	}
+
+	/**
+	 * Asks all members to send a new snapshot of themselves.
+	 */
+	private void requestSync()
+	{
+		final Instant now = Instant.now();
+		if (lastSyncRequest != null && lastSyncRequest.plus(SYNC_REQUEST_COOLDOWN).isAfter(now))
 		{
-			myPlayer.getStats().setSpecialPercent(specialPercent);
-			wsClient.send(myPlayer);
+			return;
 		}
+
+		lastSyncRequest = now;
+		final UserSync sync = new UserSync();
+		sync.setMemberId(partyService.getLocalMember().getMemberId());
+		send(sync);
 	}
 
 	@Nullable
@@ -24,14 +24,18 @@
  */
 package net.runelite.client.plugins.partypanel.data;
 
+import java.util.EnumSet;
+import java.util.Objects;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import net.runelite.api.Client;
 import net.runelite.api.EquipmentInventorySlot;
 import net.runelite.api.InventoryID;
 import net.runelite.api.ItemContainer;
+import net.runelite.api.Prayer;
 import net.runelite.api.Skill;
 import net.runelite.client.game.ItemManager;
+import net.runelite.client.plugins.partypanel.ui.prayer.PrayerSprites;
 import net.runelite.client.ws.PartyMember;
 import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 
@@ -39,12 +43,30 @@ import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
 @EqualsAndHashCode(callSuper = true)
 public class PartyPlayer extends PartyMemberMessage
 {
+	private static final int USERNAME_CHANGED = 1;
+	private static final int SPECIAL_CHANGED = 1 << 1;
+	private static final int RUN_ENERGY_CHANGED = 1 << 2;
+	private static final int TOTAL_LEVEL_CHANGED = 1 << 3;
+	private static final int INVENTORY_CHANGED = 1 << 4;
+	private static final int EQUIPMENT_CHANGED = 1 << 5;
+	private static final int ALL_PRAYERS_CHANGED = 1 << 6;
+
 	private transient PartyMember member;
 	private String username;
 	private Stats stats;
 	private GameItem[] inventory;
 	private GameItem[] equipment;
 	private Prayers prayers;
+	// Increased for every update sent, see PartyPlayerUpdate
+	private int version;
+
+	// Changes made since the last update or snapshot was sent, only tracked for the local player
+	private transient int changes;
+	private transient EnumSet<Skill> changedSkills;
+	private transient EnumSet<Prayer> changedPrayers;
+	// The containers as they were last sent, containers are replaced instead of modified so no copy is needed
+	private transient GameItem[] sentInventory;
+	private transient GameItem[] sentEquipment;
 
 	public PartyPlayer(final PartyMember member, final Client client, final ItemManager itemManager)
 	{
@@ -59,6 +81,19 @@ public class PartyPlayer extends PartyMemberMessage
 		updatePlayerInfo(client, itemManager);
 	}
 
+	// Copies everything a received player holds, the item containers are replaced instead of modified
+	private PartyPlayer(final PartyPlayer other)
+	{
+		this.setMemberId(other.getMemberId());
+		this.member = other.member;
+		this.username = other.username;
+		this.stats = other.stats == null ? null : new Stats(other.stats);
+		this.inventory = other.inventory;
+		this.equipment = other.equipment;
+		this.prayers = other.prayers == null ? null : new Prayers(other.prayers);
+		this.version = other.version;
+	}
+
 	public void updatePlayerInfo(final Client client, final ItemManager itemManager)
 	{
 		// Player is logged in
@@ -113,7 +148,11 @@ public class PartyPlayer extends PartyMemberMessage
 			return;
 		}
 
-		stats.getBoostedLevels().put(skill, level);
+		final Integer previous = stats.getBoostedLevels().put(skill, level);
+		if (previous == null || previous != level)
+		{
+			skillChanged(skill);
+		}
 	}
 
 	public void setSkillsRealLevel(final Skill skill, final int level)
@@ -123,6 +162,289 @@ public class PartyPlayer extends PartyMemberMessage
 			return;
 		}
 
-		stats.getBaseLevels().put(skill, level);
+		final Integer previous = stats.getBaseLevels().put(skill, level);
+		if (previous == null || previous != level)
+		{
+			skillChanged(skill);
+		}
+	}
+
+	public void setUsername(final String username)
+	{
+		if (!Objects.equals(this.username, username))
+		{
+			this.username = username;
+			changes |= USERNAME_CHANGED;
+		}
+	}
+
+	public void setInventory(final GameItem[] inventory)
+	{
+		this.inventory = inventory;
+		changes |= INVENTORY_CHANGED;
+	}
+
+	public void setEquipment(final GameItem[] equipment)
+	{
+		this.equipment = equipment;
+		changes |= EQUIPMENT_CHANGED;
+	}
+
+	public void setPrayers(final Prayers prayers)
+	{
+		this.prayers = prayers;
+		changes |= ALL_PRAYERS_CHANGED;
+	}
+
+	public void setSpecialPercent(final int specialPercent)
+	{
+		if (stats != null && stats.getSpecialPercent() != specialPercent)
+		{
+			stats.setSpecialPercent(specialPercent);
+			changes |= SPECIAL_CHANGED;
+		}
+	}
+
+	public void setRunEnergy(final int runEnergy)
+	{
+		if (stats != null && stats.getRunEnergy() != runEnergy)
+		{
+			stats.setRunEnergy(runEnergy);
+			changes |= RUN_ENERGY_CHANGED;
+		}
+	}
+
+	public void setTotalLevel(final int totalLevel)
+	{
+		if (stats != null && stats.getTotalLevel() != totalLevel)
+		{
+			stats.setTotalLevel(totalLevel);
+			changes |= TOTAL_LEVEL_CHANGED;
+		}
+	}
+
+	/**
+	 * Updates the state of all prayers.
+	 *
+	 * @return true if any prayer changed
+	 */
+	public boolean updatePrayers(final Client client)
+	{
+		if (prayers == null)
+		{
+			setPrayers(new Prayers(client));
+			return true;
+		}
+
+		boolean changed = false;
+		for (final PrayerSprites prayer : PrayerSprites.values())
+		{
+			if (prayers.updatePrayerState(prayer, client))
+			{
+				if (changedPrayers == null)
+				{
+					changedPrayers = EnumSet.noneOf(Prayer.class);
+				}
+
+				changedPrayers.add(prayer.getPrayer());
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	private void skillChanged(final Skill skill)
+	{
+		if (changedSkills == null)
+		{
+			changedSkills = EnumSet.noneOf(Skill.class);
+		}
+
+		changedSkills.add(skill);
+	}
+
+	/**
+	 * Forgets all changes, should be called whenever the whole player is sent.
+	 */
+	public void clearChanges()
+	{
+		changes = 0;
+		if (changedSkills != null)
+		{
+			changedSkills.clear();
+		}
+		if (changedPrayers != null)
+		{
+			changedPrayers.clear();
+		}
+
+		sentInventory = inventory;
+		sentEquipment = equipment;
+	}
+
+	/**
+	 * Collects all changes made since the last update or snapshot and increases the version.
+	 *
+	 * @return the update to send, or null if nothing changed
+	 */
+	public PartyPlayerUpdate createUpdate()
+	{
+		final PartyPlayerUpdate update = new PartyPlayerUpdate();
+		boolean changed = false;
+
+		if ((changes & USERNAME_CHANGED) != 0 && username != null)
+		{
+			update.setUsername(username);
+			changed = true;
+		}
+
+		if (stats != null)
+		{
+			if ((changes & SPECIAL_CHANGED) != 0)
+			{
+				update.setSpecialPercent(stats.getSpecialPercent());
+				changed = true;
+			}
+
+			if ((changes & RUN_ENERGY_CHANGED) != 0)
+			{
+				update.setRunEnergy(stats.getRunEnergy());
+				changed = true;
+			}
+
+			if ((changes & TOTAL_LEVEL_CHANGED) != 0)
+			{
+				update.setTotalLevel(stats.getTotalLevel());
+				changed = true;
+			}
+
+			if (changedSkills != null)
+			{
+				for (final Skill skill : changedSkills)
+				{
+					update.putSkill(skill, getSkillRealLevel(skill), getSkillBoostedLevel(skill));
+					changed = true;
+				}
+			}
+		}
+
+		if ((changes & INVENTORY_CHANGED) != 0 && inventory != null)
+		{
+			update.setInventory(PartyPlayerUpdate.ItemPatch.create(sentInventory == null ? new GameItem[0] : sentInventory, inventory));
+			changed |= update.getInventory() != null;
+		}
+
+		if ((changes & EQUIPMENT_CHANGED) != 0 && equipment != null)
+		{
+			update.setEquipment(PartyPlayerUpdate.ItemPatch.create(sentEquipment == null ? new GameItem[0] : sentEquipment, equipment));
+			changed |= update.getEquipment() != null;
+		}
+
+		if (prayers != null)
+		{
+			for (final PrayerData data : prayers.getPrayerData().values())
+			{
+				if ((changes & ALL_PRAYERS_CHANGED) != 0 || (changedPrayers != null && changedPrayers.contains(data.getPrayer())))
+				{
+					update.addPrayer(data);
+					changed = true;
+				}
+			}
+		}
+
+		clearChanges();
+
+		if (!changed)
+		{
+			return null;
+		}
+
+		version++;
+		update.setMemberId(getMemberId());
+		update.setVersion(version);
+		return update;
+	}
+
+	/**
+	 * Applies an update received from the party member this player belongs to. This player is left untouched, so it
+	 * can still be read while the update is applied.
+	 *
+	 * @return a copy of this player with the update applied, or null if the update couldn't be applied and a new
+	 * snapshot of the player is needed
+	 */
+	public PartyPlayer withUpdate(final PartyPlayerUpdate update)
+	{
+		if (update.getVersion() != version + 1)
+		{
+			return null;
+		}
+
+		final boolean hasStats = update.getSpecialPercent() != null || update.getRunEnergy() != null
+			|| update.getTotalLevel() != null || update.getBaseLevels() != null;
+		if ((hasStats && stats == null) || (update.getPrayers() != null && prayers == null))
+		{
+			return null;
+		}
+
+		final PartyPlayer player = new PartyPlayer(this);
+		player.applyUpdate(update);
+		return player;
+	}
+
+	private void applyUpdate(final PartyPlayerUpdate update)
+	{
+		version = update.getVersion();
+
+		if (update.getUsername() != null)
+		{
+			username = update.getUsername();
+		}
+
+		if (stats != null)
+		{
+			if (update.getSpecialPercent() != null)
+			{
+				stats.setSpecialPercent(update.getSpecialPercent());
+			}
+
+			if (update.getRunEnergy() != null)
+			{
+				stats.setRunEnergy(update.getRunEnergy());
+			}
+
+			if (update.getTotalLevel() != null)
+			{
+				stats.setTotalLevel(update.getTotalLevel());
+			}
+
+			if (update.getBaseLevels() != null)
+			{
+				stats.getBaseLevels().putAll(update.getBaseLevels());
+			}
+
+			if (update.getBoostedLevels() != null)
+			{
+				stats.getBoostedLevels().putAll(update.getBoostedLevels());
+			}
+		}
+
+		if (update.getInventory() != null)
+		{
+			inventory = update.getInventory().apply(inventory);
+		}
+
+		if (update.getEquipment() != null)
+		{
+			equipment = update.getEquipment().apply(equipment);
+		}
+
+		if (update.getPrayers() != null)
+		{
+			for (final PrayerData data : update.getPrayers())
+			{
+				prayers.getPrayerData().put(data.getPrayer(), data);
+			}
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package net.runelite.client.plugins.partypanel.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import net.runelite.api.Skill;
+import net.runelite.http.api.ws.messages.party.PartyMemberMessage;
+
+/**
+ * The changes made to a {@link PartyPlayer} since the previous update, fields that didn't change are left null.
+ * <p>
+ * Every update increases the version of the player by one, so members can tell when they missed an update
+ * and need a new snapshot of the player.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class PartyPlayerUpdate extends PartyMemberMessage
+{
+	private int version;
+	private String username;
+	private Integer specialPercent;
+	private Integer runEnergy;
+	private Integer totalLevel;
+	private Map<Skill, Integer> baseLevels;
+	private Map<Skill, Integer> boostedLevels;
+	private ItemPatch inventory;
+	private ItemPatch equipment;
+	private List<PrayerData> prayers;
+
+	void putSkill(final Skill skill, final int baseLevel, final int boostedLevel)
+	{
+		if (baseLevels == null)
+		{
+			baseLevels = new EnumMap<>(Skill.class);
+			boostedLevels = new EnumMap<>(Skill.class);
+		}
+
+		baseLevels.put(skill, baseLevel);
+		boostedLevels.put(skill, boostedLevel);
+	}
+
+	void addPrayer(final PrayerData data)
+	{
+		if (prayers == null)
+		{
+			prayers = new ArrayList<>();
+		}
+
+		prayers.add(new PrayerData(data.getPrayer(), data.isAvailable(), data.isActivated()));
+	}
+
+	/**
+	 * The slots of an item container that changed, along with the new size of the container.
+	 */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class ItemPatch
+	{
+		private int size;
+		private int[] slots;
+		private GameItem[] items;
+
+		/**
+		 * @return the changed slots, or null if both containers hold the same items
+		 */
+		static ItemPatch create(final GameItem[] previous, final GameItem[] current)
+		{
+			final int[] slots = new int[current.length];
+			int count = 0;
+			for (int i = 0; i < current.length; i++)
+			{
+				if (i >= previous.length || !Objects.equals(previous[i], current[i]))
+				{
+					slots[count++] = i;
+				}
+			}
+
+			if (count == 0 && previous.length == current.length)
+			{
+				return null;
+			}
+
+			final GameItem[] items = new GameItem[count];
+			for (int i = 0; i < count; i++)
+			{
+				items[i] = current[slots[i]];
+			}
+
+			return new ItemPatch(current.length, Arrays.copyOf(slots, count), items);
+		}
+
+		/**
+		 * @return a copy of the container with the changes applied
+		 */
+		GameItem[] apply(final GameItem[] previous)
+		{
+			final GameItem[] result = Arrays.copyOf(previous == null ? new GameItem[0] : previous, size);
+			if (slots == null || items == null)
+			{
+				return result;
+			}
+
+			for (int i = 0; i < slots.length && i < items.length; i++)
+			{
+				if (slots[i] < size)
+				{
+					result[slots[i]] = items[i];
+				}
+			}
+
+			return result;
+		}
+	}
+}
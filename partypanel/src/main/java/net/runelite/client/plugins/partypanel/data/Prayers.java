@@ -60,6 +60,14 @@ public class Prayers
 		}
 	}
 
+	public Prayers(final Prayers other)
+	{
+		for (final PrayerData data : other.prayerData.values())
+		{
+			prayerData.put(data.getPrayer(), new PrayerData(data.getPrayer(), data.isAvailable(), data.isActivated()));
+		}
+	}
+
 	public boolean updatePrayerState(final PrayerSprites p, final Client client)
 	{
 		boolean changed = false;
@@ -68,4 +68,14 @@ public class Stats
 		totalLevel = client.getTotalLevel();
 		runEnergy = client.getEnergy();
 	}
+
+	public Stats(final Stats other)
+	{
+		baseLevels.putAll(other.baseLevels);
+		boostedLevels.putAll(other.boostedLevels);
+		specialPercent = other.specialPercent;
+		runEnergy = other.runEnergy;
+		combatLevel = other.combatLevel;
+		totalLevel = other.totalLevel;
+	}
 }
\ No newline at end of file
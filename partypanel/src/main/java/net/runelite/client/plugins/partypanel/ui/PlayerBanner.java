@@ -65,6 +65,8 @@ public class PlayerBanner extends JPanel
 	@Getter
 	private PartyPlayer player;
 	private boolean checkIcon;
+	// Text of the username label, used to tell when the panel has to be recreated
+	private String usernameText;
 
 	public PlayerBanner(final PartyPlayer player, SpriteManager spriteManager)
 	{
@@ -124,15 +126,8 @@ public class PlayerBanner extends JPanel
 
 		final JLabel usernameLabel = new JLabel();
 		usernameLabel.setHorizontalTextPosition(JLabel.LEFT);
-		if (player.getUsername() == null)
-		{
-			usernameLabel.setText("Not logged in");
-		}
-		else
-		{
-			final String levelText = player.getStats() == null ? "" : " (Lvl - " + player.getStats().getCombatLevel() + ")";
-			usernameLabel.setText(player.getUsername() + levelText);
-		}
+		usernameText = createUsernameText();
+		usernameLabel.setText(usernameText);
 
 		final JLabel discordNameLabel = new JLabel(player.getMember().getName());
 		discordNameLabel.setHorizontalTextPosition(JLabel.LEFT);
@@ -155,6 +150,32 @@ public class PlayerBanner extends JPanel
 		repaint();
 	}
 
+	private String createUsernameText()
+	{
+		if (player.getUsername() == null)
+		{
+			return "Not logged in";
+		}
+
+		final String levelText = player.getStats() == null ? "" : " (Lvl - " + player.getStats().getCombatLevel() + ")";
+		return player.getUsername() + levelText;
+	}
+
+	/**
+	 * Shows the current state of the player, the panel is only recreated if the username changed.
+	 */
+	public void refresh()
+	{
+		if (!createUsernameText().equals(usernameText))
+		{
+			recreatePanel();
+		}
+		else
+		{
+			refreshStats();
+		}
+	}
+
 	private void addIcon()
 	{
 		final BufferedImage resized = ImageUtil.resizeImage(player.getMember().getAvatar(), Constants.ITEM_SPRITE_WIDTH, Constants.ITEM_SPRITE_HEIGHT);
@@ -172,13 +193,28 @@ public class PlayerBanner extends JPanel
 			}
 		}
 
-		statLabels.getOrDefault(Skill.HITPOINTS.getName(), new JLabel()).setText(String.valueOf(player.getSkillBoostedLevel(Skill.HITPOINTS)));
-		statLabels.getOrDefault(Skill.PRAYER.getName(), new JLabel()).setText(String.valueOf(player.getSkillBoostedLevel(Skill.PRAYER)));
-		statLabels.getOrDefault(SPECIAL_ATTACK_NAME, new JLabel()).setText(player.getStats() == null ? "0%" : player.getStats().getSpecialPercent() + "%");
-		statLabels.getOrDefault(RUN_ENERGY_NAME, new JLabel()).setText(player.getStats() == null ? "0%" : String.valueOf(player.getStats().getRunEnergy()) + "%");
+		boolean changed = updateStatLabel(Skill.HITPOINTS.getName(), String.valueOf(player.getSkillBoostedLevel(Skill.HITPOINTS)));
+		changed |= updateStatLabel(Skill.PRAYER.getName(), String.valueOf(player.getSkillBoostedLevel(Skill.PRAYER)));
+		changed |= updateStatLabel(SPECIAL_ATTACK_NAME, player.getStats() == null ? "0%" : player.getStats().getSpecialPercent() + "%");
+		changed |= updateStatLabel(RUN_ENERGY_NAME, player.getStats() == null ? "0%" : String.valueOf(player.getStats().getRunEnergy()) + "%");
+
+		if (changed)
+		{
+			statsPanel.revalidate();
+			statsPanel.repaint();
+		}
+	}
+
+	private boolean updateStatLabel(final String name, final String text)
+	{
+		final JLabel label = statLabels.get(name);
+		if (label == null || text.equals(label.getText()))
+		{
+			return false;
+		}
 
-		statsPanel.revalidate();
-		statsPanel.repaint();
+		label.setText(text);
+		return true;
 	}
 
 	private JPanel createIconPanel(final SpriteManager spriteManager, final int spriteID, final String name, final String value)
@@ -26,7 +26,11 @@ package net.runelite.client.plugins.partypanel.ui;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import javax.swing.BorderFactory;
+import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.border.Border;
@@ -34,6 +38,7 @@ import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.partypanel.data.GameItem;
 import net.runelite.client.ui.DynamicGridLayout;
 import net.runelite.client.ui.PluginPanel;
+import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.client.util.QuantityFormatter;
 
 public class PlayerInventoryPanel extends JPanel
@@ -47,7 +52,12 @@ public class PlayerInventoryPanel extends JPanel
 		BorderFactory.createEmptyBorder(2, 2, 2, 2)
 	);
 
+	private static final int INVENTORY_SIZE = 28;
+
 	private final ItemManager itemManager;
+	private final List<JLabel> slots = new ArrayList<>();
+	// Items currently shown in each slot
+	private GameItem[] shownItems = new GameItem[0];
 
 	public PlayerInventoryPanel(final GameItem[] items, final ItemManager itemManager)
 	{
@@ -63,43 +73,74 @@ public class PlayerInventoryPanel extends JPanel
 		updateInventory(items);
 	}
 
+	/**
+	 * Updates the slots whose item changed since the last update, the other slots are left alone.
+	 */
 	public void updateInventory(final GameItem[] items)
 	{
-		this.removeAll();
-
-		for (final GameItem i : items)
+		final int slotCount = Math.max(items.length, INVENTORY_SIZE);
+		final boolean added = slots.size() < slotCount;
+		while (slots.size() < slotCount)
 		{
 			final JLabel label = new JLabel();
 			label.setMinimumSize(INVI_SLOT_SIZE);
 			label.setPreferredSize(INVI_SLOT_SIZE);
 			label.setVerticalAlignment(JLabel.CENTER);
 			label.setHorizontalAlignment(JLabel.CENTER);
+			slots.add(label);
+			add(label);
+		}
 
-			if (i != null)
+		final GameItem[] previousItems = shownItems;
+		shownItems = items;
+
+		for (int slot = 0; slot < slots.size(); slot++)
+		{
+			final GameItem item = getItem(items, slot);
+			if (!Objects.equals(item, getItem(previousItems, slot)))
 			{
-				String name = i.getName();
-				if (i.getQty() > 1)
-				{
-					name += " x " + QuantityFormatter.formatNumber(i.getQty());
-				}
-				label.setToolTipText(name);
-				itemManager.getImage(i.getId(), i.getQty(), i.isStackable()).addTo(label);
+				updateSlot(slot, item);
 			}
+		}
 
-			add(label);
+		if (added)
+		{
+			revalidate();
+			repaint();
 		}
+	}
 
-		for (int i = getComponentCount(); i < 28; i++)
+	private void updateSlot(final int slot, final GameItem item)
+	{
+		final JLabel label = slots.get(slot);
+		if (item == null)
 		{
-			final JLabel label = new JLabel();
-			label.setMinimumSize(INVI_SLOT_SIZE);
-			label.setPreferredSize(INVI_SLOT_SIZE);
-			label.setVerticalAlignment(JLabel.CENTER);
-			label.setHorizontalAlignment(JLabel.CENTER);
-			add(label);
+			label.setIcon(null);
+			label.setToolTipText(null);
+			return;
+		}
+
+		String name = item.getName();
+		if (item.getQty() > 1)
+		{
+			name += " x " + QuantityFormatter.formatNumber(item.getQty());
 		}
+		label.setToolTipText(name);
 
-		revalidate();
-		repaint();
+		final AsyncBufferedImage image = itemManager.getImage(item.getId(), item.getQty(), item.isStackable());
+		label.setIcon(new ImageIcon(image));
+		image.onLoaded(() ->
+		{
+			// The slot may have changed again before the image loaded
+			if (item.equals(getItem(shownItems, slot)))
+			{
+				label.setIcon(new ImageIcon(image));
+			}
+		});
+	}
+
+	private static GameItem getItem(final GameItem[] items, final int slot)
+	{
+		return slot < items.length ? items[slot] : null;
 	}
 }
\ No newline at end of file
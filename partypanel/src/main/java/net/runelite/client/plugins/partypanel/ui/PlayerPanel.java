@@ -27,6 +27,7 @@ package net.runelite.client.plugins.partypanel.ui;
 import java.awt.Dimension;
 import java.awt.image.BufferedImage;
 import java.util.Map;
+import java.util.Objects;
 import javax.swing.ImageIcon;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
@@ -123,7 +124,9 @@ public class PlayerPanel extends JPanel
 		return new ImageIcon(ImageUtil.resizeImage(image, IMAGE_SIZE.width, IMAGE_SIZE.height));
 	}
 
-	// TODO add smarter ways to update data
+	/**
+	 * Shows the given player, only the parts of the panel that changed since the last call are updated.
+	 */
 	public void changePlayer(final PartyPlayer newPlayer)
 	{
 		final boolean newUser = !newPlayer.getMemberId().equals(player.getMemberId());
@@ -141,6 +144,12 @@ public class PlayerPanel extends JPanel
 			}
 
 			final EquipmentPanelSlot slot = this.equipmentPanel.getPanelMap().get(equipSlot);
+			// Slots are created once their sprites have loaded
+			if (slot == null || Objects.equals(slot.getItem(), item))
+			{
+				continue;
+			}
+
 			if (item != null)
 			{
 				final AsyncBufferedImage img = itemManager.getImage(item.getId(), item.getQty(), item.isStackable());
@@ -148,7 +157,14 @@ public class PlayerPanel extends JPanel
 
 				// Ensure item is set when image loads
 				final GameItem finalItem = item;
-				img.onLoaded(() -> slot.setGameItem(finalItem, img));
+				img.onLoaded(() ->
+				{
+					// The slot may have changed again before the image loaded
+					if (finalItem.equals(slot.getItem()))
+					{
+						slot.setGameItem(finalItem, img);
+					}
+				});
 			}
 			else
 			{
@@ -160,10 +176,13 @@ public class PlayerPanel extends JPanel
 		{
 			banner.recreatePanel();
 		}
+		else
+		{
+			banner.refresh();
+		}
 
 		if (player.getStats() != null)
 		{
-			banner.refreshStats();
 			for (final Skill s : Skill.values())
 			{
 				if (s.equals(Skill.OVERALL))
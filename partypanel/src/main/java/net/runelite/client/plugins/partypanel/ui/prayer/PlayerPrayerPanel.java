@@ -63,6 +63,8 @@ public class PlayerPrayerPanel extends JPanel
 	@Getter
 	private final Map<Prayer, PrayerSlot> slotMap = new HashMap<>();
 	private final JLabel remainingLabel = new JLabel();
+	private int remaining = -1;
+	private int maximum = -1;
 
 	public PlayerPrayerPanel(final PartyPlayer player, final SpriteManager spriteManager)
 	{
@@ -159,6 +161,13 @@ public class PlayerPrayerPanel extends JPanel
 
 	public void updatePrayerRemaining(final int remaining, final int maximum)
 	{
+		if (this.remaining == remaining && this.maximum == maximum)
+		{
+			return;
+		}
+
+		this.remaining = remaining;
+		this.maximum = maximum;
 		remainingLabel.setText(remaining + "/" + maximum);
 	}
 }
\ No newline at end of file
@@ -68,7 +68,7 @@ public class PrayerSlot extends JLabel
 		setMaximumSize(SIZE);
 		setMinimumSize(SIZE);
 
-		updatePrayerData(data);
+		updateIcon();
 	}
 
 	private void updateActivatedImage()
@@ -76,7 +76,7 @@ public class PrayerSlot extends JLabel
 		if (availableImage != null && activatedImage != null)
 		{
 			activatedImage = ImgUtil.overlapImages(availableImage, activatedImage);
-			updatePrayerData(data);
+			updateIcon();
 		}
 	}
 
@@ -87,8 +87,19 @@ public class PrayerSlot extends JLabel
 			return;
 		}
 
+		// Nothing to redraw if the prayer didn't change
+		if (data.isAvailable() == updatedData.isAvailable() && data.isActivated() == updatedData.isActivated())
+		{
+			data = updatedData;
+			return;
+		}
+
 		data = updatedData;
+		updateIcon();
+	}
 
+	private void updateIcon()
+	{
 		BufferedImage icon = data.isAvailable() ? availableImage : unavailableImage;
 		if (data.isActivated())
 		{
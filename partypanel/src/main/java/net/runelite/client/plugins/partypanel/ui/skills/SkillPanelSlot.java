@@ -48,6 +48,8 @@ public class SkillPanelSlot extends JPanel
 
 	private final JLabel boostedLabel = new JLabel();
 	private final JLabel baseLabel = new JLabel();
+	private int boostedLevel;
+	private int baseLevel;
 	private BufferedImage background;
 	private BufferedImage skillHalf;
 	private BufferedImage statHalf;
@@ -93,6 +95,9 @@ public class SkillPanelSlot extends JPanel
 		c.weightx = 1;
 		c.fill = GridBagConstraints.BOTH;
 
+		this.boostedLevel = boostedLevel;
+		this.baseLevel = baseLevel;
+
 		boostedLabel.setText(String.valueOf(boostedLevel));
 		boostedLabel.setVerticalAlignment(JLabel.CENTER);
 		boostedLabel.setHorizontalAlignment(JLabel.LEFT);
@@ -137,12 +142,24 @@ public class SkillPanelSlot extends JPanel
 
 	public void updateBaseLevel(final int baseLevel)
 	{
+		if (this.baseLevel == baseLevel)
+		{
+			return;
+		}
+
+		this.baseLevel = baseLevel;
 		baseLabel.setText(String.valueOf(baseLevel));
 		baseLabel.repaint();
 	}
 
 	public void updateBoostedLevel(final int boostedLevel)
 	{
+		if (this.boostedLevel == boostedLevel)
+		{
+			return;
+		}
+
+		this.boostedLevel = boostedLevel;
 		boostedLabel.setText(String.valueOf(boostedLevel));
 		boostedLabel.repaint();
 	}
@@ -39,6 +39,7 @@ import net.runelite.client.ui.FontManager;
 public class TotalPanelSlot extends JPanel
 {
 	private final JLabel levelLabel = new JLabel();
+	private int totalLevel;
 	private BufferedImage background;
 	private BufferedImage skillHalf;
 	private BufferedImage statHalf;
@@ -91,6 +92,7 @@ public class TotalPanelSlot extends JPanel
 		textLabel.setForeground(Color.YELLOW);
 		add(textLabel, c);
 
+		this.totalLevel = totalLevel;
 		if (totalLevel > 0)
 		{
 			levelLabel.setText(String.valueOf(totalLevel));
@@ -103,6 +105,12 @@ public class TotalPanelSlot extends JPanel
 
 	public void updateTotalLevel(final int level)
 	{
+		if (totalLevel == level)
+		{
+			return;
+		}
+
+		totalLevel = level;
 		levelLabel.setText(String.valueOf(level));
 		levelLabel.repaint();
 	}
@@ -0,0 +1,172 @@
+package net.runelite.client.plugins.probabilitycalculator;
+
+import lombok.Getter;
+
+/**
+ * The chance of every amount of drops over a number of kills.
+ * <p>
+ * The probability of the most likely amount is computed in log space, and every other amount follows from its
+ * neighbour by the ratio of consecutive binomial terms. Nothing is multiplied out to a full binomial coefficient, so
+ * large kill counts neither overflow nor lose precision. Only the amounts whose chance doesn't underflow are kept,
+ * every other amount has a chance of zero as far as a double can tell. Both tails are summed from their own end so
+ * tiny chances in either direction don't vanish in a subtraction from one.
+ */
+class BinomialDistribution
+{
+	// Relative to the most likely amount, smaller chances underflow anyway
+	private static final double MIN_RELATIVE_CHANCE = 1e-320;
+	// Factorials below this are summed exactly, larger ones use Stirling's series
+	private static final int LOG_FACTORIAL_TABLE_SIZE = 256;
+	private static final double[] LOG_FACTORIALS = new double[LOG_FACTORIAL_TABLE_SIZE];
+
+	static
+	{
+		for (int i = 1; i < LOG_FACTORIAL_TABLE_SIZE; i++)
+		{
+			LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+		}
+	}
+
+	@Getter
+	private final double dropRate;
+	@Getter
+	private final int killCount;
+	// Lowest and highest amount of drops with a chance above zero
+	@Getter
+	private final int lowest;
+	@Getter
+	private final int highest;
+	private final double[] pmf;
+	// Chance of at most lowest + i drops, and of at least lowest + i drops
+	private final double[] lowerTail;
+	private final double[] upperTail;
+
+	BinomialDistribution(final double dropRate, final int killCount)
+	{
+		this.dropRate = dropRate;
+		this.killCount = killCount;
+
+		if (dropRate <= 0.0 || dropRate >= 1.0)
+		{
+			// Every kill either never or always drops the item
+			final int amount = dropRate <= 0.0 ? 0 : killCount;
+			lowest = amount;
+			highest = amount;
+			pmf = new double[]{1.0};
+			lowerTail = new double[]{1.0};
+			upperTail = new double[]{1.0};
+			return;
+		}
+
+		final int mode = (int) Math.min(killCount, Math.floor((killCount + 1.0) * dropRate));
+		final double odds = dropRate / (1.0 - dropRate);
+
+		// Walk down from the mode, then up, while the chance is still representable
+		int low = mode;
+		double chance = 1.0;
+		while (low > 0)
+		{
+			chance *= low / ((killCount - low + 1) * odds);
+			if (chance < MIN_RELATIVE_CHANCE)
+			{
+				break;
+			}
+			low--;
+		}
+
+		int high = mode;
+		chance = 1.0;
+		while (high < killCount)
+		{
+			chance *= (killCount - high) * odds / (high + 1);
+			if (chance < MIN_RELATIVE_CHANCE)
+			{
+				break;
+			}
+			high++;
+		}
+
+		lowest = low;
+		highest = high;
+		pmf = new double[high - low + 1];
+
+		final double modeChance = Math.exp(logChance(mode));
+		pmf[mode - low] = modeChance;
+		for (int k = mode; k > low; k--)
+		{
+			pmf[k - 1 - low] = pmf[k - low] * k / ((killCount - k + 1) * odds);
+		}
+		for (int k = mode; k < high; k++)
+		{
+			pmf[k + 1 - low] = pmf[k - low] * (killCount - k) * odds / (k + 1);
+		}
+
+		lowerTail = new double[pmf.length];
+		double sum = 0;
+		for (int i = 0; i < pmf.length; i++)
+		{
+			sum += pmf[i];
+			lowerTail[i] = sum;
+		}
+
+		upperTail = new double[pmf.length];
+		sum = 0;
+		for (int i = pmf.length - 1; i >= 0; i--)
+		{
+			sum += pmf[i];
+			upperTail[i] = sum;
+		}
+	}
+
+	/**
+	 * @return the chance of exactly this many drops
+	 */
+	double pmf(final int drops)
+	{
+		return drops < lowest || drops > highest ? 0.0 : pmf[drops - lowest];
+	}
+
+	/**
+	 * @return the chance of at most this many drops
+	 */
+	double atMost(final int drops)
+	{
+		if (drops < lowest)
+		{
+			return 0.0;
+		}
+		return drops >= highest ? 1.0 : Math.min(1.0, lowerTail[drops - lowest]);
+	}
+
+	/**
+	 * @return the chance of at least this many drops
+	 */
+	double atLeast(final int drops)
+	{
+		if (drops > highest)
+		{
+			return 0.0;
+		}
+		return drops <= lowest ? 1.0 : Math.min(1.0, upperTail[drops - lowest]);
+	}
+
+	// log(n choose k) + k log(p) + (n - k) log(1 - p)
+	private double logChance(final int drops)
+	{
+		final double logChoose = logFactorial(killCount) - logFactorial(drops) - logFactorial(killCount - drops);
+		return logChoose + drops * Math.log(dropRate) + (killCount - drops) * Math.log1p(-dropRate);
+	}
+
+	private static double logFactorial(final int n)
+	{
+		if (n < LOG_FACTORIAL_TABLE_SIZE)
+		{
+			return LOG_FACTORIALS[n];
+		}
+
+		final double x = n;
+		final double x2 = x * x;
+		return x * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI * x)
+			+ (1.0 / 12 - (1.0 / 360 - 1.0 / (1260 * x2)) / x2) / x;
+	}
+}
@@ -0,0 +1,176 @@
+package net.runelite.client.plugins.probabilitycalculator;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import javax.swing.ToolTipManager;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+
+/**
+ * Bar chart of the chance of every amount of drops. Hovering a bar shows its chances, clicking a bar uses it as the
+ * amount of drops received.
+ */
+class ProbabilityCalculatorChart extends JPanel
+{
+	// Amounts less likely than this fraction of the most likely amount are left off the chart
+	private static final double MIN_VISIBLE_CHANCE = 1e-3;
+	private static final int LABEL_HEIGHT = 14;
+
+	private final DoubleFunction<String> chanceFormatter;
+
+	private BinomialDistribution distribution;
+	private int selected;
+	// Range of amounts on the chart
+	private int start;
+	private int end;
+
+	/**
+	 * @param chanceFormatter formats a chance as a percentage
+	 * @param onSelect        called with the amount of drops of the clicked bar
+	 */
+	ProbabilityCalculatorChart(final DoubleFunction<String> chanceFormatter, final Consumer<Integer> onSelect)
+	{
+		this.chanceFormatter = chanceFormatter;
+
+		setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		setBorder(BorderFactory.createLineBorder(ColorScheme.DARK_GRAY_COLOR, 5));
+		setPreferredSize(new Dimension(0, 120));
+		ToolTipManager.sharedInstance().registerComponent(this);
+
+		addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				final int amount = getAmountAt(e.getX());
+				if (amount >= 0)
+				{
+					onSelect.accept(amount);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @param distribution the distribution to draw, null to draw nothing
+	 * @param selected     the amount of drops received, bars of at least this amount are highlighted
+	 */
+	void setDistribution(final BinomialDistribution distribution, final int selected)
+	{
+		this.distribution = distribution;
+		this.selected = selected;
+
+		if (distribution != null)
+		{
+			double max = 0;
+			for (int k = distribution.getLowest(); k <= distribution.getHighest(); k++)
+			{
+				max = Math.max(max, distribution.pmf(k));
+			}
+
+			start = distribution.getLowest();
+			while (start < distribution.getHighest() && distribution.pmf(start) < max * MIN_VISIBLE_CHANCE)
+			{
+				start++;
+			}
+			end = distribution.getHighest();
+			while (end > start && distribution.pmf(end) < max * MIN_VISIBLE_CHANCE)
+			{
+				end--;
+			}
+
+			// Show the amount received as well, as long as that doesn't squash the rest of the chart
+			final int span = end - start + 1;
+			if (selected < start && start - selected <= span)
+			{
+				start = Math.max(0, selected);
+			}
+			else if (selected > end && selected - end <= span)
+			{
+				end = Math.min(selected, distribution.getKillCount());
+			}
+		}
+
+		repaint();
+	}
+
+	@Override
+	protected void paintComponent(Graphics g)
+	{
+		super.paintComponent(g);
+		if (distribution == null)
+		{
+			return;
+		}
+
+		final int x = getInsets().left;
+		final int y = getInsets().top;
+		final int width = getWidth() - getInsets().left - getInsets().right;
+		final int height = getHeight() - getInsets().top - getInsets().bottom - LABEL_HEIGHT;
+		final int amounts = end - start + 1;
+
+		double max = 0;
+		for (int k = start; k <= end; k++)
+		{
+			max = Math.max(max, distribution.pmf(k));
+		}
+
+		if (max <= 0 || width <= 0 || height <= 0)
+		{
+			return;
+		}
+
+		for (int k = start; k <= end; k++)
+		{
+			final int left = x + (int) ((long) (k - start) * width / amounts);
+			final int right = x + (int) ((long) (k - start + 1) * width / amounts);
+			final int barHeight = (int) Math.round(distribution.pmf(k) / max * height);
+
+			g.setColor(k == selected ? Color.WHITE : k > selected ? ColorScheme.BRAND_ORANGE : ColorScheme.LIGHT_GRAY_COLOR);
+			// Leave a gap between bars when there's room for it
+			g.fillRect(left, y + height - barHeight, Math.max(1, right - left - (amounts < width / 3 ? 1 : 0)), barHeight);
+		}
+
+		g.setFont(FontManager.getRunescapeSmallFont());
+		g.setColor(Color.WHITE);
+		final int baseline = y + height + LABEL_HEIGHT - 2;
+		g.drawString(String.valueOf(start), x, baseline);
+		final String last = String.valueOf(end);
+		g.drawString(last, x + width - g.getFontMetrics().stringWidth(last), baseline);
+	}
+
+	@Override
+	public String getToolTipText(MouseEvent e)
+	{
+		final int amount = getAmountAt(e.getX());
+		if (amount < 0)
+		{
+			return null;
+		}
+
+		return "<html>" + amount + " drop(s)"
+			+ "<br/>Exactly: " + chanceFormatter.apply(distribution.pmf(amount)) + "%"
+			+ "<br/>At least: " + chanceFormatter.apply(distribution.atLeast(amount)) + "%"
+			+ "<br/>At most: " + chanceFormatter.apply(distribution.atMost(amount)) + "%</html>";
+	}
+
+	// Amount of drops of the bar at this x coordinate, -1 if there is none
+	private int getAmountAt(final int mouseX)
+	{
+		final int width = getWidth() - getInsets().left - getInsets().right;
+		final int offset = mouseX - getInsets().left;
+		if (distribution == null || width <= 0 || offset < 0 || offset >= width)
+		{
+			return -1;
+		}
+
+		return start + (int) ((long) offset * (end - start + 1) / width);
+	}
+}
@@ -19,14 +19,17 @@ public class ProbabilityCalculatorInputArea extends JPanel
 	private final JTextField uiDropRate;
 	private final JTextField uiKillCount;
 	private final JTextField uiDropsReceived;
+	private final JTextField uiSetDropRates;
 
 	ProbabilityCalculatorInputArea()
 	{
-		setLayout(new GridLayout(3, 1, 0, 4));
+		setLayout(new GridLayout(4, 1, 0, 4));
 
 		uiDropRate = addComponent("Drop Rate:");
 		uiKillCount = addComponent("Kill Count:");
 		uiDropsReceived = addComponent("Drops Received:");
+		uiSetDropRates = addComponent("Set Drop Rates:");
+		uiSetDropRates.setToolTipText("Comma separated drop rates of the items in a set, such as 1/128, 1/128, 1/256");
 	}
 
 	double getDropRateInput()
@@ -59,16 +62,41 @@ public class ProbabilityCalculatorInputArea extends JPanel
 		setInput(uiDropsReceived, value);
 	}
 
+	/**
+	 * @return the drop rate of every item in the set, empty if there is no set
+	 */
+	double[] getSetDropRatesInput()
+	{
+		final String text = uiSetDropRates.getText().trim();
+		if (text.isEmpty())
+		{
+			return new double[0];
+		}
+
+		final String[] rates = text.split(",");
+		final double[] values = new double[rates.length];
+		for (int i = 0; i < rates.length; i++)
+		{
+			values[i] = parseInput(rates[i].trim());
+		}
+		return values;
+	}
+
 	private double getInput(JTextField field)
+	{
+		return parseInput(field.getText());
+	}
+
+	private static double parseInput(String text)
 	{
 		try
 		{
-			if (field.getText().contains("/"))
+			if (text.contains("/"))
 			{
-				String[] fraction = field.getText().split("/");
+				String[] fraction = text.split("/");
 				return Double.parseDouble(fraction[0]) / Double.parseDouble(fraction[1]);
 			}
-			return Double.parseDouble(field.getText());
+			return Double.parseDouble(text);
 		}
 		catch (NumberFormatException e)
 		{
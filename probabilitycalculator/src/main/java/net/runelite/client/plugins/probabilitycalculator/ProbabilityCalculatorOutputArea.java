@@ -2,16 +2,22 @@ package net.runelite.client.plugins.probabilitycalculator;
 
 import java.awt.BorderLayout;
 import java.text.DecimalFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.Setter;
+import lombok.Value;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 
 @Setter
 public class ProbabilityCalculatorOutputArea extends JPanel
 {
+	private static final int MAX_CACHED_DISTRIBUTIONS = 8;
 
 	private JTextArea textArea;
 	private double atLeastChance;
@@ -27,6 +33,28 @@ public class ProbabilityCalculatorOutputArea extends JPanel
 	private DecimalFormat df;
 	private String dfPattern;
 	private final ProbabilityCalculatorConfig config;
+	private double[] setDropRates = new double[0];
+	// Null while the chance to complete the set is still being calculated
+	private SetCompletion.Result setCompletion;
+
+	@Getter
+	@Setter(AccessLevel.NONE)
+	private BinomialDistribution distribution;
+	private final Map<DistributionKey, BinomialDistribution> distributions = new LinkedHashMap<DistributionKey, BinomialDistribution>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<DistributionKey, BinomialDistribution> eldest)
+		{
+			return size() > MAX_CACHED_DISTRIBUTIONS;
+		}
+	};
+
+	@Value
+	private static class DistributionKey
+	{
+		double dropRate;
+		int killCount;
+	}
 
 	ProbabilityCalculatorOutputArea(double dropRate, int killCount, int dropsReceived, ProbabilityCalculatorConfig config)
 	{
@@ -52,31 +80,18 @@ public class ProbabilityCalculatorOutputArea extends JPanel
 
 	}
 
-	private double nCx(double n, double x)
-	{
-
-		if (x > n / 2)
-		{
-			x = n - x;
-		}
-
-		double ret = 1.0;
-		for (int i = 1; i <= x; i++)
-		{
-			ret *= (n - x + i);
-			ret /= i;
-		}
-
-		return ret;
-	}
-
-	private double binomialProb(double n, double x, double p)
+	/**
+	 * @return the distribution for this drop rate and kill count, reused while only the drops received change
+	 */
+	private BinomialDistribution getDistribution(final double dropRate, final int killCount)
 	{
-		return nCx(n, x) * Math.pow(p, x) * (Math.pow(1.0 - p, n - x));
+		return distributions.computeIfAbsent(new DistributionKey(dropRate, killCount),
+			k -> new BinomialDistribution(dropRate, killCount));
 	}
 
 	void calculateProbabilities()
 	{
+		distribution = null;
 		if (killCount < dropsReceived)
 		{
 			outputMsg = "You've somehow cheated the RNG gods and managed to get more drops than you got kills. What is this sorcery?!";
@@ -85,44 +100,70 @@ public class ProbabilityCalculatorOutputArea extends JPanel
 		{
 			outputMsg = "Please use a drop rate value between 0.0 and 1.0.";
 		}
+		else if (dropsReceived < 0)
+		{
+			outputMsg = "Please use a positive kill count and amount of drops received.";
+		}
 		else
 		{
-			exactChance = binomialProb(killCount, dropsReceived, dropRate);
-			zeroChance = Math.pow(1.0 - dropRate, killCount);
-			if (dropsReceived == 1.0)
-			{
-				atLeastChance = 1.0 - zeroChance;
-			}
-			else
-			{
-				atLeastChance = 0.0;
-				for (int i = 0; i < dropsReceived; i++)
-				{
-					atLeastChance += binomialProb(killCount, i, dropRate);
-				}
-				atLeastChance = 1.0 - atLeastChance;
-			}
-
-			strAtLeastChance = df.format(Math.abs(atLeastChance * 100.0));
-			if (strAtLeastChance.equals("0") || strAtLeastChance.equals("100"))
-			{
-				strAtLeastChance = "~" + strAtLeastChance;
-			}
-			strExactChance = df.format(Math.abs(exactChance * 100.0));
-			if (strExactChance.equals("0") || strExactChance.equals("100"))
-			{
-				strExactChance = "~" + strExactChance;
-			}
-			strZeroChance = df.format(Math.abs(zeroChance * 100.0));
-			if (strZeroChance.equals("0") || strZeroChance.equals("100"))
-			{
-				strZeroChance = "~" + strZeroChance;
-			}
+			distribution = getDistribution(dropRate, killCount);
+			exactChance = distribution.pmf(dropsReceived);
+			zeroChance = distribution.pmf(0);
+			atLeastChance = distribution.atLeast(dropsReceived);
+
+			strAtLeastChance = formatChance(atLeastChance);
+			strExactChance = formatChance(exactChance);
+			strZeroChance = formatChance(zeroChance);
 			outputMsg = "At " + killCount + " kills, " + dropsReceived + " drop(s), and a drop rate of " + dropRate + ", your chances are:\n\n" +
 				"Chance to get at least " + dropsReceived + " drop(s):\n" + strAtLeastChance + "%\n\n" +
 				"Chance to get exactly " + dropsReceived + " drop(s):\n" + strExactChance + "%\n\n" +
 				"Chance to get zero drops:\n" + strZeroChance + "%";
 		}
+
+		if (setDropRates.length > 0)
+		{
+			outputMsg += "\n\n" + getSetCompletionMessage();
+		}
+	}
+
+	private String getSetCompletionMessage()
+	{
+		double total = 0;
+		for (final double rate : setDropRates)
+		{
+			if (!SetCompletion.isValidRate(rate))
+			{
+				return "Please use set drop rates above 0.0 and at most 1.0.";
+			}
+			total += rate;
+		}
+
+		if (total > 1.0)
+		{
+			return "Please use set drop rates that add up to at most 1.0, as a kill drops at most one of them.";
+		}
+
+		final String message = "Chance to complete the set of " + setDropRates.length + " items in " + killCount + " kills:\n";
+		if (setCompletion == null)
+		{
+			return message + "Calculating...";
+		}
+
+		return message + formatChance(setCompletion.getChance()) + "%"
+			+ (setCompletion.isSimulated() ? " (estimated by simulation)" : "");
+	}
+
+	/**
+	 * @return the chance as a percentage, rounded to the configured decimal places
+	 */
+	String formatChance(final double chance)
+	{
+		final String formatted = df.format(Math.abs(chance * 100.0));
+		if (formatted.equals("0") || formatted.equals("100"))
+		{
+			return "~" + formatted;
+		}
+		return formatted;
 	}
 
 	void updateTextArea()
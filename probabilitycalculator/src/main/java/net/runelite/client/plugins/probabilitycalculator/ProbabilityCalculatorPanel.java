@@ -8,7 +8,7 @@ import net.runelite.client.ui.PluginPanel;
 
 class ProbabilityCalculatorPanel extends PluginPanel
 {
-	ProbabilityCalculatorPanel(ProbabilityCalculatorInputArea inputArea, ProbabilityCalculatorOutputArea outputArea)
+	ProbabilityCalculatorPanel(ProbabilityCalculatorInputArea inputArea, ProbabilityCalculatorOutputArea outputArea, ProbabilityCalculatorChart chart)
 	{
 		super();
 		setBorder(new EmptyBorder(10, 10, 10, 10));
@@ -25,6 +25,8 @@ class ProbabilityCalculatorPanel extends PluginPanel
 
 		add(inputArea, c);
 		c.gridy++;
+		add(chart, c);
+		c.gridy++;
 		add(outputArea, c);
 		c.gridy++;
 	}
@@ -4,8 +4,13 @@ import com.google.inject.Provides;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import javax.inject.Inject;
+import javax.swing.SwingUtilities;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -32,17 +37,30 @@ public class ProbabilityCalculatorPlugin extends Plugin
 
 	private ProbabilityCalculatorInputArea input;
 	private ProbabilityCalculatorOutputArea output;
+	private ProbabilityCalculatorChart chart;
 	private NavigationButton navButton;
 	private double dropRate = 1.0 / 5;
 	private int killCount = 20;
 	private int dropsReceived = 4;
+	private double[] setDropRates = new double[0];
+	// Set completion runs on its own thread so a long simulation never holds up the shared executor
+	private ExecutorService setCompletionExecutor;
+	private Future<?> setCompletionCalculation;
 
 	@Override
 	protected void startUp()
 	{
+		setCompletionExecutor = Executors.newSingleThreadExecutor(r ->
+		{
+			final Thread thread = new Thread(r, "Probability Calculator");
+			thread.setDaemon(true);
+			return thread;
+		});
+
 		input = new ProbabilityCalculatorInputArea();
 		output = new ProbabilityCalculatorOutputArea(dropRate, killCount, dropsReceived, config);
-		ProbabilityCalculatorPanel panel = new ProbabilityCalculatorPanel(input, output);
+		chart = new ProbabilityCalculatorChart(output::formatChance, this::onChartDropsSelected);
+		ProbabilityCalculatorPanel panel = new ProbabilityCalculatorPanel(input, output, chart);
 
 		final BufferedImage icon = ImageUtil.getResourceStreamFromClass(ProbabilityCalculatorPlugin.class, "probabilitycalculator_icon.png");
 
@@ -56,11 +74,15 @@ public class ProbabilityCalculatorPlugin extends Plugin
 		input.getUiDropsReceived().addActionListener(e -> {
 			onFieldDropsReceivedUpdated();
 		});
+		input.getUiSetDropRates().addActionListener(e -> {
+			onFieldSetDropRatesUpdated();
+		});
 
 		//Focus listeners
 		input.getUiDropRate().addFocusListener(buildFocusAdapter(e -> onFieldDropRateUpdated()));
 		input.getUiKillCount().addFocusListener(buildFocusAdapter(e -> onFieldKillCountUpdated()));
 		input.getUiDropsReceived().addFocusListener(buildFocusAdapter(e -> onFieldDropsReceivedUpdated()));
+		input.getUiSetDropRates().addFocusListener(buildFocusAdapter(e -> onFieldSetDropRatesUpdated()));
 
 		updateInputFields();
 
@@ -78,6 +100,8 @@ public class ProbabilityCalculatorPlugin extends Plugin
 	@Override
 	protected void shutDown()
 	{
+		cancelSetCompletion();
+		setCompletionExecutor.shutdownNow();
 		clientToolbar.removeNavigation(navButton);
 	}
 
@@ -99,6 +123,18 @@ public class ProbabilityCalculatorPlugin extends Plugin
 		updateInputFields();
 	}
 
+	private void onFieldSetDropRatesUpdated()
+	{
+		setDropRates = input.getSetDropRatesInput();
+		updateInputFields();
+	}
+
+	private void onChartDropsSelected(final int drops)
+	{
+		dropsReceived = drops;
+		updateInputFields();
+	}
+
 	private void updateInputFields()
 	{
 		input.setDropRateInput(dropRate);
@@ -108,7 +144,69 @@ public class ProbabilityCalculatorPlugin extends Plugin
 		output.setDropRate(dropRate);
 		output.setKillCount(killCount);
 		output.setDropsReceived(dropsReceived);
+		output.setSetDropRates(setDropRates);
+		output.setSetCompletion(null);
 		output.updateTextArea();
+
+		chart.setDistribution(output.getDistribution(), dropsReceived);
+		calculateSetCompletion();
+	}
+
+	// Simulating a large set can take a moment, so the chance is calculated off the event dispatch thread
+	private void calculateSetCompletion()
+	{
+		cancelSetCompletion();
+
+		double total = 0;
+		for (final double rate : setDropRates)
+		{
+			if (!SetCompletion.isValidRate(rate))
+			{
+				return;
+			}
+			total += rate;
+		}
+
+		if (setDropRates.length == 0 || total > 1.0 || killCount < 0)
+		{
+			return;
+		}
+
+		final double[] rates = setDropRates;
+		final int kills = killCount;
+		setCompletionCalculation = setCompletionExecutor.submit(() ->
+		{
+			// Cancelling interrupts this thread, the parallel simulation checks it on every thread it runs on
+			final Thread thread = Thread.currentThread();
+			final SetCompletion.Result result;
+			try
+			{
+				result = SetCompletion.calculate(rates, kills, thread::isInterrupted);
+			}
+			catch (CancellationException e)
+			{
+				return;
+			}
+
+			SwingUtilities.invokeLater(() ->
+			{
+				// Skip results for inputs that have changed in the meantime
+				if (rates == setDropRates && kills == killCount)
+				{
+					output.setSetCompletion(result);
+					output.updateTextArea();
+				}
+			});
+		});
+	}
+
+	private void cancelSetCompletion()
+	{
+		if (setCompletionCalculation != null)
+		{
+			setCompletionCalculation.cancel(true);
+			setCompletionCalculation = null;
+		}
 	}
 
 	private FocusAdapter buildFocusAdapter(Consumer<FocusEvent> focusLostConsumer)
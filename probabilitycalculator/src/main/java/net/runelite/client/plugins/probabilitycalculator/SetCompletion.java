@@ -0,0 +1,199 @@
+package net.runelite.client.plugins.probabilitycalculator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import lombok.Value;
+
+/**
+ * The chance of receiving every item of a set at least once within a number of kills.
+ * <p>
+ * Each kill drops at most one of the items, like a roll on a unique table. Up to {@link #MAX_EXACT_ITEMS} items the
+ * chance is exact by inclusion-exclusion over every subset of missing items. Beyond that the subsets get out of hand
+ * and the chance is estimated by simulating the kills in parallel instead.
+ */
+class SetCompletion
+{
+	static final int MAX_EXACT_ITEMS = 20;
+	private static final int SIMULATIONS = 200_000;
+	// Simulations per parallel task, each task gets its own split of the random generator
+	private static final int SIMULATIONS_PER_TASK = 5_000;
+
+	@Value
+	static class Result
+	{
+		double chance;
+		// Whether the chance was estimated by simulation rather than computed exactly
+		boolean simulated;
+	}
+
+	/**
+	 * @return whether the rate is a valid chance of an item per kill, an item that never drops can't complete a set
+	 */
+	static boolean isValidRate(final double rate)
+	{
+		return rate > 0.0 && rate <= 1.0;
+	}
+
+	/**
+	 * @param dropRates the chance of each item per kill, each one valid by {@link #isValidRate} and adding up to at
+	 *                  most one
+	 * @param cancelled polled while simulating, the calculation throws a {@link CancellationException} once it's true
+	 */
+	static Result calculate(final double[] dropRates, final int killCount, final BooleanSupplier cancelled)
+	{
+		if (dropRates.length <= MAX_EXACT_ITEMS)
+		{
+			return new Result(exact(dropRates, killCount), false);
+		}
+
+		return new Result(simulate(dropRates, killCount, new SplittableRandom(), cancelled), true);
+	}
+
+	// Sum over every subset S of (-1)^|S| (1 - sum of the rates in S)^kills, subsets are visited in gray code order
+	private static double exact(final double[] dropRates, final int killCount)
+	{
+		double chance = 0;
+		double rate = 0;
+		int size = 0;
+		final int subsets = 1 << dropRates.length;
+		for (int i = 0; i < subsets; i++)
+		{
+			if (i > 0)
+			{
+				// Gray code flips a single item in or out of the subset
+				final int item = Integer.numberOfTrailingZeros(i);
+				final boolean added = ((i ^ (i >> 1)) & (1 << item)) != 0;
+				rate += added ? dropRates[item] : -dropRates[item];
+				size += added ? 1 : -1;
+			}
+
+			final double missing = Math.exp(killCount * Math.log1p(-Math.min(1.0, Math.max(0.0, rate))));
+			chance += (size & 1) == 0 ? missing : -missing;
+		}
+
+		return Math.max(0.0, Math.min(1.0, chance));
+	}
+
+	private static double simulate(final double[] dropRates, final int killCount, final SplittableRandom random,
+		final BooleanSupplier cancelled)
+	{
+		// Fenwick tree over the rates, so the item of a drop is found and removed in logarithmic time
+		final double[] tree = new double[dropRates.length + 1];
+		for (int i = 0; i < dropRates.length; i++)
+		{
+			tree[i + 1] += dropRates[i];
+			final int parent = (i + 1) + ((i + 1) & -(i + 1));
+			if (parent < tree.length)
+			{
+				tree[parent] += tree[i + 1];
+			}
+		}
+
+		final int tasks = SIMULATIONS / SIMULATIONS_PER_TASK;
+		final SplittableRandom[] randoms = new SplittableRandom[tasks];
+		for (int i = 0; i < tasks; i++)
+		{
+			randoms[i] = random.split();
+		}
+
+		final long completed = LongStream.range(0, tasks).parallel()
+			.map(task -> countCompleted(dropRates, tree, killCount, randoms[(int) task], cancelled))
+			.sum();
+
+		return (double) completed / (tasks * SIMULATIONS_PER_TASK);
+	}
+
+	/**
+	 * Only the drops of items still missing matter, so each simulation skips straight from one missing item to the
+	 * next by the combined rate of the items still missing. A simulation takes at most one step per item no matter
+	 * how rare the items are.
+	 */
+	private static long countCompleted(final double[] dropRates, final double[] initialTree, final int killCount,
+		final SplittableRandom random, final BooleanSupplier cancelled)
+	{
+		final double[] tree = new double[initialTree.length];
+		final boolean[] received = new boolean[dropRates.length];
+		final int highestStep = Integer.highestOneBit(dropRates.length);
+		double total = 0;
+		for (final double rate : dropRates)
+		{
+			total += rate;
+		}
+		long completed = 0;
+
+		for (int simulation = 0; simulation < SIMULATIONS_PER_TASK; simulation++)
+		{
+			if (cancelled.getAsBoolean())
+			{
+				throw new CancellationException();
+			}
+
+			System.arraycopy(initialTree, 0, tree, 0, tree.length);
+			Arrays.fill(received, false);
+			double missingRate = total;
+			int missing = dropRates.length;
+			long kill = 0;
+			while (missing > 0)
+			{
+				// Each kill drops one of the missing items with the chance of their combined rate
+				final double rate = Math.min(1.0, missingRate);
+				kill += rate >= 1.0 ? 1 : 1 + (long) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log1p(-rate));
+				if (kill > killCount)
+				{
+					break;
+				}
+
+				final int item = find(tree, random.nextDouble() * missingRate, highestStep, received);
+				received[item] = true;
+				for (int i = item + 1; i < tree.length; i += i & -i)
+				{
+					tree[i] -= dropRates[item];
+				}
+				missingRate -= dropRates[item];
+				missing--;
+			}
+
+			if (missing == 0)
+			{
+				completed++;
+			}
+		}
+
+		return completed;
+	}
+
+	// The missing item whose cumulative rate first exceeds the target, received items have no rate left to land on
+	private static int find(final double[] tree, final double target, final int highestStep, final boolean[] received)
+	{
+		int position = 0;
+		double remaining = target;
+		for (int step = highestStep; step > 0; step >>= 1)
+		{
+			final int next = position + step;
+			if (next < tree.length && tree[next] <= remaining)
+			{
+				position = next;
+				remaining -= tree[next];
+			}
+		}
+
+		// Rounding can leave the search just past a missing item, settle on the nearest one
+		int item = Math.min(position, received.length - 1);
+		while (item >= 0 && received[item])
+		{
+			item--;
+		}
+		if (item < 0)
+		{
+			item = position;
+			while (received[item])
+			{
+				item++;
+			}
+		}
+		return item;
+	}
+}
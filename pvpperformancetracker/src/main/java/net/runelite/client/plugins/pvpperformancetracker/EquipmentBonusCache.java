@@ -0,0 +1,151 @@
+package net.runelite.client.plugins.pvpperformancetracker;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Caches the stats of single items and the total bonuses of whole gear sets, so repeated attacks with the same gear
+// don't have to look up and add up every item again. Item stats are kept in an open addressing table keyed by the
+// item id, gear sets in a small least recently used map keyed by the equipment ids and the ring choice.
+// The cached arrays are shared and must not be modified.
+class EquipmentBonusCache
+{
+	private static final int INITIAL_ITEM_CAPACITY = 256;
+	private static final int MAX_GEAR_SETS = 256;
+
+	private int[] itemKeys = new int[INITIAL_ITEM_CAPACITY];
+	// null marks an empty slot
+	private int[][] itemValues = new int[INITIAL_ITEM_CAPACITY][];
+	private int itemCount;
+
+	private final Map<GearKey, int[]> gearSets = new LinkedHashMap<GearKey, int[]>(64, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<GearKey, int[]> eldest)
+		{
+			return size() > MAX_GEAR_SETS;
+		}
+	};
+	// reused for lookups so a cache hit doesn't allocate a key
+	private final GearKey lookupKey = new GearKey();
+
+	synchronized int[] getItemStats(int itemId)
+	{
+		int mask = itemKeys.length - 1;
+		for (int i = mix(itemId) & mask; itemValues[i] != null; i = (i + 1) & mask)
+		{
+			if (itemKeys[i] == itemId)
+			{
+				return itemValues[i];
+			}
+		}
+
+		return null;
+	}
+
+	synchronized void putItemStats(int itemId, int[] stats)
+	{
+		// keep the table at most half full so probe sequences stay short
+		if ((itemCount + 1) * 2 > itemKeys.length)
+		{
+			resize(itemKeys.length * 2);
+		}
+
+		if (insert(itemKeys, itemValues, itemId, stats))
+		{
+			itemCount++;
+		}
+	}
+
+	synchronized int[] getBonuses(int[] itemIds, int ring)
+	{
+		lookupKey.itemIds = itemIds;
+		lookupKey.ring = ring;
+		lookupKey.hash = hash(itemIds, ring);
+		int[] bonuses = gearSets.get(lookupKey);
+		lookupKey.itemIds = null;
+		return bonuses;
+	}
+
+	synchronized void putBonuses(int[] itemIds, int ring, int[] bonuses)
+	{
+		GearKey key = new GearKey();
+		key.itemIds = itemIds.clone();
+		key.ring = ring;
+		key.hash = hash(key.itemIds, ring);
+		gearSets.put(key, bonuses);
+	}
+
+	private void resize(int capacity)
+	{
+		int[] keys = new int[capacity];
+		int[][] values = new int[capacity][];
+		for (int i = 0; i < itemKeys.length; i++)
+		{
+			if (itemValues[i] != null)
+			{
+				insert(keys, values, itemKeys[i], itemValues[i]);
+			}
+		}
+
+		itemKeys = keys;
+		itemValues = values;
+	}
+
+	// returns true if the key wasn't present yet
+	private static boolean insert(int[] keys, int[][] values, int key, int[] value)
+	{
+		int mask = keys.length - 1;
+		int i = mix(key) & mask;
+		while (values[i] != null)
+		{
+			if (keys[i] == key)
+			{
+				values[i] = value;
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+
+		keys[i] = key;
+		values[i] = value;
+		return true;
+	}
+
+	// item ids are mostly sequential, spread them over the table
+	private static int mix(int key)
+	{
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static int hash(int[] itemIds, int ring)
+	{
+		return 31 * Arrays.hashCode(itemIds) + ring;
+	}
+
+	private static class GearKey
+	{
+		private int[] itemIds;
+		private int ring;
+		private int hash;
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof GearKey))
+			{
+				return false;
+			}
+
+			GearKey other = (GearKey) o;
+			return hash == other.hash && ring == other.ring && Arrays.equals(itemIds, other.itemIds);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,369 @@
+package net.runelite.client.plugins.pvpperformancetracker;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Stores the fight history on disk, keeping the fight summaries apart from their fight logs.
+// The summary file holds one line per added or removed fight and is read at startup, the logs of a fight are only
+// read once they are needed. Both files are append only, once more fights have been removed than are left the
+// remaining fights are copied into a new generation of files and the old ones are deleted.
+@Slf4j
+class FightHistoryStore
+{
+	private static final String SUMMARY_PREFIX = "fights-";
+	private static final String LOGS_PREFIX = "fight-logs-";
+	private static final String EXTENSION = ".log";
+	// don't bother compacting small histories
+	private static final int MIN_COMPACT_REMOVALS = 100;
+
+	private final File folder;
+	private final Gson gson;
+	// same as gson, but leaves out the fight logs so summaries stay small
+	private final Gson summaryGson;
+
+	// fights currently in the summary file, keyed by the position of their logs, from oldest to newest.
+	private final Map<Long, FightPerformance> storedFights = new LinkedHashMap<>();
+	private int generation;
+	private int removedCount;
+
+	FightHistoryStore(File folder, Gson gson)
+	{
+		this.folder = folder;
+		this.gson = gson;
+		this.summaryGson = gson.newBuilder()
+			.addSerializationExclusionStrategy(new ExclusionStrategy()
+			{
+				@Override
+				public boolean shouldSkipField(FieldAttributes f)
+				{
+					return f.getDeclaringClass() == Fighter.class && f.getName().equals("fightLogEntries");
+				}
+
+				@Override
+				public boolean shouldSkipClass(Class<?> clazz)
+				{
+					return false;
+				}
+			})
+			.create();
+	}
+
+	synchronized boolean exists()
+	{
+		return findGeneration() >= 0;
+	}
+
+	// Load the summaries of all stored fights, from oldest to newest. Their fight logs are left unloaded.
+	synchronized List<FightPerformance> load() throws IOException
+	{
+		storedFights.clear();
+		removedCount = 0;
+		generation = Math.max(0, findGeneration());
+		deleteOtherGenerations();
+
+		File summaryFile = getSummaryFile(generation);
+		if (!summaryFile.exists())
+		{
+			return new ArrayList<>();
+		}
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(summaryFile), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty())
+				{
+					continue;
+				}
+
+				StoredFight storedFight;
+				try
+				{
+					storedFight = summaryGson.fromJson(line, StoredFight.class);
+				}
+				catch (JsonParseException e)
+				{
+					// most likely a partially written last line
+					log.warn("Skipping unreadable fight summary in {}", summaryFile);
+					continue;
+				}
+
+				if (storedFight == null)
+				{
+					continue;
+				}
+
+				if (storedFight.fight == null)
+				{
+					storedFights.remove(storedFight.logOffset);
+					removedCount++;
+				}
+				else
+				{
+					storedFight.fight.setLogLocation(storedFight.logOffset, storedFight.logLength);
+					storedFights.put(storedFight.logOffset, storedFight.fight);
+				}
+			}
+		}
+
+		return new ArrayList<>(storedFights.values());
+	}
+
+	// Append a finished fight, its logs are written first so a summary never points past the end of the logs.
+	synchronized void add(FightPerformance fight) throws IOException
+	{
+		folder.mkdirs();
+
+		byte[] logs = encodeLogs(fight);
+		File logFile = getLogFile(generation);
+		long offset = logFile.length();
+		try (FileOutputStream out = new FileOutputStream(logFile, true))
+		{
+			out.write(logs);
+		}
+
+		fight.setLogLocation(offset, logs.length);
+		storedFights.put(offset, fight);
+		appendSummary(new StoredFight(offset, logs.length, fight));
+	}
+
+	synchronized void remove(FightPerformance fight) throws IOException
+	{
+		if (fight.getLogLength() == 0 || storedFights.remove(fight.getLogOffset()) == null)
+		{
+			return;
+		}
+
+		appendSummary(new StoredFight(fight.getLogOffset(), 0, null));
+		removedCount++;
+
+		if (removedCount >= MIN_COMPACT_REMOVALS && removedCount > storedFights.size())
+		{
+			compact();
+		}
+	}
+
+	// Make sure the store exists, even without any fights, so fights are never imported again.
+	synchronized void create() throws IOException
+	{
+		folder.mkdirs();
+		getSummaryFile(generation).createNewFile();
+	}
+
+	// The summary file is emptied rather than deleted, so the store still exists and nothing is imported again.
+	synchronized void clear() throws IOException
+	{
+		storedFights.clear();
+		removedCount = 0;
+		folder.mkdirs();
+		new FileOutputStream(getSummaryFile(generation)).close();
+		Files.deleteIfExists(getLogFile(generation).toPath());
+	}
+
+	// Read the fight logs of a stored fight, if they haven't been loaded yet.
+	synchronized void loadLogs(FightPerformance fight) throws IOException
+	{
+		if (fight.getLogLength() == 0 || fight.getCompetitor().getFightLogEntries() != null)
+		{
+			return;
+		}
+
+		byte[] data;
+		try (RandomAccessFile file = new RandomAccessFile(getLogFile(generation), "r"))
+		{
+			data = readLogs(file, fight);
+		}
+
+		FightLogs logs = gson.fromJson(new String(data, StandardCharsets.UTF_8), FightLogs.class);
+		if (logs == null)
+		{
+			return;
+		}
+
+		setLogs(fight.getCompetitor(), logs.competitor);
+		setLogs(fight.getOpponent(), logs.opponent);
+	}
+
+	// Copy the remaining fights to a new generation of files, then delete the current one.
+	private void compact() throws IOException
+	{
+		int nextGeneration = generation + 1;
+		Map<Long, FightPerformance> compacted = new LinkedHashMap<>();
+		List<StoredFight> summaries = new ArrayList<>();
+
+		try (RandomAccessFile in = new RandomAccessFile(getLogFile(generation), "r");
+			FileOutputStream out = new FileOutputStream(getLogFile(nextGeneration)))
+		{
+			long offset = 0;
+			for (FightPerformance fight : storedFights.values())
+			{
+				byte[] data = readLogs(in, fight);
+				out.write(data);
+
+				compacted.put(offset, fight);
+				summaries.add(new StoredFight(offset, data.length, fight));
+				offset += data.length;
+			}
+		}
+
+		// the summary file is what marks a generation as complete, so only move it in place once fully written
+		File tempFile = new File(folder, SUMMARY_PREFIX + nextGeneration + ".tmp");
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)))
+		{
+			for (StoredFight summary : summaries)
+			{
+				writer.write(summaryGson.toJson(summary));
+				writer.write('\n');
+			}
+		}
+		Files.move(tempFile.toPath(), getSummaryFile(nextGeneration).toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+		for (StoredFight summary : summaries)
+		{
+			summary.fight.setLogLocation(summary.logOffset, summary.logLength);
+		}
+
+		storedFights.clear();
+		storedFights.putAll(compacted);
+		removedCount = 0;
+		generation = nextGeneration;
+		deleteOtherGenerations();
+	}
+
+	private void appendSummary(StoredFight storedFight) throws IOException
+	{
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(getSummaryFile(generation), true), StandardCharsets.UTF_8)))
+		{
+			writer.write(summaryGson.toJson(storedFight));
+			writer.write('\n');
+		}
+	}
+
+	private byte[] encodeLogs(FightPerformance fight)
+	{
+		FightLogs logs = new FightLogs(fight.getCompetitor().getFightLogEntries(), fight.getOpponent().getFightLogEntries());
+		return gson.toJson(logs).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readLogs(RandomAccessFile file, FightPerformance fight) throws IOException
+	{
+		byte[] data = new byte[fight.getLogLength()];
+		file.seek(fight.getLogOffset());
+		file.readFully(data);
+		return data;
+	}
+
+	// attacker names aren't serialized since they are present on the parent Fighter
+	private static void setLogs(Fighter fighter, ArrayList<FightLogEntry> logs)
+	{
+		if (logs != null)
+		{
+			logs.forEach((FightLogEntry l) -> l.attackerName = fighter.getName());
+		}
+		fighter.setFightLogEntries(logs);
+	}
+
+	// the newest generation with a summary file, or -1 if nothing is stored.
+	private int findGeneration()
+	{
+		int newest = -1;
+		File[] files = folder.listFiles((dir, name) -> name.startsWith(SUMMARY_PREFIX) && name.endsWith(EXTENSION));
+		if (files == null)
+		{
+			return newest;
+		}
+
+		for (File file : files)
+		{
+			String name = file.getName();
+			try
+			{
+				newest = Math.max(newest, Integer.parseInt(name.substring(SUMMARY_PREFIX.length(), name.length() - EXTENSION.length())));
+			}
+			catch (NumberFormatException e)
+			{
+				log.debug("Ignoring unknown fight history file {}", name);
+			}
+		}
+
+		return newest;
+	}
+
+	// remove the files of interrupted or finished compactions
+	private void deleteOtherGenerations() throws IOException
+	{
+		File[] files = folder.listFiles((dir, name) -> name.startsWith(SUMMARY_PREFIX) || name.startsWith(LOGS_PREFIX));
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			if (!file.equals(getSummaryFile(generation)) && !file.equals(getLogFile(generation)))
+			{
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+	}
+
+	private File getSummaryFile(int generation)
+	{
+		return new File(folder, SUMMARY_PREFIX + generation + EXTENSION);
+	}
+
+	private File getLogFile(int generation)
+	{
+		return new File(folder, LOGS_PREFIX + generation + EXTENSION);
+	}
+
+	// a line of the summary file, without a fight when the fight has been removed.
+	@AllArgsConstructor
+	private static class StoredFight
+	{
+		@Expose
+		@SerializedName("p")
+		private long logOffset;
+		@Expose
+		@SerializedName("n")
+		private int logLength;
+		@Expose
+		@SerializedName("f")
+		private FightPerformance fight;
+	}
+
+	@AllArgsConstructor
+	private static class FightLogs
+	{
+		@Expose
+		@SerializedName("c")
+		private ArrayList<FightLogEntry> competitor;
+		@Expose
+		@SerializedName("o")
+		private ArrayList<FightLogEntry> opponent;
+	}
+}
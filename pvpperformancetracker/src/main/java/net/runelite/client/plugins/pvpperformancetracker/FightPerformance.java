@@ -69,6 +69,10 @@ public class FightPerformance implements Comparable<FightPerformance>
 	@SerializedName("t")
 	private long lastFightTime; // last fight time saved as epochMilli timestamp (serializing an Instant was a bad time)
 
+	// position of the fight logs in the FightHistoryStore, a length of 0 means the fight isn't stored.
+	private long logOffset;
+	private int logLength;
+
 	// return a random fightPerformance used for testing UI
 	static FightPerformance getTestInstance()
 	{
@@ -227,6 +231,12 @@ public class FightPerformance implements Comparable<FightPerformance>
 		return combinedList;
 	}
 
+	void setLogLocation(long logOffset, int logLength)
+	{
+		this.logOffset = logOffset;
+		this.logLength = logLength;
+	}
+
 	// only count the fight as started if the competitor attacked, not the enemy because
 	// the person the competitor clicked on might be attacking someone else
 	boolean fightStarted()
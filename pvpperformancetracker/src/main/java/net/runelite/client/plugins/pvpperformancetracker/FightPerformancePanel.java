@@ -331,6 +331,7 @@ class FightPerformancePanel extends JPanel
 			fightLogFrame.dispose();
 		}
 
+		PLUGIN.loadFightLogs(fight);
 		ArrayList<FightLogEntry> fightLogEntries = fight.getAllFightLogEntries();
 		if (fightLogEntries.size() < 1)
 		{
@@ -168,6 +168,12 @@ class Fighter
 		this.magicHitCountDeserved += magicHitCountDeserved;
 	}
 
+	// used by the FightHistoryStore, which only loads fight logs once they're needed.
+	void setFightLogEntries(ArrayList<FightLogEntry> fightLogEntries)
+	{
+		this.fightLogEntries = fightLogEntries;
+	}
+
 	void addDamageDealt(int damage)
 	{
 		this.damageDealt += damage;
@@ -91,6 +91,9 @@ public class PvpDamageCalc
 	// original formula: 0.25(0.9x) + 0.75x ==> 0.975x
 	public static final double BRIMSTONE_RING_OPPONENT_DEF_MODIFIER = 0.975;
 
+	// shared by all fighters, item stats don't change while the client is running
+	private static final EquipmentBonusCache BONUS_CACHE = new EquipmentBonusCache();
+
 	private final ItemManager itemManager;
 
 	@Getter(AccessLevel.PACKAGE)
@@ -431,6 +434,29 @@ public class PvpDamageCalc
 	// itemManager, try get the 'real' item id from the EquipmentData. If it's not defined in EquipmentData, it will return null
 	// and count as 0 stats, but that should be very rare.
 	public int[] getItemStats(int itemId)
+	{
+		int[] stats = getCachedItemStats(itemId);
+		return stats == null ? null : stats.clone();
+	}
+
+	// Same as getItemStats, but returns the shared cached array which must not be modified.
+	// Items without stats aren't cached, since their stats may just not have been loaded yet.
+	private int[] getCachedItemStats(int itemId)
+	{
+		int[] stats = BONUS_CACHE.getItemStats(itemId);
+		if (stats == null)
+		{
+			stats = loadItemStats(itemId);
+			if (stats != null)
+			{
+				BONUS_CACHE.putItemStats(itemId, stats);
+			}
+		}
+
+		return stats;
+	}
+
+	private int[] loadItemStats(int itemId)
 	{
 		ItemStats itemStats = this.itemManager.getItemStats(itemId, false);
 		if (itemStats == null)
@@ -468,16 +494,24 @@ public class PvpDamageCalc
 		return null;
 	}
 
-	// Calculate total equipment bonuses for all given items
+	// Calculate total equipment bonuses for all given items. The result is shared between all attacks
+	// with the same gear and ring choice, so it must not be modified. Gear containing items without
+	// stats isn't remembered, so it is added up again once the missing stats are available.
 	private int[] calculateBonuses(int[] itemIds)
 	{
-		int[] equipmentBonuses = config.ringChoice() == RingData.NONE ?
-			new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0} :
-			getItemStats(config.ringChoice().getItemId());
+		RingData ring = config.ringChoice();
+		int[] cachedBonuses = BONUS_CACHE.getBonuses(itemIds, ring.ordinal());
+		if (cachedBonuses != null)
+		{
+			return cachedBonuses;
+		}
+
+		int[] equipmentBonuses = new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+		boolean complete = true;
 
-		if (equipmentBonuses == null)
+		if (ring != RingData.NONE)
 		{
-			equipmentBonuses = new int[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+			complete = addBonuses(equipmentBonuses, ring.getItemId());
 		}
 
 		//int[] equipmentBonuses = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, PvpPerformanceTrackerPlugin.CONFIG.assumeZerkRing() ? 4 : 0, 0, 0 };
@@ -485,20 +519,32 @@ public class PvpDamageCalc
 		{
 			if (item > 512)
 			{
-				int[] bonuses = getItemStats(item - 512);
-
-				if (bonuses == null)
-				{
-					continue;
-				}
-
-				for (int id = 0; id < bonuses.length; id++)
-				{
-					equipmentBonuses[id] += bonuses[id];
-				}
+				complete &= addBonuses(equipmentBonuses, item - 512);
 			}
 		}
 
+		if (complete)
+		{
+			BONUS_CACHE.putBonuses(itemIds, ring.ordinal(), equipmentBonuses);
+		}
+
 		return equipmentBonuses;
 	}
-}
\ No newline at end of file
+
+	// returns false if the item's stats couldn't be found
+	private boolean addBonuses(int[] equipmentBonuses, int itemId)
+	{
+		int[] bonuses = getCachedItemStats(itemId);
+		if (bonuses == null)
+		{
+			return false;
+		}
+
+		for (int id = 0; id < bonuses.length; id++)
+		{
+			equipmentBonuses[id] += bonuses[id];
+		}
+
+		return true;
+	}
+}
@@ -26,7 +26,7 @@ package net.runelite.client.plugins.pvpperformancetracker;
 
 import java.awt.BorderLayout;
 import java.awt.Dimension;
-import java.util.ArrayList;
+import java.util.Collection;
 import javax.inject.Inject;
 import javax.swing.BoxLayout;
 import javax.swing.JPanel;
@@ -83,7 +83,7 @@ class PvpPerformanceTrackerPanel extends PluginPanel
 		});
 	}
 
-	public void addFights(ArrayList<FightPerformance> fights)
+	public void addFights(Collection<FightPerformance> fights)
 	{
 		totalStatsPanel.addFights(fights);
 		SwingUtilities.invokeLater(() ->
@@ -33,13 +33,17 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import javax.swing.ImageIcon;
 import javax.swing.JDialog;
@@ -47,6 +51,7 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Actor;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
@@ -57,6 +62,7 @@ import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.events.InteractingChanged;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatMessageManager;
 import net.runelite.client.chat.QueuedMessage;
@@ -83,17 +89,21 @@ import org.pf4j.Extension;
 	type = PluginType.PVP,
 	enabledByDefault = false
 )
+@Slf4j
 public class PvpPerformanceTrackerPlugin extends Plugin
 {
 	public static Image ICON;
 	public static SpriteManager SPRITE_MANAGER;
 	public static PvpPerformanceTrackerConfig CONFIG;
 	public static PvpPerformanceTrackerPlugin PLUGIN;
-	public ArrayList<FightPerformance> fightHistory;
+	// fights from oldest to newest, so the oldest fights can be evicted from the front.
+	public ArrayDeque<FightPerformance> fightHistory;
 
 	// Last man standing map regions, including lobby
 	private static final Set<Integer> LAST_MAN_STANDING_REGIONS = Set.of(13617, 13658, 13659, 13660, 13914, 13915, 13916);
 
+	private static final File FIGHT_HISTORY_DIR = new File(RuneLite.RUNELITE_DIR, "pvp-performance-tracker");
+
 
 	@Getter(AccessLevel.PACKAGE)
 	private NavigationButton navButton;
@@ -136,11 +146,17 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 	@Inject
 	private ItemManager itemManager;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
 	@Getter(AccessLevel.PACKAGE)
 	private FightPerformance currentFight;
 
 	private Gson gson;
 
+	// fights are written on the executor, only reading fight logs happens elsewhere.
+	private FightHistoryStore fightHistoryStore;
+
 	@Provides
 	PvpPerformanceTrackerConfig getConfig(ConfigManager configManager)
 	{
@@ -162,7 +178,7 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 			.panel(panel)
 			.build();
 		SPRITE_MANAGER = spriteManager;
-		fightHistory = new ArrayList<>();
+		fightHistory = new ArrayDeque<>();
 
 		gson = new GsonBuilder()
 			.excludeFieldsWithoutExposeAnnotation()
@@ -170,6 +186,7 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 				value.isNaN() ? new JsonPrimitive(0) // Convert NaN to zero, otherwise, return as BigDecimal with scale of 3.
 					: new JsonPrimitive(BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP))
 			).create();
+		fightHistoryStore = new FightHistoryStore(FIGHT_HISTORY_DIR, gson);
 
 		fightHistory();
 
@@ -187,10 +204,6 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 	@Override
 	protected void shutDown()
 	{
-		fightHistory.sort(FightPerformance::compareTo);
-		String fightHistoryDataJson = gson.toJson(fightHistory.toArray(new FightPerformance[0]), FightPerformance[].class);
-		configManager.setConfiguration("pvpperformancetracker", "fightHistoryData", fightHistoryDataJson);
-
 		clientToolbar.removeNavigation(navButton);
 		overlayManager.remove(overlay);
 	}
@@ -231,12 +244,8 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 				overlay.setLines();
 				break;
 			case "fightHistoryLimit":
-				if (config.fightHistoryLimit() > 0 && fightHistory.size() > config.fightHistoryLimit())
+				if (trimFightHistory())
 				{
-					int numToRemove = fightHistory.size() - config.fightHistoryLimit();
-					// Remove oldest fightHistory until the size is smaller than the limit.
-					// Should only remove one fight in most cases.
-					fightHistory.removeIf((FightPerformance f) -> fightHistory.indexOf(f) < numToRemove);
 					panel.rebuild();
 				}
 				break;
@@ -384,12 +393,9 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 			return;
 		}
 		fightHistory.add(fight);
-		if (config.fightHistoryLimit() > 0 && fightHistory.size() > config.fightHistoryLimit())
+		storeFights(List.of(fight));
+		if (trimFightHistory())
 		{
-			int numToRemove = fightHistory.size() - config.fightHistoryLimit();
-			// Remove oldest fightHistory until the size is equal to the limit.
-			// Should only remove one fight in most cases.
-			fightHistory.removeIf((FightPerformance f) -> fightHistory.indexOf(f) < numToRemove);
 			panel.rebuild();
 		}
 		else
@@ -398,12 +404,102 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 		}
 	}
 
+	// Remove oldest fightHistory until the size is equal to the limit, returns true if any fight was removed.
+	// Should only remove one fight in most cases.
+	private boolean trimFightHistory()
+	{
+		if (config.fightHistoryLimit() <= 0 || fightHistory.size() <= config.fightHistoryLimit())
+		{
+			return false;
+		}
+
+		List<FightPerformance> removedFights = new ArrayList<>();
+		while (fightHistory.size() > config.fightHistoryLimit())
+		{
+			removedFights.add(fightHistory.pollFirst());
+		}
+
+		executor.execute(() ->
+		{
+			try
+			{
+				for (FightPerformance fight : removedFights)
+				{
+					fightHistoryStore.remove(fight);
+				}
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to remove fights from the fight history", e);
+			}
+		});
+		return true;
+	}
+
+	private void storeFights(List<FightPerformance> fights)
+	{
+		executor.execute(() ->
+		{
+			try
+			{
+				for (FightPerformance fight : fights)
+				{
+					fightHistoryStore.add(fight);
+				}
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to save the fight history", e);
+			}
+		});
+	}
+
+	// Store the fights imported from the fightHistoryData config, and clear the config once they are stored so
+	// they can't be imported again after the fight history has been reset.
+	private void importFights(List<FightPerformance> fights)
+	{
+		executor.execute(() ->
+		{
+			try
+			{
+				for (FightPerformance fight : fights)
+				{
+					fightHistoryStore.add(fight);
+				}
+				fightHistoryStore.create();
+				configManager.unsetConfiguration("pvpperformancetracker", "fightHistoryData");
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to import the fight history", e);
+			}
+		});
+	}
+
+	// Load the fight summaries from the fight history store. The first time, fights are imported from the
+	// fightHistoryData config, where older versions saved the fight history.
 	void fightHistory()
 	{
 		List<FightPerformance> savedFights;
+		boolean imported = false;
 		try
 		{
-			savedFights = Arrays.asList(gson.fromJson(config.fightHistoryData(), FightPerformance[].class));
+			if (fightHistoryStore.exists())
+			{
+				savedFights = fightHistoryStore.load();
+			}
+			else
+			{
+				savedFights = new ArrayList<>(Arrays.asList(gson.fromJson(config.fightHistoryData(), FightPerformance[].class)));
+				imported = true;
+			}
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to read the fight history", e);
+			createConfirmationModal("Fight History Data Invalid",
+				"PvP Performance Tracker: your fight history data could not be read.");
+			return;
 		}
 		catch (Exception e)
 		{
@@ -421,10 +517,11 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 //		}
 
 		savedFights.removeIf(Objects::isNull);
+		savedFights.sort(FightPerformance::compareTo);
 		fightHistory.addAll(savedFights);
-		fightHistory.sort(FightPerformance::compareTo);
 
-		// set fight log names since they aren't serialized but are on the parent class
+		// set fight log names since they aren't serialized but are on the parent class.
+		// fights loaded from the store have their logs set once they're loaded.
 		for (FightPerformance f : fightHistory)
 		{
 			if (f.getCompetitor().getFightLogEntries() == null || f.getOpponent().getFightLogEntries() == null)
@@ -438,12 +535,10 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 				l.attackerName = f.getOpponent().getName());
 		}
 
-		if (config.fightHistoryLimit() > 0 && fightHistory.size() > config.fightHistoryLimit())
+		trimFightHistory();
+		if (imported)
 		{
-			int numToRemove = fightHistory.size() - config.fightHistoryLimit();
-			// Remove oldest fightHistory until the size is equal to the limit.
-			// Should only remove one fight in most cases.
-			fightHistory.removeIf((FightPerformance f) -> fightHistory.indexOf(f) < numToRemove);
+			importFights(new ArrayList<>(fightHistory));
 		}
 
 		panel.rebuild();
@@ -452,15 +547,50 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 	void resetFightHistory()
 	{
 		fightHistory.clear();
+		executor.execute(() ->
+		{
+			try
+			{
+				fightHistoryStore.clear();
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to reset the fight history", e);
+			}
+		});
 		panel.rebuild();
 	}
 
 	void removeFight(FightPerformance fight)
 	{
 		fightHistory.remove(fight);
+		executor.execute(() ->
+		{
+			try
+			{
+				fightHistoryStore.remove(fight);
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to remove a fight from the fight history", e);
+			}
+		});
 		panel.rebuild();
 	}
 
+	// Fight logs of stored fights are only loaded when they are viewed or exported.
+	void loadFightLogs(FightPerformance fight)
+	{
+		try
+		{
+			fightHistoryStore.loadLogs(fight);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load fight logs", e);
+		}
+	}
+
 	boolean isAtLMS()
 	{
 		final int[] mapRegions = client.getMapRegions();
@@ -505,8 +635,8 @@ public class PvpPerformanceTrackerPlugin extends Plugin
 
 	public void exportFightHistory()
 	{
+		fightHistory.forEach(this::loadFightLogs);
 		String fightHistoryDataJson = gson.toJson(fightHistory.toArray(new FightPerformance[0]), FightPerformance[].class);
-		configManager.setConfiguration("pvpperformancetracker", "fightHistoryData", fightHistoryDataJson);
 		final StringSelection contents = new StringSelection(fightHistoryDataJson);
 		Toolkit.getDefaultToolkit().getSystemClipboard().setContents(contents, null);
 
@@ -29,7 +29,7 @@ import java.awt.Color;
 import java.awt.GridLayout;
 import java.math.RoundingMode;
 import java.text.NumberFormat;
-import java.util.ArrayList;
+import java.util.Collection;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
@@ -355,7 +355,7 @@ public class TotalStatsPanel extends JPanel
 		SwingUtilities.invokeLater(this::setLabels);
 	}
 
-	public void addFights(ArrayList<FightPerformance> fights)
+	public void addFights(Collection<FightPerformance> fights)
 	{
 		numFights += fights.size();
 		for (FightPerformance fight : fights)
@@ -0,0 +1,319 @@
+package net.runelite.client.plugins.runiterocks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal of runite rock observations, one JSON line per observed, removed or cleared rock.
+ * <p>
+ * Every client on this machine appends to the same file, so by reading the lines added since the last read
+ * clients can pick up what other clients have seen. Lines are tagged with the client that wrote them so a client
+ * can skip its own lines.
+ * <p>
+ * Appends hold a shared lock on a separate lock file and compaction holds an exclusive one, so no line is appended
+ * while the journal is being replaced. Clients notice the journal was replaced by its file key, or its creation time
+ * where there are no file keys, and read it again from the start.
+ */
+@Slf4j
+class RockJournal
+{
+	private static final String FILE_NAME = "observations.log";
+	private static final String LOCK_FILE_NAME = "observations.lock";
+	// Observations older than this are dropped when the journal is loaded
+	private static final Duration MAX_AGE = Duration.ofDays(1);
+	// Don't bother compacting small journals
+	private static final int MIN_COMPACT_LINES = 500;
+	private static final Gson GSON = new Gson();
+
+	private final File folder;
+	private final File file;
+	private final File lockFile;
+	private final String clientId = UUID.randomUUID().toString();
+	// Position up to which the journal has been read, and the journal file that position is in
+	private long readOffset;
+	private Object readIdentity;
+
+	RockJournal(final File folder)
+	{
+		this.folder = folder;
+		this.file = new File(folder, FILE_NAME);
+		this.lockFile = new File(folder, LOCK_FILE_NAME);
+	}
+
+	/**
+	 * Reads the whole journal and returns the latest observation of every rock, compacting the journal
+	 * if most of its lines are outdated.
+	 */
+	synchronized List<Entry> load() throws IOException
+	{
+		readOffset = 0;
+		readIdentity = identify();
+		final List<Entry> entries = read();
+
+		final Map<String, Entry> latest = new LinkedHashMap<>();
+		for (final Entry entry : entries)
+		{
+			switch (entry.type)
+			{
+				case OBSERVE:
+					latest.put(entry.getKey(), entry);
+					break;
+				case REMOVE:
+					latest.remove(entry.getKey());
+					break;
+				case CLEAR:
+					latest.clear();
+					break;
+			}
+		}
+
+		final long oldest = Instant.now().minus(MAX_AGE).toEpochMilli();
+		latest.values().removeIf(e -> e.lastSeenAt < oldest);
+
+		final List<Entry> result = new ArrayList<>(latest.values());
+		if (entries.size() > MIN_COMPACT_LINES && entries.size() > result.size() * 2)
+		{
+			compact(result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the entries other clients added since the last read
+	 */
+	synchronized List<Entry> readNew() throws IOException
+	{
+		// Another client compacted the journal, the entries are merged by time so reading them again is fine
+		final Object identity = identify();
+		if (!Objects.equals(identity, readIdentity) || file.length() < readOffset)
+		{
+			readOffset = 0;
+			readIdentity = identity;
+		}
+
+		final List<Entry> entries = read();
+		entries.removeIf(e -> clientId.equals(e.clientId));
+		return entries;
+	}
+
+	synchronized void append(final Entry entry) throws IOException
+	{
+		folder.mkdirs();
+		entry.clientId = clientId;
+
+		// Written at once so lines of clients appending at the same time don't interleave
+		final byte[] line = (GSON.toJson(entry) + '\n').getBytes(StandardCharsets.UTF_8);
+		try (FileChannel lockChannel = openLock();
+			FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, true);
+			FileOutputStream out = new FileOutputStream(file, true))
+		{
+			out.write(line);
+		}
+	}
+
+	// Reads all complete lines after the read offset
+	private List<Entry> read() throws IOException
+	{
+		final List<Entry> entries = new ArrayList<>();
+		if (!file.exists())
+		{
+			return entries;
+		}
+
+		final byte[] data;
+		try (RandomAccessFile in = new RandomAccessFile(file, "r"))
+		{
+			final long length = in.length();
+			if (length <= readOffset)
+			{
+				return entries;
+			}
+
+			data = new byte[(int) (length - readOffset)];
+			in.seek(readOffset);
+			in.readFully(data);
+		}
+
+		// A line still being written by another client is left for the next read
+		int end = data.length;
+		while (end > 0 && data[end - 1] != '\n')
+		{
+			end--;
+		}
+
+		readOffset += end;
+
+		for (final String line : new String(data, 0, end, StandardCharsets.UTF_8).split("\n"))
+		{
+			if (line.isEmpty())
+			{
+				continue;
+			}
+
+			try
+			{
+				final Entry entry = GSON.fromJson(line, Entry.class);
+				if (entry != null && entry.type != null && (entry.type == EntryType.CLEAR || entry.rock != null))
+				{
+					entries.add(entry);
+				}
+			}
+			catch (JsonParseException e)
+			{
+				log.warn("Skipping unreadable runite rock observation in {}", file);
+			}
+		}
+
+		return entries;
+	}
+
+	// Replaces the journal with the given entries, unless another client is appending or compacting right now.
+	// Compacting is only a cleanup, so a failure is logged and the journal is left as it is.
+	private void compact(final List<Entry> entries)
+	{
+		try (FileChannel lockChannel = openLock();
+			FileLock lock = lockChannel.tryLock())
+		{
+			if (lock == null)
+			{
+				return;
+			}
+
+			final File tempFile = new File(folder, FILE_NAME + ".tmp");
+			final long compactedLength;
+			try (FileOutputStream out = new FileOutputStream(tempFile))
+			{
+				final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+				for (final Entry entry : entries)
+				{
+					writer.write(GSON.toJson(entry));
+					writer.write('\n');
+				}
+				writer.flush();
+				compactedLength = out.getChannel().position();
+
+				// Lines appended since the journal was read are kept as they are, and left for the next read
+				try (RandomAccessFile in = new RandomAccessFile(file, "r"))
+				{
+					final byte[] appended = new byte[(int) Math.max(0, in.length() - readOffset)];
+					in.seek(readOffset);
+					in.readFully(appended);
+					out.write(appended);
+				}
+			}
+
+			// Only moved on to the compacted journal once it replaced the old one
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			readOffset = compactedLength;
+			readIdentity = identify();
+		}
+		catch (OverlappingFileLockException e)
+		{
+			// Still locked by an earlier journal of this client, compact some other time
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to compact runite rock journal {}", file, e);
+		}
+	}
+
+	private FileChannel openLock() throws IOException
+	{
+		return FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	// Tells journal files apart, a compacted journal is a new file even if it has the same name
+	@Nullable
+	private Object identify() throws IOException
+	{
+		if (!file.exists())
+		{
+			return null;
+		}
+
+		final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+	}
+
+	static Entry observed(final RuniteRock rock)
+	{
+		return new Entry(EntryType.OBSERVE, null, rock.getWorld().getId(), rock.getRock(), rock.isAvailable(),
+			rock.getUpdatedAt().toEpochMilli(), rock.getLastSeenAt().toEpochMilli(), rock.hasWitnessedDepletion());
+	}
+
+	static Entry removed(final int world, final Rock rock)
+	{
+		return new Entry(EntryType.REMOVE, null, world, rock, false, 0, Instant.now().toEpochMilli(), false);
+	}
+
+	static Entry cleared()
+	{
+		return new Entry(EntryType.CLEAR, null, 0, null, false, 0, Instant.now().toEpochMilli(), false);
+	}
+
+	enum EntryType
+	{
+		OBSERVE,
+		REMOVE,
+		CLEAR
+	}
+
+	@Getter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	static class Entry
+	{
+		@SerializedName("t")
+		private EntryType type;
+		@SerializedName("c")
+		private String clientId;
+		@SerializedName("w")
+		private int world;
+		@SerializedName("r")
+		private Rock rock;
+		@SerializedName("a")
+		private boolean available;
+		@SerializedName("u")
+		private long updatedAt;
+		// Time of the observation, or of the removal
+		@SerializedName("s")
+		private long lastSeenAt;
+		@SerializedName("d")
+		private boolean witnessedDepletion;
+
+		private String getKey()
+		{
+			return world + ":" + rock;
+		}
+	}
+}
@@ -94,6 +94,17 @@ public class RuniteRock
 		}
 	}
 
+	/**
+	 * Restores a state of the rock recorded earlier, see {@link RockJournal}.
+	 */
+	void restore(final boolean available, final Instant updatedAt, final Instant lastSeenAt, final boolean witnessedDepletion)
+	{
+		this.available = available;
+		this.updatedAt = updatedAt;
+		this.lastSeenAt = lastSeenAt;
+		this.witnessedDepletion = witnessedDepletion;
+	}
+
 	public boolean matches(final RuniteRock other)
 	{
 		return this.getRock() == other.getRock() && this.getWorld().getId() == other.getWorld().getId();
@@ -54,4 +54,15 @@ public interface RuniteRocksConfig extends Config
 	{
 		return false;
 	}
+
+	@ConfigItem(
+		position = 4,
+		keyName = "shareObservations",
+		name = "Share Between Clients",
+		description = "<html>Should rocks seen by other clients running on this computer be added to the tracker?</html>"
+	)
+	default boolean shareObservations()
+	{
+		return false;
+	}
 }
\ No newline at end of file
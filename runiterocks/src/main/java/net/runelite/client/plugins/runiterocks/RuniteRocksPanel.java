@@ -33,7 +33,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
@@ -118,7 +121,7 @@ public class RuniteRocksPanel extends PluginPanel
 			return;
 		}
 
-		final boolean currentWorld = runeRock.getWorld() == plugin.getTracker().getWorld();
+		final boolean currentWorld = isCurrentWorld(runeRock.getWorld());
 		for (TableRow row : rows)
 		{
 			if (runeRock.matches(row.getRuniteRock()))
@@ -138,7 +141,7 @@ public class RuniteRocksPanel extends PluginPanel
 		for (final WorldTracker tracker : plugin.getWorldMap().values())
 		{
 			final World world = tracker.getWorld();
-			final boolean currentWorld = world == plugin.getTracker().getWorld();
+			final boolean currentWorld = isCurrentWorld(world);
 
 			for (final RuniteRock rock : tracker.getRuniteRocks())
 			{
@@ -149,6 +152,32 @@ public class RuniteRocksPanel extends PluginPanel
 		updateList();
 	}
 
+	/**
+	 * Updates the text of the rows without sorting them again, the order of the rows doesn't change over time.
+	 *
+	 * @param runiteRocks the rocks to refresh the rows of
+	 * @param allRows     whether to refresh every row instead
+	 */
+	public void refreshRows(final Collection<RuniteRock> runiteRocks, final boolean allRows)
+	{
+		final Set<RuniteRock> refreshed = Collections.newSetFromMap(new IdentityHashMap<>());
+		refreshed.addAll(runiteRocks);
+
+		for (TableRow row : rows)
+		{
+			if (allRows || refreshed.contains(row.getRuniteRock()))
+			{
+				row.refresh();
+			}
+		}
+	}
+
+	private boolean isCurrentWorld(final World world)
+	{
+		final WorldTracker tracker = plugin.getTracker();
+		return tracker != null && world == tracker.getWorld();
+	}
+
 	public void updateList()
 	{
 		Ordering<TableRow> ordering = new Ordering<TableRow>()
@@ -26,10 +26,16 @@ package net.runelite.client.plugins.runiterocks;
 
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +43,7 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
@@ -50,6 +57,8 @@ import net.runelite.api.events.GameObjectSpawned;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.chat.ChatColorType;
 import net.runelite.client.chat.ChatMessageBuilder;
 import net.runelite.client.chat.ChatMessageManager;
@@ -80,6 +89,9 @@ import org.pf4j.Extension;
 public class RuniteRocksPlugin extends Plugin
 {
 	private static final int DISPLAY_SWITCHER_MAX_ATTEMPTS = 3;
+	private static final File JOURNAL_DIR = new File(RuneLite.RUNELITE_DIR, "runite-rocks");
+	// Amount of game ticks between two checks for observations of other clients
+	private static final int SHARE_POLL_TICKS = 5;
 
 	@Inject
 	private ChatMessageManager chatMessageManager;
@@ -87,6 +99,9 @@ public class RuniteRocksPlugin extends Plugin
 	@Inject
 	private Client client;
 
+	@Inject
+	private ClientThread clientThread;
+
 	@Inject
 	private ClientToolbar clientToolbar;
 
@@ -99,7 +114,7 @@ public class RuniteRocksPlugin extends Plugin
 	@Inject
 	private ScheduledExecutorService executorService;
 
-	private ScheduledFuture panelUpdateFuture;
+	private ScheduledFuture<?> refreshFuture;
 
 	@Provides
 	RuniteRocksConfig provideConfig(ConfigManager configManager)
@@ -118,6 +133,16 @@ public class RuniteRocksPlugin extends Plugin
 	private NavigationButton navButton;
 	private RuniteRocksPanel panel;
 
+	private RockJournal journal;
+	// Recorded observations of worlds that couldn't be found yet because the world list wasn't loaded
+	private final List<RockJournal.Entry> unresolvedEntries = new ArrayList<>();
+	private int sharePollTicks;
+	private volatile boolean polling;
+
+	// Respawn times of depleted rocks, soonest first. Every rock has at most one deadline, it is replaced
+	// whenever the rock changes and dropped once its time has passed.
+	private final PriorityQueue<RespawnDeadline> respawnQueue = new PriorityQueue<>(Comparator.comparing(RespawnDeadline::getTime));
+
 	private net.runelite.api.World quickHopTargetWorld;
 	private int displaySwitcherAttempts = 0;
 
@@ -154,24 +179,38 @@ public class RuniteRocksPlugin extends Plugin
 
 		isHopping = client.getGameState().equals(GameState.HOPPING);
 
-		panelUpdateFuture = executorService.scheduleAtFixedRate(this::updatePanel, 1000, 500, TimeUnit.MILLISECONDS);
+		final RockJournal journal = new RockJournal(JOURNAL_DIR);
+		this.journal = journal;
+		executorService.execute(() ->
+		{
+			try
+			{
+				final List<RockJournal.Entry> entries = journal.load();
+				clientThread.invokeLater(() -> applyEntries(entries));
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to load runite rock observations", e);
+			}
+		});
 	}
 
 	@Override
 	protected void shutDown() throws Exception
 	{
-		if (panelUpdateFuture != null)
-		{
-			panelUpdateFuture.cancel(true);
-			panelUpdateFuture = null;
-		}
 		clientToolbar.removeNavigation(navButton);
 		panel = null;
+		cancelRefresh();
 		queue.clear();
 		worldMap.clear();
 		tracker = null;
 		spawnedRocks.clear();
 		isHopping = false;
+		unresolvedEntries.clear();
+		synchronized (respawnQueue)
+		{
+			respawnQueue.clear();
+		}
 	}
 
 	@Subscribe
@@ -325,8 +364,22 @@ public class RuniteRocksPlugin extends Plugin
 			}
 
 			queue.clear();
+			rocksUpdated(rocks);
 			SwingUtilities.invokeLater(() -> panel.updateRuniteRocks(rocks));
 		}
+
+		if (!unresolvedEntries.isEmpty() && worldService.getWorlds() != null)
+		{
+			final List<RockJournal.Entry> entries = new ArrayList<>(unresolvedEntries);
+			unresolvedEntries.clear();
+			applyEntries(entries);
+		}
+
+		if (config.shareObservations() && ++sharePollTicks >= SHARE_POLL_TICKS && !polling)
+		{
+			sharePollTicks = 0;
+			pollSharedObservations();
+		}
 	}
 
 	@Subscribe
@@ -338,6 +391,7 @@ public class RuniteRocksPlugin extends Plugin
 		}
 
 		SwingUtilities.invokeLater(panel::populate);
+		scheduleRefresh();
 	}
 
 	private void processSpawnedRocks()
@@ -360,6 +414,7 @@ public class RuniteRocksPlugin extends Plugin
 		}
 
 		spawnedRocks.clear();
+		rocksUpdated(rocks);
 		SwingUtilities.invokeLater(() -> panel.updateRuniteRocks(rocks));
 	}
 
@@ -447,16 +502,6 @@ public class RuniteRocksPlugin extends Plugin
 		quickHopTargetWorld = null;
 	}
 
-	private void updatePanel()
-	{
-		if (tracker == null || panel.getRows().size() == 0)
-		{
-			return;
-		}
-
-		SwingUtilities.invokeLater(panel::updateList);
-	}
-
 	void removeRock(final int world, final Rock rock)
 	{
 		final WorldTracker track = worldMap.get(world);
@@ -466,14 +511,261 @@ public class RuniteRocksPlugin extends Plugin
 		}
 
 		track.removeRock(rock);
+		record(RockJournal.removed(world, rock));
+		rebuildRespawnQueue();
 		SwingUtilities.invokeLater(panel::populate);
 	}
 
 	void clearRocks()
 	{
 		worldMap.clear();
-		tracker.clear();
-		worldMap.put(client.getWorld(), tracker);
+		if (tracker != null)
+		{
+			tracker.clear();
+			worldMap.put(client.getWorld(), tracker);
+		}
+		record(RockJournal.cleared());
+		rebuildRespawnQueue();
 		SwingUtilities.invokeLater(panel::populate);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Records the new state of the rocks and schedules their respawn.
+	 */
+	private void rocksUpdated(final Collection<RuniteRock> rocks)
+	{
+		for (final RuniteRock rock : rocks)
+		{
+			record(RockJournal.observed(rock));
+			addRespawnDeadline(rock);
+		}
+
+		scheduleRefresh();
+	}
+
+	private void record(final RockJournal.Entry entry)
+	{
+		final RockJournal journal = this.journal;
+		executorService.execute(() ->
+		{
+			try
+			{
+				journal.append(entry);
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to record runite rock observation", e);
+			}
+		});
+	}
+
+	private void pollSharedObservations()
+	{
+		final RockJournal journal = this.journal;
+		polling = true;
+		executorService.execute(() ->
+		{
+			try
+			{
+				final List<RockJournal.Entry> entries = journal.readNew();
+				if (!entries.isEmpty())
+				{
+					clientThread.invokeLater(() -> applyEntries(entries));
+				}
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to read shared runite rock observations", e);
+			}
+			finally
+			{
+				polling = false;
+			}
+		});
+	}
+
+	/**
+	 * Adds recorded observations to the tracked rocks, observations older than the current state of a rock are ignored.
+	 */
+	private void applyEntries(final Collection<RockJournal.Entry> entries)
+	{
+		if (panel == null)
+		{
+			return;
+		}
+
+		boolean changed = false;
+		for (final RockJournal.Entry entry : entries)
+		{
+			if (entry.getType() == RockJournal.EntryType.CLEAR)
+			{
+				worldMap.values().forEach(WorldTracker::clear);
+				unresolvedEntries.clear();
+				changed = true;
+				continue;
+			}
+
+			final WorldTracker track = getWorldTracker(entry.getWorld());
+			if (track == null)
+			{
+				// Worlds that still can't be found once the world list is loaded no longer exist
+				if (worldService.getWorlds() == null)
+				{
+					unresolvedEntries.add(entry);
+				}
+				continue;
+			}
+
+			if (entry.getType() == RockJournal.EntryType.REMOVE)
+			{
+				track.removeRock(entry.getRock(), Instant.ofEpochMilli(entry.getLastSeenAt()));
+				changed = true;
+			}
+			else
+			{
+				changed |= track.restoreRock(entry) != null;
+			}
+		}
+
+		if (changed)
+		{
+			rebuildRespawnQueue();
+			SwingUtilities.invokeLater(panel::populate);
+		}
+	}
+
+	@Nullable
+	private WorldTracker getWorldTracker(final int worldNumber)
+	{
+		WorldTracker track = worldMap.get(worldNumber);
+		if (track == null)
+		{
+			final World world = getWorld(worldNumber);
+			if (world == null)
+			{
+				return null;
+			}
+
+			track = new WorldTracker(world);
+			worldMap.put(worldNumber, track);
+		}
+
+		return track;
+	}
+
+	private void addRespawnDeadline(final RuniteRock rock)
+	{
+		synchronized (respawnQueue)
+		{
+			// Rocks are compared by identity, their fields change with every observation
+			respawnQueue.removeIf(deadline -> deadline.getRock() == rock);
+
+			if (rock.isAvailable())
+			{
+				return;
+			}
+
+			final Instant respawnTime = rock.getRespawnTime();
+			if (respawnTime.isAfter(Instant.now()))
+			{
+				respawnQueue.add(new RespawnDeadline(respawnTime, rock));
+			}
+		}
+	}
+
+	private void rebuildRespawnQueue()
+	{
+		synchronized (respawnQueue)
+		{
+			respawnQueue.clear();
+		}
+
+		for (final WorldTracker track : worldMap.values())
+		{
+			for (final RuniteRock rock : track.getRuniteRocks())
+			{
+				addRespawnDeadline(rock);
+			}
+		}
+
+		scheduleRefresh();
+	}
+
+	/**
+	 * Schedules the next refresh of the panel for when its text changes next. Counters change every second,
+	 * without them only rocks respawning change the panel.
+	 */
+	private synchronized void scheduleRefresh()
+	{
+		cancelRefresh();
+		if (panel == null)
+		{
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		long delay = -1;
+		synchronized (respawnQueue)
+		{
+			if (config.visitCounter() || (config.respawnCounter() && !respawnQueue.isEmpty()))
+			{
+				delay = 1000 - now % 1000;
+			}
+			else if (!respawnQueue.isEmpty())
+			{
+				delay = Math.max(0, respawnQueue.peek().getTime().toEpochMilli() - now);
+			}
+		}
+
+		if (delay >= 0)
+		{
+			refreshFuture = executorService.schedule(this::refreshPanel, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private synchronized void cancelRefresh()
+	{
+		if (refreshFuture != null)
+		{
+			refreshFuture.cancel(false);
+			refreshFuture = null;
+		}
+	}
+
+	private void refreshPanel()
+	{
+		final Instant now = Instant.now();
+		final List<RuniteRock> rocks = new ArrayList<>();
+		synchronized (respawnQueue)
+		{
+			while (!respawnQueue.isEmpty() && !respawnQueue.peek().getTime().isAfter(now))
+			{
+				rocks.add(respawnQueue.poll().getRock());
+			}
+
+			if (config.respawnCounter())
+			{
+				for (final RespawnDeadline deadline : respawnQueue)
+				{
+					rocks.add(deadline.getRock());
+				}
+			}
+		}
+
+		final RuniteRocksPanel panel = this.panel;
+		final boolean allRows = config.visitCounter();
+		if (panel != null)
+		{
+			SwingUtilities.invokeLater(() -> panel.refreshRows(rocks, allRows));
+		}
+
+		scheduleRefresh();
+	}
+
+	@Value
+	private static class RespawnDeadline
+	{
+		Instant time;
+		RuniteRock rock;
+	}
+}
@@ -24,6 +24,7 @@
  */
 package net.runelite.client.plugins.runiterocks;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,6 +63,42 @@ public class WorldTracker
 		return runeRock;
 	}
 
+	/**
+	 * Restores a recorded state of a rock, unless the rock has been seen more recently.
+	 *
+	 * @return the restored rock, or null if the recorded state was outdated
+	 */
+	@Nullable
+	RuniteRock restoreRock(final RockJournal.Entry entry)
+	{
+		final Instant lastSeenAt = Instant.ofEpochMilli(entry.getLastSeenAt());
+		RuniteRock runeRock = rockMap.get(entry.getRock());
+		if (runeRock == null)
+		{
+			runeRock = new RuniteRock(world, entry.getRock());
+			rockMap.put(entry.getRock(), runeRock);
+		}
+		else if (!runeRock.getLastSeenAt().isBefore(lastSeenAt))
+		{
+			return null;
+		}
+
+		runeRock.restore(entry.isAvailable(), Instant.ofEpochMilli(entry.getUpdatedAt()), lastSeenAt, entry.isWitnessedDepletion());
+		return runeRock;
+	}
+
+	/**
+	 * Removes a rock, unless it has been seen after the given time.
+	 */
+	void removeRock(final Rock rock, final Instant removedAt)
+	{
+		final RuniteRock runeRock = rockMap.get(rock);
+		if (runeRock != null && !runeRock.getLastSeenAt().isAfter(removedAt))
+		{
+			rockMap.remove(rock);
+		}
+	}
+
 	public void removeRock(final Rock rock)
 	{
 		rockMap.remove(rock);
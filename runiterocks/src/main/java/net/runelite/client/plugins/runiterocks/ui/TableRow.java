@@ -230,18 +230,21 @@ public class TableRow extends JPanel
 
 			final String timer = "-" + getReadableTimeElapsed(seconds).trim();
 			respawnLabel.setText(timer);
-			respawnLabel.setForeground(Color.LIGHT_GRAY);
 		}
 		else
 		{
 			respawnLabel.setText(TIME_FORMATTER.format(Date.from(respawn)));
-			respawnLabel.setForeground(ColorScheme.DARK_GRAY_COLOR);
 		}
 
+		// Set once so the label isn't repainted for switching colors
 		if (!runiteRock.hasWitnessedDepletion())
 		{
 			respawnLabel.setForeground(ColorScheme.BRAND_BLUE);
 		}
+		else
+		{
+			respawnLabel.setForeground(respawnCounter ? Color.LIGHT_GRAY : ColorScheme.DARK_GRAY_COLOR);
+		}
 	}
 
 	/**
@@ -292,11 +295,9 @@ public class TableRow extends JPanel
 
 	public void refresh()
 	{
+		// The labels repaint themselves if their text or color changed
 		updateRespawnLabel();
 		updateLastVisitedLabel();
-
-		revalidate();
-		repaint();
 	}
 
 	private Color getWorldColor()
@@ -85,6 +85,18 @@ public interface LootLoggerConfig extends Config
 		return 35;
 	}
 
+	@ConfigItem(
+		position = 6,
+		keyName = "playbackSpeed",
+		name = "Playback speed",
+		description = "How many loots are replayed per second when replaying loot"
+	)
+	@Range(min = 1, max = 100)
+	default int playbackSpeed()
+	{
+		return 4;
+	}
+
 	@ConfigItem(
 		keyName = "migratedUsers",
 		name = "Migrated users",
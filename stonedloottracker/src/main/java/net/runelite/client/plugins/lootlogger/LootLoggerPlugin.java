@@ -4,12 +4,15 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 import com.google.inject.Provides;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -41,9 +44,11 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginType;
 import net.runelite.client.plugins.lootlogger.data.BossTab;
 import net.runelite.client.plugins.lootlogger.data.LootLog;
+import net.runelite.client.plugins.lootlogger.data.LootNameIndex;
 import net.runelite.client.plugins.lootlogger.data.UniqueItem;
 import net.runelite.client.plugins.lootlogger.localstorage.LTItemEntry;
 import net.runelite.client.plugins.lootlogger.localstorage.LTRecord;
+import net.runelite.client.plugins.lootlogger.localstorage.LTSummary;
 import net.runelite.client.plugins.lootlogger.localstorage.LootRecordWriter;
 import net.runelite.client.plugins.lootlogger.ui.LootLoggerPanel;
 import net.runelite.client.plugins.loottracker.LootReceived;
@@ -75,6 +80,9 @@ public class LootLoggerPlugin extends Plugin
 
 	private static final int NMZ_MAP_REGION = 9033;
 
+	// How often a loot log that is still loading is redrawn with the records loaded so far
+	private static final long LOOT_LOG_REFRESH_NANOS = 250_000_000L;
+
 	@Inject
 	private Client client;
 
@@ -93,11 +101,16 @@ public class LootLoggerPlugin extends Plugin
 	@Inject
 	private LootRecordWriter writer;
 
+	@Inject
+	private ScheduledExecutorService executor;
+
 	private LootLoggerPanel panel;
 	private NavigationButton navButton;
 
 	@Getter
 	private SetMultimap<LootRecordType, String> lootNames = HashMultimap.create();
+	// Kept in step with lootNames, so searching never has to go through every name
+	private final LootNameIndex lootNameIndex = new LootNameIndex();
 
 	private boolean prepared = false;
 	private boolean unsiredReclaiming = false;
@@ -106,6 +119,8 @@ public class LootLoggerPlugin extends Plugin
 
 	private Map<String, Integer> killCountMap = new HashMap<>();
 
+	private CompletableFuture<Long> lootLogRequest;
+
 	@Provides
 	LootLoggerConfig provideConfig(ConfigManager configManager)
 	{
@@ -158,6 +173,9 @@ public class LootLoggerPlugin extends Plugin
 	@Override
 	protected void shutDown()
 	{
+		cancelLootLogRequest();
+		writer.flushAndWait();
+
 		if (config.enableUI())
 		{
 			clientToolbar.removeNavigation(navButton);
@@ -195,6 +213,10 @@ public class LootLoggerPlugin extends Plugin
 		{
 			updateWriterUsername();
 		}
+		else if (event.getGameState() == GameState.LOGIN_SCREEN)
+		{
+			writer.flush();
+		}
 	}
 
 	private void updateWriterUsername()
@@ -258,6 +280,8 @@ public class LootLoggerPlugin extends Plugin
 	private void localPlayerNameChanged()
 	{
 		lootNames = writer.getKnownFileNames();
+		lootNameIndex.clear();
+		lootNameIndex.addAll(lootNames);
 		if (config.enableUI())
 		{
 			SwingUtilities.invokeLater(panel::showSelectionView);
@@ -277,11 +301,16 @@ public class LootLoggerPlugin extends Plugin
 
 	private void addRecord(final LTRecord record)
 	{
-		writer.addLootTrackerRecord(record);
+		recordAdded(record, writer.addLootTrackerRecord(record));
+	}
+
+	private void recordAdded(final LTRecord record, final long sequence)
+	{
 		lootNames.put(record.getType(), record.getName());
+		lootNameIndex.add(record.getType(), record.getName());
 		if (config.enableUI())
 		{
-			SwingUtilities.invokeLater(() -> panel.addLog(record));
+			SwingUtilities.invokeLater(() -> panel.addLog(record, sequence));
 		}
 	}
 
@@ -299,35 +328,107 @@ public class LootLoggerPlugin extends Plugin
 		addRecord(record);
 	}
 
-	public Collection<LTRecord> getDataByName(LootRecordType type, String name)
+	public CompletableFuture<LTSummary> getSummaryByName(final LootRecordType type, final String name)
 	{
-		final BossTab tab = BossTab.getByName(name);
-		if (tab != null)
-		{
-			name = tab.getName();
-		}
+		return writer.loadLootSummary(type, getTabName(name));
+	}
+
+	/**
+	 * Totals the drops of the records from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive) for this name
+	 */
+	public CompletableFuture<LTSummary> getSummaryByName(final LootRecordType type, final String name, final int fromIndex, final int toIndex)
+	{
+		return writer.loadLootSummary(type, getTabName(name), fromIndex, toIndex);
+	}
 
-		return writer.loadLootTrackerRecords(type, name);
+	/**
+	 * Reads up to {@code count} records starting at {@code fromIndex} for this name
+	 */
+	public CompletableFuture<List<LTRecord>> getRecordsByName(final LootRecordType type, final String name, final int fromIndex, final int count)
+	{
+		return writer.loadLootTrackerRecords(type, getTabName(name), fromIndex, count);
+	}
+
+	public CompletableFuture<Map<Integer, Integer>> getDryStreaksByName(final LootRecordType type, final String name, final Collection<Integer> itemIds)
+	{
+		return writer.loadDryStreaks(type, getTabName(name), itemIds);
 	}
 
 	/**
-	 * Creates a loot log for this name and then attaches it to the UI when finished
+	 * Searches the names of the loot logs off the calling thread
+	 *
+	 * @return future of the matching names by type, best matches first
+	 */
+	public CompletableFuture<SetMultimap<LootRecordType, String>> searchLootNames(final String searchText)
+	{
+		return CompletableFuture.supplyAsync(() -> lootNameIndex.search(searchText), executor);
+	}
+
+	public CompletableFuture<File> exportDataByName(final LootRecordType type, final String name)
+	{
+		return writer.exportLootTrackerRecords(type, getTabName(name));
+	}
+
+	private static String getTabName(final String name)
+	{
+		final BossTab tab = BossTab.getByName(name);
+		return tab == null ? name : tab.getName();
+	}
+
+	/**
+	 * Creates a loot log for this name and attaches it to the UI straight away. The records are streamed into it
+	 * on the IO thread, and the UI is redrawn as they come in. The log only totals their drops, so it stays small however
+	 * many records there are. Any previously requested log stops loading.
 	 *
 	 * @param name record name
 	 */
-	public void requestLootLog(final LootRecordType type, final String name)
+	public synchronized void requestLootLog(final LootRecordType type, final String name)
 	{
-		clientThread.invoke(() ->
+		cancelLootLogRequest();
+
+		final LootLog lootLog = new LootLog(name, type, false);
+		SwingUtilities.invokeLater(() -> panel.useLog(lootLog));
+
+		final long[] lastRefresh = {System.nanoTime()};
+		final CompletableFuture<Long> request = writer.streamLootTrackerRecords(type, getTabName(name), record ->
 		{
-			final Collection<LTRecord> records = getDataByName(type, name);
-			final LootLog log = new LootLog(records, name);
-			SwingUtilities.invokeLater(() -> panel.useLog(log));
+			lootLog.addRecord(record);
+
+			final long now = System.nanoTime();
+			if (now - lastRefresh[0] >= LOOT_LOG_REFRESH_NANOS)
+			{
+				lastRefresh[0] = now;
+				SwingUtilities.invokeLater(() -> panel.refreshLog(lootLog));
+			}
 		});
+
+		request.whenComplete((sequence, ex) ->
+		{
+			// Keep whatever was loaded if the log couldn't be read to the end
+			if (!request.isCancelled())
+			{
+				SwingUtilities.invokeLater(() -> panel.loadedLog(lootLog, ex == null ? sequence : 0));
+			}
+		});
+		lootLogRequest = request;
 	}
 
-	public boolean clearStoredDataByName(final LootRecordType type, final String name)
+	/**
+	 * Stops loading the last requested loot log, if it's still loading
+	 */
+	public synchronized void cancelLootLogRequest()
+	{
+		if (lootLogRequest != null)
+		{
+			lootLogRequest.cancel(false);
+			lootLogRequest = null;
+		}
+	}
+
+	public CompletableFuture<Boolean> clearStoredDataByName(final LootRecordType type, final String name)
 	{
 		lootNames.remove(type, name);
+		lootNameIndex.remove(type, name);
 		return writer.deleteLootTrackerRecords(type, name);
 	}
 
@@ -392,31 +493,29 @@ public class LootLoggerPlugin extends Plugin
 	{
 		clientThread.invokeLater(() ->
 		{
-			Collection<LTRecord> data = getDataByName(LootRecordType.NPC, BossTab.ABYSSAL_SIRE.getName());
 			ItemDefinition itemDefinition = itemManager.getItemDefinition(itemID);
 			LTItemEntry itemEntry = new LTItemEntry(itemDefinition.getName(), itemID, 1, 0);
 
 			log.debug("Received Unsired item: {}", itemDefinition.getName());
 
-			// Don't have data for sire, create a new record with just this data.
-			if (data == null)
-			{
-				log.debug("No previous Abyssal sire loot, creating new loot record");
-				LTRecord r = new LTRecord(BossTab.ABYSSAL_SIRE.getName(), 350, -1, LootRecordType.NPC, Collections.singletonList(itemEntry));
-				addRecord(r);
-				return;
-			}
+			// Add data to last kill count, or create a new record with just this data if there is no data for sire
+			final LTRecord fallback = new LTRecord(BossTab.ABYSSAL_SIRE.getName(), 350, -1, LootRecordType.NPC, Collections.singletonList(itemEntry));
+			writer.amendLastLootTrackerRecord(LootRecordType.NPC, BossTab.ABYSSAL_SIRE.getName(), r -> r.addDropEntry(itemEntry), fallback)
+				.thenAccept(sequence -> clientThread.invoke(() ->
+				{
+					if (sequence != null)
+					{
+						log.debug("No previous Abyssal sire loot, created new loot record");
+						recordAdded(fallback, sequence);
+						return;
+					}
 
-			log.debug("Adding drop to last abyssal sire loot record");
-			// Add data to last kill count
-			final List<LTRecord> items = new ArrayList<>(data);
-			final LTRecord r = items.get(items.size() - 1);
-			r.addDropEntry(itemEntry);
-			writer.writeLootTrackerFile(BossTab.ABYSSAL_SIRE.getName(), items);
-			if (config.enableUI())
-			{
-				SwingUtilities.invokeLater(panel::refreshUI);
-			}
+					log.debug("Added drop to last abyssal sire loot record");
+					if (config.enableUI())
+					{
+						SwingUtilities.invokeLater(panel::refreshUI);
+					}
+				}));
 		});
 	}
 
@@ -37,6 +37,7 @@ import lombok.Getter;
 import net.runelite.api.ItemID;
 import net.runelite.client.plugins.lootlogger.localstorage.LTItemEntry;
 import net.runelite.client.plugins.lootlogger.localstorage.LTRecord;
+import net.runelite.client.plugins.lootlogger.localstorage.LTSummary;
 import net.runelite.http.api.loottracker.LootRecordType;
 
 @Getter
@@ -49,29 +50,37 @@ public class LootLog
 	private final List<LTRecord> records = new ArrayList<>();
 	private final Map<Integer, LTItemEntry> consolidated = new HashMap<>();
 	private final Collection<UniqueItem> uniques;
+	// Logs streamed from the store only consolidate their records, anything needing the records reads them from the store
+	private final boolean keepRecords;
+	private int recordCount;
+	private int lastKillCount = -1;
 
 	public LootLog(final Collection<LTRecord> records, final String name)
 	{
-		this.records.addAll(records);
-		this.name = name;
-
-		if (records.size() == 0)
-		{
-			this.type = LootRecordType.UNKNOWN;
-		}
-		else
-		{
-			final LTRecord record = this.records.get(0);
-			this.type = record.getType();
-		}
+		this(name, records.isEmpty() ? LootRecordType.UNKNOWN : records.iterator().next().getType());
 
 		for (final LTRecord rec : records)
 		{
-			for (final LTItemEntry entry : rec.getDrops())
-			{
-				addItemEntryToMap(entry);
-			}
+			addRecord(rec);
 		}
+	}
+
+	/**
+	 * Creates an empty loot log that records can be streamed into with {@link #addRecord(LTRecord)}
+	 */
+	public LootLog(final String name, final LootRecordType type)
+	{
+		this(name, type, true);
+	}
+
+	/**
+	 * @param keepRecords whether to store the added records, or only their consolidated drops
+	 */
+	public LootLog(final String name, final LootRecordType type, final boolean keepRecords)
+	{
+		this.name = name;
+		this.type = type;
+		this.keepRecords = keepRecords;
 
 		final Collection<UniqueItem> unsorted = UniqueItem.getUniquesForBoss(name);
 		if (unsorted == null)
@@ -83,15 +92,72 @@ public class LootLog
 		uniques = unsorted.stream().sorted(Comparator.comparingInt(UniqueItem::getPosition)).collect(Collectors.toList());
 	}
 
+	/**
+	 * Creates a log of the drops totalled by the store, such as for a range of records, without any of the records
+	 */
+	public static LootLog fromSummary(final String name, final LootRecordType type, final LTSummary summary)
+	{
+		final LootLog log = new LootLog(name, type, false);
+		log.reset(summary);
+		return log;
+	}
+
 	public synchronized void addRecord(final LTRecord record)
 	{
-		records.add(record);
+		if (keepRecords)
+		{
+			records.add(record);
+		}
+		recordCount++;
+		lastKillCount = record.getKillCount();
+
 		for (final LTItemEntry entry : record.getDrops())
 		{
 			addItemEntryToMap(entry);
 		}
 	}
 
+	// Records may still be streaming in while the log is displayed, these return consistent snapshots
+
+	public synchronized int getRecordCount()
+	{
+		return recordCount;
+	}
+
+	public synchronized int getLastKillCount()
+	{
+		return lastKillCount;
+	}
+
+	public synchronized Map<Integer, LTItemEntry> copyConsolidated()
+	{
+		final Map<Integer, LTItemEntry> copy = new HashMap<>(consolidated.size());
+		for (final LTItemEntry e : consolidated.values())
+		{
+			copy.put(e.getId(), new LTItemEntry(e.getName(), e.getId(), e.getQuantity(), e.getPrice()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Replaces the drops of a log that doesn't keep its records with the drops totalled by the store
+	 */
+	public synchronized void reset(final LTSummary summary)
+	{
+		if (keepRecords)
+		{
+			throw new IllegalStateException("Only logs that don't keep their records can be reset");
+		}
+
+		recordCount = summary.getRecordCount();
+		lastKillCount = summary.getLastKillCount();
+		consolidated.clear();
+		for (final LTItemEntry entry : summary.getItems())
+		{
+			addItemEntryToMap(entry);
+		}
+	}
+
 	private enum ClueType
 	{
 		SCROLL,
@@ -0,0 +1,255 @@
+package net.runelite.client.plugins.lootlogger.data;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Value;
+import net.runelite.http.api.loottracker.LootRecordType;
+import org.apache.commons.text.similarity.JaroWinklerDistance;
+
+/**
+ * Searches the names of the loot logs by the words they contain.
+ * <p>
+ * Every distinct word is indexed by its trigrams, padded so the start and end of a word count as well. A search term
+ * only looks at the words sharing a trigram with it, every one of those containing the term matches, and only the few
+ * sharing the most trigrams are compared by Jaro-Winkler similarity to catch typos. Terms too short for a trigram are
+ * checked against the distinct words directly. Names are added as their loot logs are created, so the index never has
+ * to be rebuilt while the player stays logged in.
+ */
+public class LootNameIndex
+{
+	private static final JaroWinklerDistance DISTANCE = new JaroWinklerDistance();
+	private static final double MIN_SIMILARITY = 0.9;
+	// Amount of words compared by similarity for each search term
+	private static final int SHORTLIST_SIZE = 32;
+	private static final int GRAM_SIZE = 3;
+
+	// Distinct lower case words of every name, by their id
+	private final List<String> words = new ArrayList<>();
+	private final Map<String, Integer> wordIds = new HashMap<>();
+	// Ids of the words containing each trigram
+	private final Map<String, List<Integer>> trigrams = new HashMap<>();
+	// Names containing each word, by word id
+	private final List<Set<Name>> wordNames = new ArrayList<>();
+	private final Set<Name> names = new LinkedHashSet<>();
+
+	@Value
+	private static class Name
+	{
+		LootRecordType type;
+		String name;
+	}
+
+	public synchronized void addAll(final SetMultimap<LootRecordType, String> names)
+	{
+		for (final Map.Entry<LootRecordType, String> entry : names.entries())
+		{
+			add(entry.getKey(), entry.getValue());
+		}
+	}
+
+	public synchronized void add(final LootRecordType type, final String name)
+	{
+		final Name n = new Name(type, name);
+		if (!names.add(n))
+		{
+			return;
+		}
+
+		for (final String word : splitWords(name))
+		{
+			wordNames.get(getWordId(word)).add(n);
+		}
+	}
+
+	public synchronized void remove(final LootRecordType type, final String name)
+	{
+		final Name n = new Name(type, name);
+		if (!names.remove(n))
+		{
+			return;
+		}
+
+		// The words stay indexed, they just don't lead to this name anymore
+		for (final String word : splitWords(name))
+		{
+			wordNames.get(wordIds.get(word)).remove(n);
+		}
+	}
+
+	public synchronized void clear()
+	{
+		words.clear();
+		wordIds.clear();
+		trigrams.clear();
+		wordNames.clear();
+		names.clear();
+	}
+
+	/**
+	 * Finds the names where every space separated term of the search text is contained in, or very similar to, one
+	 * of their words
+	 *
+	 * @return the matching names by type, best matches first
+	 */
+	public synchronized SetMultimap<LootRecordType, String> search(final String searchText)
+	{
+		// Summed similarity of the best matching word for every term so far
+		Map<Name, Double> scores = null;
+		for (final String term : searchText.toLowerCase().split(" "))
+		{
+			if (term.isEmpty())
+			{
+				continue;
+			}
+
+			final Map<Name, Double> termScores = new HashMap<>();
+			for (final Map.Entry<Integer, Double> match : matchWords(term).entrySet())
+			{
+				for (final Name n : wordNames.get(match.getKey()))
+				{
+					termScores.merge(n, match.getValue(), Math::max);
+				}
+			}
+
+			if (scores == null)
+			{
+				scores = termScores;
+			}
+			else
+			{
+				scores.keySet().retainAll(termScores.keySet());
+				scores.replaceAll((n, score) -> score + termScores.get(n));
+			}
+
+			if (scores.isEmpty())
+			{
+				break;
+			}
+		}
+
+		final SetMultimap<LootRecordType, String> results = LinkedHashMultimap.create();
+		if (scores == null)
+		{
+			// Nothing but spaces matches every name
+			for (final Name n : names)
+			{
+				results.put(n.getType(), n.getName());
+			}
+			return results;
+		}
+
+		final Map<Name, Double> finalScores = scores;
+		final List<Name> ranked = new ArrayList<>(finalScores.keySet());
+		ranked.sort(Comparator.comparing((Name n) -> finalScores.get(n)).reversed().thenComparing(Name::getName));
+		for (final Name n : ranked)
+		{
+			results.put(n.getType(), n.getName());
+		}
+
+		return results;
+	}
+
+	/**
+	 * @return the ids of the words matching the term, mapped to how well they match
+	 */
+	private Map<Integer, Double> matchWords(final String term)
+	{
+		final Map<Integer, Double> matches = new HashMap<>();
+		if (term.length() < GRAM_SIZE)
+		{
+			for (int id = 0; id < words.size(); id++)
+			{
+				final double score = score(words.get(id), term);
+				if (score > MIN_SIMILARITY)
+				{
+					matches.put(id, score);
+				}
+			}
+			return matches;
+		}
+
+		// A word containing the term contains all of its inner trigrams, so it always shares some
+		final Map<Integer, Integer> shared = new HashMap<>();
+		for (final String trigram : trigrams(term))
+		{
+			for (final int id : trigrams.getOrDefault(trigram, Collections.emptyList()))
+			{
+				shared.merge(id, 1, Integer::sum);
+			}
+		}
+
+		final List<Integer> shortlist = new ArrayList<>();
+		for (final int id : shared.keySet())
+		{
+			if (words.get(id).contains(term))
+			{
+				matches.put(id, 1.0);
+			}
+			else
+			{
+				shortlist.add(id);
+			}
+		}
+
+		shortlist.sort(Comparator.comparing((Integer id) -> shared.get(id)).reversed());
+		for (final int id : shortlist.subList(0, Math.min(SHORTLIST_SIZE, shortlist.size())))
+		{
+			final double similarity = DISTANCE.apply(words.get(id), term);
+			if (similarity > MIN_SIMILARITY)
+			{
+				matches.put(id, similarity);
+			}
+		}
+
+		return matches;
+	}
+
+	private int getWordId(final String word)
+	{
+		Integer id = wordIds.get(word);
+		if (id == null)
+		{
+			id = words.size();
+			words.add(word);
+			wordIds.put(word, id);
+			wordNames.add(new HashSet<>());
+			for (final String trigram : trigrams(word))
+			{
+				trigrams.computeIfAbsent(trigram, k -> new ArrayList<>()).add(id);
+			}
+		}
+
+		return id;
+	}
+
+	private static double score(final String word, final String term)
+	{
+		return word.contains(term) ? 1.0 : DISTANCE.apply(word, term);
+	}
+
+	private static String[] splitWords(final String name)
+	{
+		return name.toLowerCase().split(" ");
+	}
+
+	// Words never contain spaces, so they pad the start and end of the word
+	private static Set<String> trigrams(final String word)
+	{
+		final String padded = "  " + word + " ";
+		final Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM_SIZE <= padded.length(); i++)
+		{
+			grams.add(padded.substring(i, i + GRAM_SIZE));
+		}
+		return grams;
+	}
+}
@@ -0,0 +1,160 @@
+package net.runelite.client.plugins.lootlogger.data;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.SwingUtilities;
+import lombok.Getter;
+import net.runelite.client.plugins.lootlogger.localstorage.LTRecord;
+import net.runelite.client.plugins.lootlogger.localstorage.LTSummary;
+import net.runelite.http.api.loottracker.LootRecordType;
+
+/**
+ * Replays a loot log one record at a time into a log that only consolidates its drops.
+ * <p>
+ * Records are read from the store a batch ahead of the playback, and seeking totals the records before the new
+ * position from the store, so the playback holds at most a couple of batches of records however long the log is.
+ * Results are applied on the EDT, which is also where the playback is driven from.
+ */
+public class LootPlayback
+{
+	// Records read from the store at once
+	private static final int BATCH_SIZE = 100;
+
+	public interface Source
+	{
+		/**
+		 * Reads up to {@code count} records starting at {@code fromIndex}
+		 */
+		CompletableFuture<List<LTRecord>> loadRecords(int fromIndex, int count);
+
+		/**
+		 * Totals the drops of the records before {@code toIndex}
+		 */
+		CompletableFuture<LTSummary> loadSummary(int toIndex);
+	}
+
+	private final Source source;
+	// Called once a seek has rebuilt the playback log
+	private final Runnable onSeek;
+	@Getter
+	private final LootLog log;
+	// Amount of records to replay, records added to the source later aren't part of the playback
+	@Getter
+	private final int length;
+	// Amount of records replayed so far
+	@Getter
+	private int position;
+
+	// Records read ahead of the playback, the first one is the record at the current position
+	private final Deque<LTRecord> buffer = new ArrayDeque<>();
+	// Index of the next record to read into the buffer
+	private int readIndex;
+	// The read or seek in progress, results of anything it replaced are ignored
+	private CompletableFuture<?> pending;
+	private boolean seeking;
+
+	public LootPlayback(final String name, final LootRecordType type, final int length, final Source source,
+		final Runnable onSeek)
+	{
+		this.source = source;
+		this.onSeek = onSeek;
+		this.log = new LootLog(name, type, false);
+		this.length = length;
+		fill();
+	}
+
+	public boolean isFinished()
+	{
+		return position >= length;
+	}
+
+	/**
+	 * Adds the next record to the playback log, unless it hasn't been read from the store yet
+	 *
+	 * @return false if every record has already been replayed
+	 */
+	public boolean step()
+	{
+		if (isFinished())
+		{
+			return false;
+		}
+
+		if (!seeking && !buffer.isEmpty())
+		{
+			log.addRecord(buffer.poll());
+			position++;
+		}
+		else if (pending == null && readIndex >= length)
+		{
+			// Nothing buffered and nothing left to read, the rest of the records couldn't be read
+			return false;
+		}
+
+		fill();
+		return true;
+	}
+
+	/**
+	 * Moves the playback log to the point after this many records, the log is rebuilt once the store has totalled
+	 * the records before that point
+	 */
+	public void seek(final int target)
+	{
+		position = Math.max(0, Math.min(target, length));
+		readIndex = position;
+		buffer.clear();
+		seeking = true;
+
+		final CompletableFuture<LTSummary> request = source.loadSummary(position);
+		pending = request;
+		request.whenComplete((summary, ex) -> SwingUtilities.invokeLater(() ->
+		{
+			if (pending != request)
+			{
+				return;
+			}
+
+			pending = null;
+			seeking = false;
+			if (summary != null)
+			{
+				log.reset(summary);
+			}
+			fill();
+			onSeek.run();
+		}));
+	}
+
+	// Reads the next batch once the buffer runs low
+	private void fill()
+	{
+		if (pending != null || readIndex >= length || buffer.size() > BATCH_SIZE / 2)
+		{
+			return;
+		}
+
+		final CompletableFuture<List<LTRecord>> request = source.loadRecords(readIndex, Math.min(BATCH_SIZE, length - readIndex));
+		pending = request;
+		request.whenComplete((records, ex) -> SwingUtilities.invokeLater(() ->
+		{
+			if (pending != request)
+			{
+				return;
+			}
+
+			pending = null;
+			if (records == null || records.isEmpty())
+			{
+				// The records can't be read, stop reading rather than asking for them again
+				readIndex = length;
+				return;
+			}
+
+			buffer.addAll(records);
+			readIndex += records.size();
+		}));
+	}
+}
@@ -0,0 +1,26 @@
+package net.runelite.client.plugins.lootlogger.localstorage;
+
+import java.util.Collection;
+import lombok.Value;
+
+/**
+ * Aggregated totals for a single loot log, read from the store's summary file without decoding any {@link LTRecord}.
+ * Totals for a range of records are taken from the {@link LootStatistics} prefix sums instead.
+ */
+@Value
+public class LTSummary
+{
+	int recordCount;
+	int lastKillCount;
+	Collection<LTItemEntry> items;
+
+	public long getTotalValue()
+	{
+		long total = 0;
+		for (final LTItemEntry e : items)
+		{
+			total += e.getTotal();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,795 @@
+package net.runelite.client.plugins.lootlogger.localstorage;
+
+import com.google.common.primitives.Ints;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.http.api.loottracker.LootRecordType;
+
+/**
+ * Append-only binary storage for a single loot log.
+ * <p>
+ * `*name*.ltr` holds the length-prefixed records, `*name*.lti` holds the file offset of every record so any record can
+ * be read without scanning the data file, and `*name*.lts` holds the per-item totals so they can be displayed without
+ * decoding a single record. The index and summary are rebuilt from the data file if they ever fall out of sync.
+ * <p>
+ * Records are never changed inside the data file. Amended records are appended to the `*name*.ltp` journal instead,
+ * which takes precedence when reading and is folded back into the data file once enough amendments have built up.
+ * <p>
+ * Range queries are answered by {@link LootStatistics}, built by scanning the data file the first time one is made and
+ * kept up to date on every append afterwards.
+ */
+@Slf4j
+class LootRecordStore
+{
+	static final String DATA_EXTENSION = ".ltr";
+	static final String INDEX_EXTENSION = ".lti";
+	static final String SUMMARY_EXTENSION = ".lts";
+	static final String JOURNAL_EXTENSION = ".ltp";
+	private static final String TEMP_EXTENSION = ".tmp";
+
+	private static final int MAGIC = 0x4C545231; // LTR1
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = Integer.BYTES * 2;
+	private static final int INDEX_ENTRY_SIZE = Long.BYTES;
+	// Amount of amendments to keep in the journal before they are written back into the data file
+	private static final int COMPACT_THRESHOLD = 32;
+	private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+	private final File dataFile;
+	private final File indexFile;
+	private final File summaryFile;
+	private final File journalFile;
+
+	private final Map<Integer, ItemTotal> totals = new LinkedHashMap<>();
+	// Latest amendment for each record index, the journal is small enough to always be held in memory
+	private final Map<Integer, LTRecord> patches = new HashMap<>();
+	private long dataLength;
+	private long journalLength;
+	private int journalEntries;
+	private int recordCount;
+	private int lastKillCount = -1;
+	private boolean loaded;
+	// Prefix sums for range queries, null until the first query or after an amendment
+	private LootStatistics statistics;
+
+	LootRecordStore(final File folder, final String fileName)
+	{
+		this.dataFile = new File(folder, fileName + DATA_EXTENSION);
+		this.indexFile = new File(folder, fileName + INDEX_EXTENSION);
+		this.summaryFile = new File(folder, fileName + SUMMARY_EXTENSION);
+		this.journalFile = new File(folder, fileName + JOURNAL_EXTENSION);
+	}
+
+	boolean exists()
+	{
+		return dataFile.exists();
+	}
+
+	/**
+	 * Streams every record, in the order they were appended, from a buffered read of the data file
+	 */
+	synchronized void forEach(final Consumer<LTRecord> consumer) throws IOException
+	{
+		load();
+		scan(dataLength, (index, offset, record) -> consumer.accept(record));
+	}
+
+	/**
+	 * Reads a single record by its position in the log using the offset index
+	 */
+	synchronized LTRecord read(final int index) throws IOException
+	{
+		load();
+		if (index < 0 || index >= recordCount)
+		{
+			throw new IndexOutOfBoundsException("Record " + index + " out of bounds for length " + recordCount);
+		}
+
+		final LTRecord patched = patches.get(index);
+		if (patched != null)
+		{
+			return patched;
+		}
+
+		final ByteBuffer offsetBuffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			readFully(channel, offsetBuffer, (long) index * INDEX_ENTRY_SIZE);
+		}
+
+		final long offset = offsetBuffer.getLong(0);
+		try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ))
+		{
+			final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+			readFully(channel, lengthBuffer, offset);
+
+			final ByteBuffer payload = ByteBuffer.allocate(lengthBuffer.getInt(0));
+			readFully(channel, payload, offset + Integer.BYTES);
+			payload.flip();
+			return decode(payload);
+		}
+	}
+
+	/**
+	 * Reads up to {@code count} records starting at {@code fromIndex}, seeking to the first one through the offset
+	 * index and reading the rest in order from there
+	 */
+	synchronized List<LTRecord> read(final int fromIndex, final int count) throws IOException
+	{
+		load();
+		final int from = Math.max(0, fromIndex);
+		final int to = (int) Math.min(recordCount, (long) from + count);
+		final List<LTRecord> records = new ArrayList<>(Math.max(0, to - from));
+		if (from >= to)
+		{
+			return records;
+		}
+
+		final ByteBuffer offsetBuffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			readFully(channel, offsetBuffer, (long) from * INDEX_ENTRY_SIZE);
+		}
+
+		long offset = offsetBuffer.getLong(0);
+		try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ))
+		{
+			final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+			for (int index = from; index < to; index++)
+			{
+				lengthBuffer.clear();
+				readFully(channel, lengthBuffer, offset);
+				final int length = lengthBuffer.getInt(0);
+
+				final LTRecord patched = patches.get(index);
+				if (patched != null)
+				{
+					records.add(patched);
+				}
+				else
+				{
+					final ByteBuffer payload = ByteBuffer.allocate(length);
+					readFully(channel, payload, offset + Integer.BYTES);
+					payload.flip();
+					records.add(decode(payload));
+				}
+
+				offset += Integer.BYTES + length;
+			}
+		}
+
+		return records;
+	}
+
+	synchronized void append(final Collection<LTRecord> records) throws IOException
+	{
+		if (records.isEmpty())
+		{
+			return;
+		}
+
+		load();
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		if (dataLength == 0)
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+		}
+
+		final ByteBuffer offsets = ByteBuffer.allocate(records.size() * INDEX_ENTRY_SIZE);
+		for (final LTRecord rec : records)
+		{
+			final byte[] payload = encode(rec);
+			offsets.putLong(dataLength + bytes.size());
+			out.writeInt(payload.length);
+			out.write(payload);
+		}
+		offsets.flip();
+
+		// Anything past the known lengths is left over from an interrupted write and can be safely discarded
+		try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			channel.truncate(dataLength);
+			writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()), dataLength);
+		}
+
+		final long indexLength = (long) recordCount * INDEX_ENTRY_SIZE;
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			channel.truncate(indexLength);
+			writeFully(channel, offsets, indexLength);
+		}
+
+		dataLength += bytes.size();
+		for (final LTRecord rec : records)
+		{
+			addToTotals(rec);
+			if (statistics != null)
+			{
+				statistics.add(rec);
+			}
+		}
+
+		writeSummary();
+	}
+
+	/**
+	 * Replaces the most recent record with the result of {@code amendment}
+	 *
+	 * @return false if there are no records to amend
+	 */
+	synchronized boolean amendLast(final Consumer<LTRecord> amendment) throws IOException
+	{
+		load();
+		if (recordCount == 0)
+		{
+			return false;
+		}
+
+		final int index = recordCount - 1;
+		final LTRecord record = read(index);
+		final LTRecord previous = decode(ByteBuffer.wrap(encode(record)));
+		amendment.accept(record);
+		amend(index, previous, record);
+		return true;
+	}
+
+	/**
+	 * Replaces a single record by appending it to the journal, only the amended record and summary are written
+	 */
+	synchronized void amend(final int index, final LTRecord record) throws IOException
+	{
+		amend(index, read(index), record);
+	}
+
+	private void amend(final int index, final LTRecord previous, final LTRecord record) throws IOException
+	{
+		final byte[] payload = encode(record);
+		final ByteBuffer entry = ByteBuffer.allocate((journalLength == 0 ? HEADER_SIZE : 0) + Integer.BYTES * 2 + payload.length);
+		if (journalLength == 0)
+		{
+			entry.putInt(MAGIC);
+			entry.putInt(VERSION);
+		}
+		entry.putInt(index);
+		entry.putInt(payload.length);
+		entry.put(payload);
+		entry.flip();
+
+		try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+		{
+			channel.truncate(journalLength);
+			writeFully(channel, entry, journalLength);
+		}
+
+		journalLength += entry.limit();
+		journalEntries++;
+		patches.put(index, record);
+
+		removeFromTotals(previous);
+		addDropsToTotals(record);
+		statistics = null;
+		if (index == recordCount - 1)
+		{
+			lastKillCount = record.getKillCount();
+		}
+
+		if (journalEntries >= COMPACT_THRESHOLD)
+		{
+			compact();
+		}
+		else
+		{
+			writeSummary();
+		}
+	}
+
+	/**
+	 * Folds the journal back into the data file by streaming every record into a new data and index file
+	 */
+	private void compact() throws IOException
+	{
+		final File tempData = new File(dataFile.getPath() + TEMP_EXTENSION);
+		final File tempIndex = new File(indexFile.getPath() + TEMP_EXTENSION);
+
+		final long[] length = {HEADER_SIZE};
+		try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempData)));
+			DataOutputStream index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempIndex))))
+		{
+			data.writeInt(MAGIC);
+			data.writeInt(VERSION);
+
+			scan(dataLength, (i, offset, record) ->
+			{
+				final byte[] payload = encode(record);
+				index.writeLong(length[0]);
+				data.writeInt(payload.length);
+				data.write(payload);
+				length[0] += Integer.BYTES + payload.length;
+			});
+		}
+
+		try
+		{
+			replaceFile(tempData, dataFile);
+			replaceFile(tempIndex, indexFile);
+		}
+		catch (IOException e)
+		{
+			// The journal is still valid so the amendments will be folded in during the next compaction
+			log.debug("Unable to compact loot file {}: {}", dataFile.getName(), e.getMessage());
+			tempData.delete();
+			tempIndex.delete();
+			writeSummary();
+			return;
+		}
+
+		// Re-applying the journal is harmless if this fails, each entry replaces the record rather than changing it
+		journalFile.delete();
+		patches.clear();
+		journalLength = 0;
+		journalEntries = 0;
+		dataLength = length[0];
+
+		writeSummary();
+	}
+
+	synchronized LTSummary getSummary() throws IOException
+	{
+		load();
+
+		final List<LTItemEntry> items = new ArrayList<>(totals.size());
+		for (final Map.Entry<Integer, ItemTotal> entry : totals.entrySet())
+		{
+			final ItemTotal total = entry.getValue();
+			items.add(new LTItemEntry(total.name, entry.getKey(), Ints.saturatedCast(total.quantity), total.price));
+		}
+
+		return new LTSummary(recordCount, lastKillCount, items);
+	}
+
+	/**
+	 * Totals the drops of the records from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive), reading at
+	 * most {@link LootStatistics#CHECKPOINT_INTERVAL} records for either end of the range
+	 */
+	synchronized LTSummary getSummary(final int fromIndex, final int toIndex) throws IOException
+	{
+		return getStatistics().getSummary(fromIndex, toIndex, this::read);
+	}
+
+	/**
+	 * @return the amount of records since the item last dropped, or the amount of records if it never dropped
+	 */
+	synchronized int getDryStreak(final int itemId) throws IOException
+	{
+		return getStatistics().getDryStreak(itemId, this::read);
+	}
+
+	private LootStatistics getStatistics() throws IOException
+	{
+		load();
+		if (statistics == null)
+		{
+			final LootStatistics built = new LootStatistics();
+			if (dataLength > 0)
+			{
+				scan(dataLength, (index, offset, record) -> built.add(record));
+			}
+			statistics = built;
+		}
+
+		return statistics;
+	}
+
+	synchronized boolean delete()
+	{
+		final boolean deleted = dataFile.delete();
+		indexFile.delete();
+		summaryFile.delete();
+		journalFile.delete();
+
+		reset();
+		loaded = false;
+		return deleted;
+	}
+
+	private void load() throws IOException
+	{
+		if (loaded)
+		{
+			return;
+		}
+
+		reset();
+		readJournal();
+		if (dataFile.exists() && !readSummary())
+		{
+			log.debug("Rebuilding index for loot file: {}", dataFile.getName());
+			rebuild();
+		}
+
+		loaded = true;
+	}
+
+	private void reset()
+	{
+		totals.clear();
+		patches.clear();
+		dataLength = 0;
+		journalLength = 0;
+		journalEntries = 0;
+		recordCount = 0;
+		lastKillCount = -1;
+		statistics = null;
+	}
+
+	private boolean readSummary() throws IOException
+	{
+		if (!summaryFile.exists())
+		{
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(summaryFile))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				return false;
+			}
+
+			final long length = in.readLong();
+			final long journal = in.readLong();
+			final int count = in.readInt();
+			if (length != dataFile.length() || journal != journalLength || (long) count * INDEX_ENTRY_SIZE != indexFile.length())
+			{
+				return false;
+			}
+
+			dataLength = length;
+			recordCount = count;
+			lastKillCount = in.readInt();
+
+			final int itemCount = in.readInt();
+			for (int i = 0; i < itemCount; i++)
+			{
+				final int id = in.readInt();
+				final ItemTotal total = new ItemTotal(in.readUTF());
+				total.quantity = in.readLong();
+				total.price = in.readLong();
+				totals.put(id, total);
+			}
+		}
+
+		return true;
+	}
+
+	private void writeSummary() throws IOException
+	{
+		final File temp = new File(summaryFile.getPath() + TEMP_EXTENSION);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(dataLength);
+			out.writeLong(journalLength);
+			out.writeInt(recordCount);
+			out.writeInt(lastKillCount);
+
+			out.writeInt(totals.size());
+			for (final Map.Entry<Integer, ItemTotal> entry : totals.entrySet())
+			{
+				final ItemTotal total = entry.getValue();
+				out.writeInt(entry.getKey());
+				out.writeUTF(total.name);
+				out.writeLong(total.quantity);
+				out.writeLong(total.price);
+			}
+		}
+
+		replaceFile(temp, summaryFile);
+	}
+
+	/**
+	 * Recreates the index and summary files by scanning the data file, dropping any partially written record at the end
+	 */
+	private void rebuild() throws IOException
+	{
+		final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+		final DataOutputStream index = new DataOutputStream(indexBytes);
+
+		final long end = scan(dataFile.length(), (i, offset, record) ->
+		{
+			index.writeLong(offset);
+			addToTotals(record);
+		});
+
+		dataLength = end;
+		if (dataFile.length() != end)
+		{
+			try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.WRITE))
+			{
+				channel.truncate(end);
+			}
+		}
+
+		final File temp = new File(indexFile.getPath() + TEMP_EXTENSION);
+		Files.write(temp.toPath(), indexBytes.toByteArray());
+		replaceFile(temp, indexFile);
+
+		writeSummary();
+	}
+
+	/**
+	 * Loads every complete amendment from the journal, later entries for the same record replace earlier ones
+	 */
+	private void readJournal() throws IOException
+	{
+		if (!journalFile.exists())
+		{
+			return;
+		}
+
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile.toPath()));
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+		{
+			log.warn("Ignoring unrecognized loot journal: {}", journalFile.getName());
+			return;
+		}
+
+		journalLength = HEADER_SIZE;
+		while (buffer.remaining() >= Integer.BYTES * 2)
+		{
+			final int index = buffer.getInt();
+			final int length = buffer.getInt();
+			if (length < 0 || length > buffer.remaining())
+			{
+				break;
+			}
+
+			final ByteBuffer payload = buffer.slice();
+			payload.limit(length);
+			buffer.position(buffer.position() + length);
+
+			patches.put(index, decode(payload));
+			journalLength = buffer.position();
+			journalEntries++;
+		}
+	}
+
+	/**
+	 * Walks every complete record between the header and {@code limit}, amended records are replaced by the latest
+	 * journal entry
+	 *
+	 * @return the offset directly after the last complete record
+	 */
+	private long scan(final long limit, final RecordVisitor visitor) throws IOException
+	{
+		// A missing data file has no length, so there's nothing to open
+		final long size = Math.min(limit, dataFile.length());
+		if (size < HEADER_SIZE)
+		{
+			return 0;
+		}
+
+		// Read through a stream rather than a mapping, a mapped file can't be replaced or deleted on Windows
+		// until the mapping is garbage collected
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataFile), SCAN_BUFFER_SIZE)))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				throw new IOException("Unrecognized loot file format: " + dataFile.getName());
+			}
+
+			// Payloads are decoded from one reused buffer that grows to fit the largest record
+			byte[] payload = new byte[256];
+			long position = HEADER_SIZE;
+			int index = 0;
+			while (size - position >= Integer.BYTES)
+			{
+				final long offset = position;
+				final int length = in.readInt();
+				if (length < 0 || length > size - position - Integer.BYTES)
+				{
+					break;
+				}
+
+				if (length > payload.length)
+				{
+					payload = new byte[Math.max(length, payload.length * 2)];
+				}
+				in.readFully(payload, 0, length);
+				position += Integer.BYTES + length;
+
+				final LTRecord patched = patches.get(index);
+				visitor.visit(index, offset, patched != null ? patched : decode(ByteBuffer.wrap(payload, 0, length)));
+				index++;
+			}
+
+			return position;
+		}
+	}
+
+	private void addToTotals(final LTRecord record)
+	{
+		addDropsToTotals(record);
+		recordCount++;
+		lastKillCount = record.getKillCount();
+	}
+
+	private void addDropsToTotals(final LTRecord record)
+	{
+		for (final LTItemEntry entry : record.getDrops())
+		{
+			final ItemTotal total = totals.computeIfAbsent(entry.getId(), k -> new ItemTotal(entry.getName()));
+			total.quantity += entry.getQuantity();
+			// Use the most recent price
+			total.price = entry.getPrice();
+		}
+	}
+
+	private void removeFromTotals(final LTRecord record)
+	{
+		for (final LTItemEntry entry : record.getDrops())
+		{
+			final ItemTotal total = totals.get(entry.getId());
+			if (total == null)
+			{
+				continue;
+			}
+
+			total.quantity -= entry.getQuantity();
+			if (total.quantity <= 0)
+			{
+				totals.remove(entry.getId());
+			}
+		}
+	}
+
+	static byte[] encode(final LTRecord record) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+
+		writeString(out, record.getName());
+		out.writeInt(record.getLevel());
+		out.writeInt(record.getKillCount());
+		writeString(out, record.getType() == null ? null : record.getType().name());
+
+		final Collection<LTItemEntry> drops = record.getDrops();
+		out.writeInt(drops.size());
+		for (final LTItemEntry entry : drops)
+		{
+			out.writeInt(entry.getId());
+			out.writeInt(entry.getQuantity());
+			out.writeLong(entry.getPrice());
+			writeString(out, entry.getName());
+		}
+
+		return bytes.toByteArray();
+	}
+
+	static LTRecord decode(final ByteBuffer buffer)
+	{
+		final String name = readString(buffer);
+		final int level = buffer.getInt();
+		final int killCount = buffer.getInt();
+		final LootRecordType type = parseType(readString(buffer));
+
+		final int dropCount = buffer.getInt();
+		final List<LTItemEntry> drops = new ArrayList<>(dropCount);
+		for (int i = 0; i < dropCount; i++)
+		{
+			final int id = buffer.getInt();
+			final int quantity = buffer.getInt();
+			final long price = buffer.getLong();
+			drops.add(new LTItemEntry(readString(buffer), id, quantity, price));
+		}
+
+		return new LTRecord(name, level, killCount, type, drops);
+	}
+
+	private static LootRecordType parseType(final String name)
+	{
+		if (name.isEmpty())
+		{
+			return null;
+		}
+
+		try
+		{
+			return LootRecordType.valueOf(name);
+		}
+		catch (IllegalArgumentException e)
+		{
+			return LootRecordType.UNKNOWN;
+		}
+	}
+
+	private static void writeString(final DataOutputStream out, final String value) throws IOException
+	{
+		final byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(final ByteBuffer buffer)
+	{
+		final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			final int read = channel.read(buffer, position);
+			if (read < 0)
+			{
+				throw new IOException("Unexpected end of file");
+			}
+			position += read;
+		}
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			position += channel.write(buffer, position);
+		}
+	}
+
+	static void replaceFile(final File source, final File target) throws IOException
+	{
+		try
+		{
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private interface RecordVisitor
+	{
+		void visit(int index, long offset, LTRecord record) throws IOException;
+	}
+
+	private static class ItemTotal
+	{
+		private final String name;
+		private long quantity;
+		private long price;
+
+		private ItemTotal(final String name)
+		{
+			this.name = name == null ? "" : name;
+		}
+	}
+}
@@ -36,11 +36,22 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -49,29 +60,58 @@ import net.runelite.http.api.RuneLiteAPI;
 import net.runelite.http.api.loottracker.LootRecordType;
 
 /**
- * Reads & Writes LootRecord data from `*name*.log` files located in `.runelite/loots/`.
- * Data is stored as json delimited by newlines, aka JSON Lines {@see <a href="http://jsonlines.org">http://jsonlines.org</a>}
+ * Reads & Writes LootRecord data located in `.runelite/loots/`.
+ * Data is stored inside an append-only binary {@link LootRecordStore} per name. Older `*name*.log` files, which stored
+ * data as json delimited by newlines, aka JSON Lines {@see <a href="http://jsonlines.org">http://jsonlines.org</a>},
+ * are migrated the first time they are loaded and can be exported back into that format.
+ * <p>
+ * New records are queued and written in batches on a dedicated IO thread, any queued records are written before data
+ * is read back so callers always see their own writes.
  */
 @Slf4j
 @Singleton
 public class LootRecordWriter
 {
 	private static final String FILE_EXTENSION = ".log";
+	private static final String MIGRATED_EXTENSION = ".log.migrated";
 	private static final File LOOT_RECORD_DIR = new File(RUNELITE_DIR, "loots");
+	// Queued records are written once either threshold is reached
+	private static final int COMMIT_SIZE = 50;
+	private static final long COMMIT_DELAY = 10;
 
 	// Data is stored in a folder with the players username (login name)
 	private File playerFolder = LOOT_RECORD_DIR;
 	// Data is separated into sub-folders by event type to prevent issues.
 	private final Map<LootRecordType, File> eventFolders = new HashMap<>();
+	// Stores keep the summary of their file in memory so they are cached for the current player
+	private final Map<File, LootRecordStore> stores = new HashMap<>();
 	private String name;
 
+	private final ScheduledExecutorService ioExecutor = Executors.newSingleThreadScheduledExecutor(r ->
+	{
+		final Thread thread = new Thread(r, "Loot Logger IO");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// Records waiting to be written, grouped by the file they belong to
+	private final Map<File, PendingFile> pendingFiles = new LinkedHashMap<>();
+	private int pendingCount;
+	private ScheduledFuture<?> scheduledCommit;
+	// Sequence number of the last queued record, and of the last record written by the IO thread
+	private long recordSequence;
+	private long committedSequence;
+
 	@Inject
 	public LootRecordWriter()
 	{
 		LOOT_RECORD_DIR.mkdir();
 	}
 
-	public void setPlayerUsername(final String username)
+	/**
+	 * Switches to the folder of this player without waiting on the IO thread. Records already queued keep the folder
+	 * they were queued for, the new folders are created and the previous players stores released on the IO thread.
+	 */
+	public synchronized void setPlayerUsername(final String username)
 	{
 		if (username.equalsIgnoreCase(name))
 		{
@@ -79,39 +119,43 @@ public class LootRecordWriter
 		}
 
 		playerFolder = new File(LOOT_RECORD_DIR, username);
-		playerFolder.mkdir();
 		name = username;
-		createSubFolders();
-	}
-
-	private void createSubFolders()
-	{
 		eventFolders.clear();
 		for (final LootRecordType type : LootRecordType.values())
 		{
-			final File folder = new File(playerFolder, type.name().toLowerCase());
-			folder.mkdir();
-			eventFolders.put(type, folder);
+			eventFolders.put(type, new File(playerFolder, type.name().toLowerCase()));
 		}
+
+		ioExecutor.execute(() ->
+		{
+			commit();
+			synchronized (this)
+			{
+				eventFolders.values().forEach(File::mkdirs);
+				stores.keySet().removeIf(key -> !eventFolders.containsValue(key.getParentFile()));
+			}
+		});
 	}
 
 	private static String npcNameToFileName(final String npcName)
 	{
-		return npcName.toLowerCase().trim() + FILE_EXTENSION;
+		return npcName.toLowerCase().trim();
 	}
 
-	public SetMultimap<LootRecordType, String> getKnownFileNames()
+	public synchronized SetMultimap<LootRecordType, String> getKnownFileNames()
 	{
 		final SetMultimap<LootRecordType, String> fileNames = HashMultimap.create();
 
 		for (final Map.Entry<LootRecordType, File> entry : eventFolders.entrySet())
 		{
-			final File[] files = entry.getValue().listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+			final File[] files = entry.getValue().listFiles((dir, name) ->
+				name.endsWith(LootRecordStore.DATA_EXTENSION) || name.endsWith(FILE_EXTENSION));
 			if (files != null)
 			{
 				for (final File f : files)
 				{
-					fileNames.put(entry.getKey(), f.getName().replace(FILE_EXTENSION, ""));
+					final String fileName = f.getName();
+					fileNames.put(entry.getKey(), fileName.substring(0, fileName.lastIndexOf('.')));
 				}
 			}
 		}
@@ -119,17 +163,128 @@ public class LootRecordWriter
 		return fileNames;
 	}
 
-	public synchronized Collection<LTRecord> loadLootTrackerRecords(LootRecordType recordType, String npcName)
+	/**
+	 * Returns the store for this name, migrating any existing JSON Lines file into it the first time it's requested
+	 */
+	private synchronized LootRecordStore getStore(final LootRecordType type, final String npcName) throws IOException
+	{
+		return getStore(eventFolders.get(type), npcNameToFileName(npcName));
+	}
+
+	private synchronized LootRecordStore getStore(final File folder, final String fileName) throws IOException
+	{
+		final File key = new File(folder, fileName);
+
+		LootRecordStore store = stores.get(key);
+		if (store == null)
+		{
+			store = new LootRecordStore(folder, fileName);
+			migrateLegacyFile(store, folder, fileName);
+			stores.put(key, store);
+		}
+
+		return store;
+	}
+
+	private void migrateLegacyFile(final LootRecordStore store, final File folder, final String fileName) throws IOException
+	{
+		final File legacyFile = new File(folder, fileName + FILE_EXTENSION);
+		if (store.exists() || !legacyFile.exists())
+		{
+			return;
+		}
+
+		log.debug("Migrating loot file to binary store: {}", legacyFile.getName());
+		store.append(readJsonLines(legacyFile));
+
+		if (!legacyFile.renameTo(new File(folder, fileName + MIGRATED_EXTENSION)))
+		{
+			log.warn("Unable to rename migrated loot file: {}", legacyFile.getName());
+		}
+	}
+
+	/**
+	 * Reads the per-item totals for this name on the IO thread, after writing any queued records, without decoding
+	 * any of the stored records
+	 */
+	public CompletableFuture<LTSummary> loadLootSummary(final LootRecordType recordType, final String npcName)
+	{
+		return query(recordType, npcName, LootRecordStore::getSummary);
+	}
+
+	/**
+	 * Totals the drops of the records from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive) on the IO
+	 * thread, after writing any queued records. Only the records around either end of the range are read.
+	 */
+	public CompletableFuture<LTSummary> loadLootSummary(final LootRecordType recordType, final String npcName,
+		final int fromIndex, final int toIndex)
+	{
+		return query(recordType, npcName, store -> store.getSummary(fromIndex, toIndex));
+	}
+
+	/**
+	 * Reads up to {@code count} records starting at {@code fromIndex} on the IO thread, after writing any queued
+	 * records. Only the offset of the first record is looked up, the rest are read in order.
+	 */
+	public CompletableFuture<List<LTRecord>> loadLootTrackerRecords(final LootRecordType recordType, final String npcName,
+		final int fromIndex, final int count)
+	{
+		return query(recordType, npcName, store -> store.read(fromIndex, count));
+	}
+
+	/**
+	 * Counts the records since each item last dropped on the IO thread, after writing any queued records.
+	 * Items that never dropped map to the amount of records.
+	 */
+	public CompletableFuture<Map<Integer, Integer>> loadDryStreaks(final LootRecordType recordType, final String npcName,
+		final Collection<Integer> itemIds)
+	{
+		return query(recordType, npcName, store ->
+		{
+			final Map<Integer, Integer> streaks = new HashMap<>();
+			for (final int itemId : itemIds)
+			{
+				streaks.put(itemId, store.getDryStreak(itemId));
+			}
+			return streaks;
+		});
+	}
+
+	private <T> CompletableFuture<T> query(final LootRecordType recordType, final String npcName, final StoreQuery<T> query)
 	{
-		return loadLootTrackerRecords(npcName, eventFolders.get(recordType));
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		ioExecutor.execute(() ->
+		{
+			if (future.isDone())
+			{
+				return;
+			}
+
+			commit();
+			try
+			{
+				future.complete(query.apply(getStore(recordType, npcName)));
+			}
+			catch (IOException | RuntimeException e)
+			{
+				log.warn("Error reading loot log {}: {}", npcName, e.getMessage());
+				future.completeExceptionally(e);
+			}
+		});
+
+		return future;
 	}
 
 	// TODO: Remove folder parameter in future release when data migration is no longer needed
 	@Deprecated
 	public synchronized Collection<LTRecord> loadLootTrackerRecords(String npcName, File folder)
 	{
-		final String fileName = npcNameToFileName(npcName);
-		final File file = new File(folder, fileName);
+		return readJsonLines(new File(folder, npcNameToFileName(npcName) + FILE_EXTENSION));
+	}
+
+	private static Collection<LTRecord> readJsonLines(final File file)
+	{
+		final String fileName = file.getName();
 		final Collection<LTRecord> data = new ArrayList<>();
 
 		StringBuilder sb = new StringBuilder();
@@ -171,76 +326,251 @@ public class LootRecordWriter
 		return data;
 	}
 
-	public synchronized boolean addLootTrackerRecord(LTRecord rec)
+	/**
+	 * Streams every record for this name into the consumer on the IO thread, after writing any queued records.
+	 * Cancelling the returned future stops the stream at the next record.
+	 *
+	 * @return future of the sequence number of the last record included in the stream, records added with a higher
+	 * sequence number were queued after the stream started and still have to be added by the caller
+	 */
+	public CompletableFuture<Long> streamLootTrackerRecords(final LootRecordType recordType, final String npcName, final Consumer<LTRecord> consumer)
+	{
+		final CompletableFuture<Long> future = new CompletableFuture<>();
+		ioExecutor.execute(() ->
+		{
+			if (future.isDone())
+			{
+				return;
+			}
+
+			// Nothing else writes while the IO thread streams, so the stream holds exactly the committed records
+			commit();
+			try
+			{
+				getStore(recordType, npcName).forEach(rec ->
+				{
+					if (future.isDone())
+					{
+						throw new CancellationException();
+					}
+					consumer.accept(rec);
+				});
+				future.complete(committedSequence);
+			}
+			catch (CancellationException e)
+			{
+				log.debug("Stopped streaming loot log {}", npcName);
+			}
+			catch (IOException | RuntimeException e)
+			{
+				log.warn("Error streaming loot log {}: {}", npcName, e.getMessage());
+				future.completeExceptionally(e);
+			}
+		});
+
+		return future;
+	}
+
+	/**
+	 * Queues the record to be written on the IO thread, records for the same file are written together
+	 *
+	 * @return the sequence number of the record, see {@link #streamLootTrackerRecords}
+	 */
+	public synchronized long addLootTrackerRecord(LTRecord rec)
 	{
-		// Grab file
+		final File folder = eventFolders.get(rec.getType());
 		final String fileName = npcNameToFileName(rec.getName());
-		final File lootFile = new File(eventFolders.get(rec.getType()), fileName);
+		pendingFiles.computeIfAbsent(new File(folder, fileName), k -> new PendingFile(folder, fileName)).records.add(rec);
+		pendingCount++;
 
-		// Convert entry to JSON
-		final String dataAsString = RuneLiteAPI.GSON.toJson(rec);
+		if (pendingCount >= COMMIT_SIZE)
+		{
+			scheduleCommit(0);
+		}
+		else if (scheduledCommit == null)
+		{
+			scheduleCommit(COMMIT_DELAY);
+		}
+
+		return ++recordSequence;
+	}
+
+	/**
+	 * Writes all queued records on the IO thread without waiting for them to finish
+	 */
+	public synchronized void flush()
+	{
+		if (pendingCount > 0)
+		{
+			scheduleCommit(0);
+		}
+	}
 
-		// Open File in append mode and write new data
+	/**
+	 * Writes all queued records and blocks until they have been written
+	 */
+	public void flushAndWait()
+	{
+		// Always wait on the IO thread, even with nothing queued a batch taken by an earlier commit may still be writing
 		try
 		{
-			final BufferedWriter file = new BufferedWriter(new FileWriter(String.valueOf(lootFile), true));
-			file.append(dataAsString);
-			file.newLine();
-			file.close();
-			return true;
+			ioExecutor.submit(this::commit).get();
 		}
-		catch (IOException ioe)
+		catch (InterruptedException e)
 		{
-			log.warn("Error writing loot data to file {}: {}", fileName, ioe.getMessage());
-			return false;
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			log.warn("Error writing loot data", e.getCause());
 		}
 	}
 
-	public synchronized boolean deleteLootTrackerRecords(final LootRecordType type, String npcName)
+	private void scheduleCommit(final long delay)
 	{
-		final String fileName = npcNameToFileName(npcName);
-		final File lootFile = new File(eventFolders.get(type), fileName);
+		if (scheduledCommit != null)
+		{
+			scheduledCommit.cancel(false);
+		}
 
-		if (lootFile.delete())
+		scheduledCommit = ioExecutor.schedule(this::commit, delay, TimeUnit.SECONDS);
+	}
+
+	// Only ever runs on the IO thread so batches are always written in the order they were queued
+	private void commit()
+	{
+		final Collection<PendingFile> batch;
+		synchronized (this)
 		{
-			log.debug("Deleted loot file: {}", fileName);
-			return true;
+			batch = new ArrayList<>(pendingFiles.values());
+			pendingFiles.clear();
+			pendingCount = 0;
+			committedSequence = recordSequence;
+
+			if (scheduledCommit != null)
+			{
+				scheduledCommit.cancel(false);
+				scheduledCommit = null;
+			}
 		}
-		else
+
+		for (final PendingFile pending : batch)
 		{
-			log.debug("Couldn't delete file: {}", fileName);
-			return false;
+			try
+			{
+				getStore(pending.folder, pending.fileName).append(pending.records);
+			}
+			catch (IOException ioe)
+			{
+				log.warn("Error writing loot data to file {}: {}", pending.fileName, ioe.getMessage());
+			}
 		}
 	}
 
 	/**
-	 * Writes an entire log file based on the passed collection.
-	 * Used when you need to adjust previous data and not just append, such as receiving a pet.
+	 * Exports all records for this name into a JSON Lines file inside `exports/*type*` in the player folder on the IO
+	 * thread, after writing any queued records
+	 *
+	 * @return future of the exported file, completed exceptionally if the export failed
 	 */
-	public synchronized boolean writeLootTrackerFile(final String npcName, final Collection<LTRecord> loots)
+	public CompletableFuture<File> exportLootTrackerRecords(final LootRecordType type, final String npcName)
 	{
-		final String fileName = npcNameToFileName(npcName);
-		final File lootFile = new File(playerFolder, fileName);
+		return query(type, npcName, store ->
+		{
+			final File exportFolder = new File(new File(playerFolder, "exports"), type.name().toLowerCase());
+			exportFolder.mkdirs();
 
-		try
+			final File exportFile = new File(exportFolder, npcNameToFileName(npcName) + FILE_EXTENSION);
+			try (final BufferedWriter file = new BufferedWriter(new FileWriter(exportFile, false)))
+			{
+				store.forEach(rec ->
+				{
+					try
+					{
+						file.append(RuneLiteAPI.GSON.toJson(rec));
+						file.newLine();
+					}
+					catch (IOException e)
+					{
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e)
+			{
+				throw e.getCause();
+			}
+
+			return exportFile;
+		});
+	}
+
+	/**
+	 * Deletes every record for this name on the IO thread, after writing any queued records
+	 *
+	 * @return future of whether anything was deleted
+	 */
+	public CompletableFuture<Boolean> deleteLootTrackerRecords(final LootRecordType type, final String npcName)
+	{
+		return CompletableFuture.supplyAsync(() ->
 		{
-			final BufferedWriter file = new BufferedWriter(new FileWriter(String.valueOf(lootFile), false));
-			for (final LTRecord rec : loots)
+			commit();
+
+			final String fileName = npcNameToFileName(npcName);
+			final boolean deletedStore;
+			final boolean deletedLegacy;
+			synchronized (this)
 			{
-				// Convert entry to JSON
-				final String dataAsString = RuneLiteAPI.GSON.toJson(rec);
-				file.append(dataAsString);
-				file.newLine();
+				final File folder = eventFolders.get(type);
+				final LootRecordStore store = stores.remove(new File(folder, fileName));
+				deletedStore = (store == null ? new LootRecordStore(folder, fileName) : store).delete();
+				deletedLegacy = new File(folder, fileName + FILE_EXTENSION).delete();
 			}
-			file.close();
 
-			return true;
-		}
-		catch (IOException ioe)
+			if (deletedStore || deletedLegacy)
+			{
+				log.debug("Deleted loot file: {}", fileName);
+				return true;
+			}
+			else
+			{
+				log.debug("Couldn't delete file: {}", fileName);
+				return false;
+			}
+		}, ioExecutor);
+	}
+
+	/**
+	 * Amends the most recent record for this name in place on the IO thread, after writing any queued records, such as
+	 * when receiving a pet or an unsired reward. Only the amended record is written, the rest of the file is left
+	 * untouched. If there is no previous record to amend, or it couldn't be written, the fallback record is written
+	 * by the same task instead.
+	 *
+	 * @return future of the sequence number of the fallback record, see {@link #streamLootTrackerRecords}, or null if
+	 * the previous record was amended
+	 */
+	public CompletableFuture<Long> amendLastLootTrackerRecord(final LootRecordType type, final String npcName,
+		final Consumer<LTRecord> amendment, final LTRecord fallback)
+	{
+		return CompletableFuture.supplyAsync(() ->
 		{
-			log.warn("Error rewriting loot data to file {}: {}", fileName, ioe.getMessage());
-			return false;
-		}
+			commit();
+			try
+			{
+				if (getStore(type, npcName).amendLast(amendment))
+				{
+					return null;
+				}
+			}
+			catch (IOException ioe)
+			{
+				log.warn("Error amending loot data for {}: {}", npcName, ioe.getMessage());
+			}
+
+			final long sequence = addLootTrackerRecord(fallback);
+			commit();
+			return sequence;
+		}, ioExecutor);
 	}
 
 	// TODO: Remove this in a future release
@@ -344,4 +674,22 @@ public class LootRecordWriter
 
 		return true;
 	}
-}
\ No newline at end of file
+
+	private interface StoreQuery<T>
+	{
+		T apply(LootRecordStore store) throws IOException;
+	}
+
+	private static class PendingFile
+	{
+		private final File folder;
+		private final String fileName;
+		private final List<LTRecord> records = new ArrayList<>();
+
+		private PendingFile(final File folder, final String fileName)
+		{
+			this.folder = folder;
+			this.fileName = fileName;
+		}
+	}
+}
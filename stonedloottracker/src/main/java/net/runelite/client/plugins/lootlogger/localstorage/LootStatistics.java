@@ -0,0 +1,203 @@
+package net.runelite.client.plugins.lootlogger.localstorage;
+
+import com.google.common.primitives.Ints;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix sums over the records of a single loot log.
+ * <p>
+ * Every {@link #CHECKPOINT_INTERVAL} records the cumulative quantity and number of drops of every item are captured.
+ * The drops of any range of records are the difference of two prefixes, and a prefix is the closest checkpoint plus
+ * the few records after it, which are read back through the store's offset index. Items get a dense column the first
+ * time they drop, so checkpoints are plain arrays only as long as the items seen so far. Like the summary, items are
+ * valued at their most recent price.
+ */
+class LootStatistics
+{
+	static final int CHECKPOINT_INTERVAL = 100;
+
+	// Column of each item id, and the item in each column
+	private final Map<Integer, Integer> columns = new HashMap<>();
+	private final List<String> names = new ArrayList<>();
+	private final List<Integer> ids = new ArrayList<>();
+	private long[] prices = new long[16];
+
+	// Running totals over every record added so far
+	private long[] quantities = new long[16];
+	private int[] drops = new int[16];
+	private int recordCount;
+
+	// Checkpoint n holds the totals after n * CHECKPOINT_INTERVAL records
+	private final List<long[]> quantityCheckpoints = new ArrayList<>();
+	private final List<int[]> dropCheckpoints = new ArrayList<>();
+
+	interface RecordReader
+	{
+		LTRecord read(int index) throws IOException;
+	}
+
+	LootStatistics()
+	{
+		checkpoint();
+	}
+
+	void add(final LTRecord record)
+	{
+		for (final LTItemEntry entry : record.getDrops())
+		{
+			final int column = column(entry);
+			quantities[column] += entry.getQuantity();
+			drops[column]++;
+		}
+		recordCount++;
+
+		if (recordCount % CHECKPOINT_INTERVAL == 0)
+		{
+			checkpoint();
+		}
+	}
+
+	/**
+	 * Totals the drops of the records from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive)
+	 */
+	LTSummary getSummary(final int fromIndex, final int toIndex, final RecordReader reader) throws IOException
+	{
+		final int from = Math.max(0, Math.min(fromIndex, recordCount));
+		final int to = Math.max(from, Math.min(toIndex, recordCount));
+
+		final long[] rangeQuantities = new long[columns.size()];
+		final int[] rangeDrops = new int[columns.size()];
+		prefix(to, rangeQuantities, rangeDrops, reader, 1);
+		prefix(from, rangeQuantities, rangeDrops, reader, -1);
+
+		final List<LTItemEntry> items = new ArrayList<>();
+		for (int column = 0; column < rangeQuantities.length; column++)
+		{
+			if (rangeDrops[column] > 0)
+			{
+				items.add(new LTItemEntry(names.get(column), ids.get(column), Ints.saturatedCast(rangeQuantities[column]), prices[column]));
+			}
+		}
+
+		final int lastKillCount = to == 0 || to == from ? -1 : reader.read(to - 1).getKillCount();
+		return new LTSummary(to - from, lastKillCount, items);
+	}
+
+	/**
+	 * @return the amount of records since the item last dropped, or the amount of records if it never dropped
+	 */
+	int getDryStreak(final int itemId, final RecordReader reader) throws IOException
+	{
+		final Integer column = columns.get(itemId);
+		if (column == null)
+		{
+			return recordCount;
+		}
+
+		// The checkpoint after which the item didn't drop anymore, drop counts never go down so binary search for it
+		final int total = drops[column];
+		int low = 0;
+		int high = dropCheckpoints.size() - 1;
+		if (dropCount(high, column) == total)
+		{
+			while (low < high)
+			{
+				final int mid = (low + high) >>> 1;
+				if (dropCount(mid, column) == total)
+				{
+					high = mid;
+				}
+				else
+				{
+					low = mid + 1;
+				}
+			}
+		}
+		else
+		{
+			// The last drop is somewhere after the last checkpoint
+			low = dropCheckpoints.size();
+		}
+
+		// The last drop is in the records leading up to that checkpoint
+		final int end = Math.min(low * CHECKPOINT_INTERVAL, recordCount);
+		final int start = Math.max(0, (low - 1) * CHECKPOINT_INTERVAL);
+		for (int index = end - 1; index >= start; index--)
+		{
+			for (final LTItemEntry entry : reader.read(index).getDrops())
+			{
+				if (entry.getId() == itemId)
+				{
+					return recordCount - index - 1;
+				}
+			}
+		}
+
+		return recordCount;
+	}
+
+	private int dropCount(final int checkpoint, final int column)
+	{
+		final int[] counts = dropCheckpoints.get(checkpoint);
+		return column < counts.length ? counts[column] : 0;
+	}
+
+	// Adds (or subtracts) the totals of the first count records to the given arrays
+	private void prefix(final int count, final long[] quantities, final int[] drops, final RecordReader reader,
+		final int sign) throws IOException
+	{
+		final int checkpoint = count / CHECKPOINT_INTERVAL;
+		final long[] checkpointQuantities = quantityCheckpoints.get(checkpoint);
+		final int[] checkpointDrops = dropCheckpoints.get(checkpoint);
+		for (int column = 0; column < checkpointQuantities.length; column++)
+		{
+			quantities[column] += sign * checkpointQuantities[column];
+			drops[column] += sign * checkpointDrops[column];
+		}
+
+		// Records read back were all added before, so every item already has a column
+		for (int index = checkpoint * CHECKPOINT_INTERVAL; index < count; index++)
+		{
+			for (final LTItemEntry entry : reader.read(index).getDrops())
+			{
+				final int column = columns.get(entry.getId());
+				quantities[column] += sign * entry.getQuantity();
+				drops[column] += sign;
+			}
+		}
+	}
+
+	private int column(final LTItemEntry entry)
+	{
+		Integer column = columns.get(entry.getId());
+		if (column == null)
+		{
+			column = columns.size();
+			columns.put(entry.getId(), column);
+			names.add(entry.getName());
+			ids.add(entry.getId());
+
+			if (column == quantities.length)
+			{
+				quantities = Arrays.copyOf(quantities, column * 2);
+				drops = Arrays.copyOf(drops, column * 2);
+				prices = Arrays.copyOf(prices, column * 2);
+			}
+		}
+
+		// Use the most recent price
+		prices[column] = entry.getPrice();
+		return column;
+	}
+
+	private void checkpoint()
+	{
+		quantityCheckpoints.add(Arrays.copyOf(quantities, columns.size()));
+		dropCheckpoints.add(Arrays.copyOf(drops, columns.size()));
+	}
+}
@@ -57,8 +57,12 @@ class ItemPanel extends JPanel
 	private static final Color PANEL_BACKGROUND_COLOR = ColorScheme.DARKER_GRAY_COLOR;
 	private static final Border CONTAINER_BORDER = BorderFactory.createMatteBorder(4, 15, 4, 15, PANEL_BACKGROUND_COLOR);
 
-	private final LTItemEntry record;
-	private final long total;
+	private final ItemManager itemManager;
+	private final JLabel icon = new JLabel();
+	private final JShadowedLabel labelName = new JShadowedLabel();
+	private final JShadowedLabel labelValue = new JShadowedLabel();
+	private LTItemEntry record;
+	private long total;
 
 	ItemPanel(final LTItemEntry record, final ItemManager itemManager)
 	{
@@ -67,13 +71,9 @@ class ItemPanel extends JPanel
 		setBackground(PANEL_BACKGROUND_COLOR);
 		setPreferredSize(PANEL_SIZE);
 
-		this.record = record;
-		this.total = record.getPrice() * record.getQuantity();
+		this.itemManager = itemManager;
 
 		// Item Image Icon
-		final JLabel icon = new JLabel();
-		final boolean stackable = record.getQuantity() > 1;
-		itemManager.getImage(record.getId(), record.getQuantity(), stackable).addTo(icon);
 		icon.setHorizontalAlignment(JLabel.CENTER);
 
 		// Container for Info
@@ -81,14 +81,10 @@ class ItemPanel extends JPanel
 		uiInfo.setBorder(new EmptyBorder(0, 5, 0, 0));
 		uiInfo.setBackground(PANEL_BACKGROUND_COLOR);
 
-		final JShadowedLabel labelName = new JShadowedLabel(this.record.getName());
 		labelName.setFont(FontManager.getRunescapeSmallFont());
-		labelName.setForeground(getRSValueColor(this.record.getPrice()));
 		labelName.setVerticalAlignment(SwingUtilities.BOTTOM);
 
-		final JShadowedLabel labelValue = new JShadowedLabel(QuantityFormatter.quantityToStackSize(total) + " gp");
 		labelValue.setFont(FontManager.getRunescapeSmallFont());
-		labelValue.setForeground(getRSValueColor(total));
 		labelValue.setVerticalAlignment(SwingUtilities.TOP);
 
 		uiInfo.add(labelName);
@@ -109,7 +105,40 @@ class ItemPanel extends JPanel
 		c.gridy = 0;
 
 		this.add(panel, c);
-		this.setToolTipText(buildToolTip(this.record));
+		setRecord(record);
+	}
+
+	/**
+	 * Shows this item instead, only touching the components whose content changed
+	 */
+	void setRecord(final LTItemEntry record)
+	{
+		final LTItemEntry old = this.record;
+		this.record = record;
+		this.total = record.getPrice() * record.getQuantity();
+
+		if (old == null || old.getId() != record.getId() || old.getQuantity() != record.getQuantity())
+		{
+			final boolean stackable = record.getQuantity() > 1;
+			itemManager.getImage(record.getId(), record.getQuantity(), stackable).addTo(icon);
+		}
+
+		if (old == null || !old.getName().equals(record.getName()) || old.getPrice() != record.getPrice())
+		{
+			labelName.setText(record.getName());
+			labelName.setForeground(getRSValueColor(record.getPrice()));
+		}
+
+		if (old == null || old.getTotal() != total)
+		{
+			labelValue.setText(QuantityFormatter.quantityToStackSize(total) + " gp");
+			labelValue.setForeground(getRSValueColor(total));
+		}
+
+		if (!record.equals(old))
+		{
+			this.setToolTipText(buildToolTip(record));
+		}
 	}
 
 	private static String buildToolTip(final LTItemEntry record)
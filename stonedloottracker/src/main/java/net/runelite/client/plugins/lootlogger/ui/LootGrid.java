@@ -26,6 +26,9 @@ package net.runelite.client.plugins.lootlogger.ui;
 
 import java.awt.Dimension;
 import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
@@ -37,46 +40,90 @@ import net.runelite.client.util.QuantityFormatter;
 
 /**
  * Displays an array of {@link LTItemEntry} in a grid with a max of 5 items (columns) per row
+ * <p>
+ * The grid can be updated with new items, only the slots whose item changed are redrawn.
  */
 class LootGrid extends JPanel
 {
 	private static final int ITEMS_PER_ROW = 5;
 	private static final Dimension ITEM_SIZE = new Dimension(40, 40);
 
+	private final ItemManager itemManager;
+	private final List<JLabel> slots = new ArrayList<>();
+	// The item each slot displays, null for empty slots
+	private final List<LTItemEntry> shown = new ArrayList<>();
+
 	LootGrid(final LTItemEntry[] itemsToDisplay, final ItemManager itemManager)
 	{
+		this.itemManager = itemManager;
 		setBorder(new EmptyBorder(5, 0, 5, 0));
+		setItems(itemsToDisplay);
+	}
 
+	void setItems(final LTItemEntry[] itemsToDisplay)
+	{
 		// Calculates how many rows need to be display to fit all items
 		final int rowSize = ((itemsToDisplay.length % ITEMS_PER_ROW == 0) ? 0 : 1) + itemsToDisplay.length / ITEMS_PER_ROW;
+		if (rowSize * ITEMS_PER_ROW != slots.size())
+		{
+			resize(rowSize);
+		}
+
+		// Create stacked items from the item list and displays all the items that changed in the UI.
+		for (int i = 0; i < slots.size(); i++)
+		{
+			final LTItemEntry item = i < itemsToDisplay.length ? itemsToDisplay[i] : null;
+			if (Objects.equals(item, shown.get(i)))
+			{
+				continue;
+			}
+
+			final JLabel itemLabel = slots.get(i);
+			if (item == null)
+			{
+				itemLabel.setIcon(null);
+				itemLabel.setToolTipText(null);
+			}
+			else
+			{
+				itemLabel.setToolTipText(buildToolTip(item));
+				itemManager.getImage(item.getId(), item.getQuantity(), item.getQuantity() > 1).addTo(itemLabel);
+			}
+			shown.set(i, item);
+		}
+
+		repaint();
+	}
+
+	private void resize(final int rowSize)
+	{
 		setLayout(new GridLayout(rowSize, ITEMS_PER_ROW, 1, 1));
 
-		// Create stacked items from the item list, calculates total price and then displays all the items in the UI.
-		for (int i = 0; i < rowSize * ITEMS_PER_ROW; i++)
+		while (slots.size() > rowSize * ITEMS_PER_ROW)
+		{
+			remove(slots.size() - 1);
+			slots.remove(slots.size() - 1);
+			shown.remove(shown.size() - 1);
+		}
+
+		while (slots.size() < rowSize * ITEMS_PER_ROW)
 		{
 			final JPanel slot = new JPanel();
 			slot.setLayout(new GridLayout(1, 1, 0, 0));
 			slot.setBackground(ColorScheme.DARKER_GRAY_COLOR);
 			slot.setPreferredSize(ITEM_SIZE);
-			if (i < itemsToDisplay.length)
-			{
-				final LTItemEntry item = itemsToDisplay[i];
-				if (item == null)
-				{
-					continue;
-				}
-				final JLabel itemLabel = new JLabel();
-				itemLabel.setToolTipText(buildToolTip(item));
-				itemLabel.setVerticalAlignment(SwingConstants.CENTER);
-				itemLabel.setHorizontalAlignment(SwingConstants.CENTER);
-				itemManager.getImage(item.getId(), item.getQuantity(), item.getQuantity() > 1).addTo(itemLabel);
-				slot.add(itemLabel);
-			}
+
+			final JLabel itemLabel = new JLabel();
+			itemLabel.setVerticalAlignment(SwingConstants.CENTER);
+			itemLabel.setHorizontalAlignment(SwingConstants.CENTER);
+			slot.add(itemLabel);
 
 			add(slot);
+			slots.add(itemLabel);
+			shown.add(null);
 		}
 
-		repaint();
+		revalidate();
 	}
 
 	private static String buildToolTip(final LTItemEntry item)
@@ -24,20 +24,31 @@
  */
 package net.runelite.client.plugins.lootlogger.ui;
 
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Table;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.MatteBorder;
@@ -45,11 +56,14 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.lootlogger.LootLoggerPlugin;
 import net.runelite.client.plugins.lootlogger.data.LootLog;
+import net.runelite.client.plugins.lootlogger.data.LootPlayback;
 import net.runelite.client.plugins.lootlogger.localstorage.LTRecord;
+import net.runelite.client.plugins.lootlogger.localstorage.LTSummary;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.ui.components.PluginErrorPanel;
 import net.runelite.client.util.ImageUtil;
+import net.runelite.client.util.QuantityFormatter;
 import net.runelite.http.api.loottracker.LootRecordType;
 
 @Slf4j
@@ -78,6 +92,20 @@ public class LootLoggerPanel extends PluginPanel
 	private LootLog lootLog;
 	private SelectionPanel selectionPanel;
 
+	// Whether records are still being streamed into the loot log
+	private boolean loading;
+	// Records received while the loot log was loading, by their sequence number
+	private final Map<Long, LTRecord> recordsWhileLoading = new LinkedHashMap<>();
+
+	// Range of records to show, 1-based and inclusive
+	private final SpinnerNumberModel rangeFrom = new SpinnerNumberModel(1, 1, 1, 1);
+	private final SpinnerNumberModel rangeTo = new SpinnerNumberModel(1, 1, 1, 1);
+	// Set while the range is changed by the panel rather than the user
+	private boolean updatingRange;
+	private CompletableFuture<LTSummary> rangeRequest;
+	// Totals shown in the tooltips of the selection screen, read again every time it's shown
+	private final Table<LootRecordType, String, CompletableFuture<LTSummary>> summaries = HashBasedTable.create();
+
 	public LootLoggerPanel(final ItemManager itemManager, final LootLoggerPlugin plugin)
 	{
 		super(false);
@@ -93,9 +121,54 @@ public class LootLoggerPanel extends PluginPanel
 	public void useLog(final LootLog log)
 	{
 		lootLog = log;
+		loading = true;
+		recordsWhileLoading.clear();
 		showLootView();
 	}
 
+	/**
+	 * Redraws the loot log with the records that have been loaded so far
+	 */
+	public void refreshLog(final LootLog log)
+	{
+		if (log == lootLog && lootPanel != null)
+		{
+			updateRangeLimits();
+			lootPanel.refresh();
+		}
+	}
+
+	/**
+	 * Called once every stored record has been streamed into the loot log
+	 *
+	 * @param sequence the sequence number of the last stored record, records received while loading with a higher
+	 *                 sequence number weren't stored yet when loading started
+	 */
+	public void loadedLog(final LootLog log, final long sequence)
+	{
+		if (log != lootLog)
+		{
+			return;
+		}
+
+		loading = false;
+		for (final Map.Entry<Long, LTRecord> entry : recordsWhileLoading.entrySet())
+		{
+			if (entry.getKey() > sequence)
+			{
+				lootLog.addRecord(entry.getValue());
+			}
+		}
+		recordsWhileLoading.clear();
+
+		if (lootPanel != null)
+		{
+			updateRangeLimits();
+			lootPanel.refresh();
+			requestDryStreaks();
+		}
+	}
+
 	public void requestLootLog(final LootRecordType type, final String name)
 	{
 		// For some reason removing all the components when there's a lot of names in the selectionPanel causes lag.
@@ -111,9 +184,16 @@ public class LootLoggerPanel extends PluginPanel
 	// Loot Selection view
 	public void showSelectionView()
 	{
+		plugin.cancelLootLogRequest();
+		stopPlayback();
+
 		this.removeAll();
 		lootLog = null;
 		lootPanel = null;
+		rangeRequest = null;
+		loading = false;
+		recordsWhileLoading.clear();
+		summaries.clear();
 
 		final PluginErrorPanel errorPanel = new PluginErrorPanel();
 		errorPanel.setBorder(new EmptyBorder(10, 25, 10, 25));
@@ -131,17 +211,176 @@ public class LootLoggerPanel extends PluginPanel
 	// Loot breakdown view
 	public void showLootView()
 	{
+		stopPlayback();
 		this.removeAll();
 		selectionPanel = null;
+		rangeRequest = null;
+
+		final JPanel header = new JPanel(new BorderLayout());
+		header.add(createLootViewTitle(), BorderLayout.NORTH);
+		header.add(createRangeSelector(), BorderLayout.CENTER);
+		final LootLog log = lootLog;
+		lootPanel = new LootPanel(lootLog, plugin.config, itemManager, new LootPlayback.Source()
+		{
+			@Override
+			public CompletableFuture<List<LTRecord>> loadRecords(final int fromIndex, final int count)
+			{
+				return plugin.getRecordsByName(log.getType(), log.getName(), fromIndex, count);
+			}
 
-		final JPanel title = createLootViewTitle();
-		lootPanel = new LootPanel(lootLog, plugin.config, itemManager);
+			@Override
+			public CompletableFuture<LTSummary> loadSummary(final int toIndex)
+			{
+				return plugin.getSummaryByName(log.getType(), log.getName(), 0, toIndex);
+			}
+		});
 
-		this.add(title, BorderLayout.NORTH);
+		this.add(header, BorderLayout.NORTH);
 		this.add(wrapContainer(lootPanel), BorderLayout.CENTER);
 
 		this.revalidate();
 		this.repaint();
+
+		if (!loading)
+		{
+			requestDryStreaks();
+		}
+	}
+
+	// Selects the range of records to show the drops of, every record is selected by default
+	private JPanel createRangeSelector()
+	{
+		final JPanel range = new JPanel();
+		range.setBorder(new EmptyBorder(0, 8, 8, 8));
+		range.setBackground(BACKGROUND_COLOR);
+
+		updatingRange = true;
+		final int count = Math.max(1, lootLog.getRecordCount());
+		rangeFrom.setMaximum(count);
+		rangeTo.setMaximum(count);
+		rangeFrom.setValue(1);
+		rangeTo.setValue(count);
+		updatingRange = false;
+
+		final JSpinner from = new JSpinner(rangeFrom);
+		from.addChangeListener(e -> rangeChanged(true));
+		from.setToolTipText("First loot to include");
+		final JSpinner to = new JSpinner(rangeTo);
+		to.addChangeListener(e -> rangeChanged(false));
+		to.setToolTipText("Last loot to include");
+
+		final JLabel text = new JLabel("Loots");
+		text.setForeground(Color.WHITE);
+		final JLabel separator = new JLabel("to");
+		separator.setForeground(Color.WHITE);
+
+		range.add(text);
+		range.add(from);
+		range.add(separator);
+		range.add(to);
+
+		return range;
+	}
+
+	// Keeps the range within the loaded records, a range ending at the last record keeps following it
+	private void updateRangeLimits()
+	{
+		final int count = Math.max(1, lootLog.getRecordCount());
+		final int previous = (Integer) rangeTo.getMaximum();
+		if (count == previous)
+		{
+			return;
+		}
+
+		final boolean following = (Integer) rangeTo.getValue() == previous;
+		updatingRange = true;
+		rangeFrom.setMaximum(count);
+		rangeTo.setMaximum(count);
+		if (following)
+		{
+			rangeTo.setValue(count);
+		}
+		updatingRange = false;
+
+		// A range that doesn't start at the first record now covers different records
+		if (following && !loading && (Integer) rangeFrom.getValue() > 1)
+		{
+			requestRange();
+		}
+	}
+
+	private void rangeChanged(final boolean fromChanged)
+	{
+		if (updatingRange)
+		{
+			return;
+		}
+
+		// Move the other end along rather than allowing an empty range
+		updatingRange = true;
+		if ((Integer) rangeFrom.getValue() > (Integer) rangeTo.getValue())
+		{
+			if (fromChanged)
+			{
+				rangeTo.setValue(rangeFrom.getValue());
+			}
+			else
+			{
+				rangeFrom.setValue(rangeTo.getValue());
+			}
+		}
+		updatingRange = false;
+
+		requestRange();
+	}
+
+	// Totals the selected range from the store, the whole log is already in memory
+	private void requestRange()
+	{
+		if (lootPanel == null)
+		{
+			return;
+		}
+
+		final int from = (Integer) rangeFrom.getValue();
+		final int to = (Integer) rangeTo.getValue();
+		if (from <= 1 && to >= lootLog.getRecordCount())
+		{
+			rangeRequest = null;
+			lootPanel.showRange(null);
+			return;
+		}
+
+		final LootLog log = lootLog;
+		final CompletableFuture<LTSummary> request = plugin.getSummaryByName(log.getType(), log.getName(), from - 1, to);
+		rangeRequest = request;
+		request.thenAccept(summary -> SwingUtilities.invokeLater(() ->
+		{
+			// Skip ranges that were replaced by another selection in the meantime
+			if (request == rangeRequest && lootPanel != null)
+			{
+				lootPanel.showRange(LootLog.fromSummary(log.getName(), log.getType(), summary));
+			}
+		}));
+	}
+
+	private void requestDryStreaks()
+	{
+		final Set<Integer> uniqueIds = lootPanel.getUniqueIds();
+		if (uniqueIds.isEmpty())
+		{
+			return;
+		}
+
+		final LootLog log = lootLog;
+		final LootPanel panel = lootPanel;
+		plugin.getDryStreaksByName(log.getType(), log.getName(), uniqueIds).thenAccept(streaks -> SwingUtilities.invokeLater(() ->
+		{
+			if (panel == lootPanel)
+			{
+				panel.setDryStreaks(streaks);
+			}
+		}));
 	}
 
 	// Title element for Loot breakdown view
@@ -174,6 +413,14 @@ public class LootLoggerPanel extends PluginPanel
 		final JLabel text = new JLabel(name);
 		text.setForeground(Color.WHITE);
 
+		// Export data menu
+		final JPopupMenu menu = new JPopupMenu();
+		final JMenuItem export = new JMenuItem("Export to JSON");
+		export.addActionListener(e -> exportData(lootLog.getType(), name));
+		menu.add(export);
+		text.setComponentPopupMenu(menu);
+		text.setToolTipText("Right-click to export stored data");
+
 		first.add(back);
 		first.add(text);
 
@@ -273,19 +520,67 @@ public class LootLoggerPanel extends PluginPanel
 		final int delete = JOptionPane.showConfirmDialog(this.getRootPane(), "<html>Are you sure you want to clear all data for this tab?<br/>There is no way to undo this action.</html>", "Warning", JOptionPane.YES_NO_OPTION);
 		if (delete == JOptionPane.YES_OPTION)
 		{
-			boolean deleted = plugin.clearStoredDataByName(type, name);
-			if (!deleted)
+			plugin.clearStoredDataByName(type, name).whenComplete((deleted, ex) -> SwingUtilities.invokeLater(() ->
+			{
+				if (ex != null || !deleted)
+				{
+					JOptionPane.showMessageDialog(this.getRootPane(), "Unable to clear stored data, please try again.");
+					return;
+				}
+
+				// Return to selection screen
+				showSelectionView();
+			}));
+		}
+	}
+
+	// Export stored data to the old JSON Lines format
+	private void exportData(final LootRecordType type, final String name)
+	{
+		plugin.exportDataByName(type, name).whenComplete((file, ex) -> SwingUtilities.invokeLater(() ->
+		{
+			if (ex != null)
 			{
-				JOptionPane.showMessageDialog(this.getRootPane(), "Unable to clear stored data, please try again.");
+				JOptionPane.showMessageDialog(this.getRootPane(), "Unable to export stored data, please try again.");
 				return;
 			}
 
-			// Return to selection screen
-			showSelectionView();
+			JOptionPane.showMessageDialog(this.getRootPane(), "Exported stored data to " + file.getAbsolutePath());
+		}));
+	}
+
+	// Tooltip for the selection screen, the stored totals are read on the IO thread the first time a name is hovered
+	@Nullable
+	String getSummaryToolTip(final LootRecordType type, final String name)
+	{
+		CompletableFuture<LTSummary> request = summaries.get(type, name);
+		if (request == null)
+		{
+			request = plugin.getSummaryByName(type, name);
+			summaries.put(type, name, request);
+		}
+
+		if (!request.isDone() || request.isCompletedExceptionally())
+		{
+			return null;
 		}
+
+		final LTSummary summary = request.join();
+		if (summary.getRecordCount() == 0)
+		{
+			return null;
+		}
+
+		return "<html>Loots Logged: " + summary.getRecordCount()
+			+ "<br/>Total Value: " + QuantityFormatter.quantityToStackSize(summary.getTotalValue()) + " gp</html>";
+	}
+
+	CompletableFuture<SetMultimap<LootRecordType, String>> searchNames(final String searchText)
+	{
+		return plugin.searchLootNames(searchText);
 	}
 
-	public void addLog(final LTRecord r)
+	public void addLog(final LTRecord r, final long sequence)
 	{
 		if (lootLog == null)
 		{
@@ -293,7 +588,17 @@ public class LootLoggerPanel extends PluginPanel
 		}
 		else if (lootLog.getName().equalsIgnoreCase(r.getName()))
 		{
-			lootPanel.addedRecord(r);
+			if (loading)
+			{
+				// The stream may or may not include this record, loadedLog sorts it out
+				recordsWhileLoading.put(sequence, r);
+			}
+			else
+			{
+				lootPanel.addedRecord(r);
+				updateRangeLimits();
+				requestDryStreaks();
+			}
 		}
 	}
 
@@ -311,18 +616,19 @@ public class LootLoggerPanel extends PluginPanel
 		}
 	}
 
-	private void playbackLoot()
+	private void stopPlayback()
 	{
-		if (lootPanel == null)
+		if (lootPanel != null)
 		{
-			return;
+			lootPanel.stopPlayback();
 		}
+	}
 
-		// Create a new thread for this so it doesn't cause swing freezes
-		final ScheduledExecutorService ex = Executors.newSingleThreadScheduledExecutor();
-		if (lootLog != null)
+	private void playbackLoot()
+	{
+		if (lootPanel != null)
 		{
-			ex.schedule(lootPanel::playback, 0, TimeUnit.SECONDS);
+			lootPanel.togglePlayback();
 		}
 	}
 }
\ No newline at end of file
@@ -26,19 +26,25 @@ package net.runelite.client.plugins.lootlogger.ui;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JSlider;
 import javax.swing.SwingConstants;
-import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.game.ItemManager;
@@ -46,6 +52,7 @@ import net.runelite.client.plugins.lootlogger.ItemSortTypes;
 import net.runelite.client.plugins.lootlogger.LootLoggerConfig;
 import net.runelite.client.plugins.lootlogger.UniqueItemPlacement;
 import net.runelite.client.plugins.lootlogger.data.LootLog;
+import net.runelite.client.plugins.lootlogger.data.LootPlayback;
 import net.runelite.client.plugins.lootlogger.data.UniqueItem;
 import net.runelite.client.plugins.lootlogger.localstorage.LTItemEntry;
 import net.runelite.client.plugins.lootlogger.localstorage.LTRecord;
@@ -53,30 +60,62 @@ import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.components.shadowlabel.JShadowedLabel;
 
+/**
+ * Displays a {@link LootLog}. The components are created once and updated in place whenever the log changes, so
+ * adding a record or stepping through a playback only redraws the values and item slots that changed.
+ */
 @Slf4j
 class LootPanel extends JPanel
 {
 	private final LootLog lootLog;
 	private final LootLoggerConfig config;
 	private final ItemManager itemManager;
-
-	private boolean playbackPlaying = false;
-	private boolean cancelPlayback = false;
+	// Reads the records of the log for the playback
+	private final LootPlayback.Source playbackSource;
+
+	// Helpers for the unique toggles, these only depend on the name of the log
+	private final Multimap<Integer, UniqueItem> positionMap = ArrayListMultimap.create();
+	private final Set<Integer> uniqueIds = new HashSet<>();
+
+	private final JPanel playbackBar = new JPanel(new BorderLayout());
+	private final JLabel playbackLabel = new JLabel("", SwingConstants.CENTER);
+	private final JSlider playbackSlider = new JSlider(0, 0);
+	private TextPanel killCountPanel;
+	private TextPanel loggedPanel;
+	private TextPanel totalPanel;
+	private TextPanel averagePanel;
+	private final List<UniqueItemPanel> uniquePanels = new ArrayList<>();
+	private JLabel dropsTitle;
+	// Either the grid or the breakdown displays the drops, depending on the config
+	private LootGrid grid;
+	private JPanel breakdown;
+	private final List<ItemPanel> itemPanels = new ArrayList<>();
+
+	// Drops of a range of records shown instead of the whole log, null to show the whole log
+	private LootLog rangeLog;
+
+	private LootPlayback playback;
+	private Timer playbackTimer;
+	// Set while the slider is moved by the playback rather than the user
+	private boolean movingSlider;
 
 	LootPanel(
 		final LootLog log,
 		final LootLoggerConfig config,
-		final ItemManager itemManager)
+		final ItemManager itemManager,
+		final LootPlayback.Source playbackSource)
 	{
 		this.lootLog = log;
 		this.config = config;
 		this.itemManager = itemManager;
+		this.playbackSource = playbackSource;
 
 		setLayout(new GridBagLayout());
 		setBorder(new EmptyBorder(0, 10, 0, 10));
 		setBackground(ColorScheme.DARK_GRAY_COLOR);
 
 		createPanel(log);
+		update(log);
 	}
 
 	private void createPanel(final LootLog lootLog)
@@ -87,12 +126,20 @@ class LootPanel extends JPanel
 		c.gridx = 0;
 		c.gridy = 0;
 
-		// Create necessary helpers for the unique toggles
-		final Multimap<Integer, UniqueItem> positionMap = ArrayListMultimap.create();
-		final Set<Integer> uniqueIds = new HashSet<>();
+		// Playback controls, only visible while replaying
+		playbackLabel.setForeground(Color.WHITE);
+		playbackLabel.setFont(FontManager.getRunescapeSmallFont());
+		playbackSlider.setBackground(ColorScheme.DARK_GRAY_COLOR);
+		playbackSlider.addChangeListener(e -> seekPlayback());
+		playbackBar.setBackground(ColorScheme.DARK_GRAY_COLOR);
+		playbackBar.setBorder(new EmptyBorder(10, 0, 0, 0));
+		playbackBar.add(playbackLabel, BorderLayout.NORTH);
+		playbackBar.add(playbackSlider, BorderLayout.CENTER);
+		playbackBar.setVisible(false);
+		this.add(playbackBar, c);
+		c.gridy++;
 
 		// Attach Kill Count Panel(s)
-		final int amount = lootLog.getRecords().size();
 		String currentText;
 		String loggedText;
 
@@ -132,41 +179,26 @@ class LootPanel extends JPanel
 		this.add(titleLabel("Statistics"), c);
 		c.gridy++;
 
-		if (amount > 0)
-		{
-			final LTRecord entry = lootLog.getRecords().get(amount - 1);
-			if (entry.getKillCount() != -1)
-			{
-				final TextPanel p = new TextPanel(currentText, entry.getKillCount());
-				this.add(p, c);
-				c.gridy++;
-			}
-		}
+		killCountPanel = new TextPanel(currentText, 0);
+		this.add(killCountPanel, c);
+		c.gridy++;
 
-		final TextPanel p2 = new TextPanel(loggedText, amount);
-		this.add(p2, c);
+		loggedPanel = new TextPanel(loggedText, 0);
+		this.add(loggedPanel, c);
 		c.gridy++;
 
-		// Only add the total value element if it has something useful to display
-		final long totalValue = lootLog.getConsolidated().values().stream().mapToLong(e -> e.getPrice() * e.getQuantity()).sum();
-		if (totalValue > 0)
-		{
-			final TextPanel totalPanel = new TextPanel("Total Value:", totalValue);
-			this.add(totalPanel, c);
-			c.gridy++;
-		}
+		// The value elements are only shown if they have something useful to display
+		totalPanel = new TextPanel("Total Value:", 0L);
+		this.add(totalPanel, c);
+		c.gridy++;
 
-		if (amount > 0 && totalValue > 0)
-		{
-			final TextPanel totalPanel = new TextPanel("Average Value:", totalValue / amount);
-			this.add(totalPanel, c);
-			c.gridy++;
-		}
+		averagePanel = new TextPanel("Average Value:", 0L);
+		this.add(averagePanel, c);
+		c.gridy++;
 
 		if (!config.uniquesPlacement().equals(UniqueItemPlacement.ITEM_BREAKDOWN))
 		{
-			// Loop over all UniqueItems and check how many the player has received as a drop for each
-			// Also add all Item IDs for uniques to a Set for easy hiding later on.
+			// Add all Item IDs for uniques to a Set for easy hiding later on.
 			for (final UniqueItem item : lootLog.getUniques())
 			{
 				final int id = item.getItemID();
@@ -181,10 +213,6 @@ class LootPanel extends JPanel
 					uniqueIds.add(linkedId);
 				}
 
-				final LTItemEntry entry = lootLog.getConsolidated().get(id);
-				final LTItemEntry notedEntry = lootLog.getConsolidated().get(linkedId);
-				final int qty = (entry == null ? 0 : entry.getQuantity()) + (notedEntry == null ? 0 : notedEntry.getQuantity());
-				item.setQty(qty);
 				positionMap.put(item.getPosition(), item);
 			}
 
@@ -200,101 +228,272 @@ class LootPanel extends JPanel
 
 				final UniqueItemPanel p = new UniqueItemPanel(uniques, this.itemManager, this.config.itemMissingAlpha());
 				this.add(p, c);
+				uniquePanels.add(p);
 				c.gridy++;
 			}
 		}
 
+		dropsTitle = titleLabel("Drops");
+		this.add(dropsTitle, c);
+		c.gridy++;
+
+		if (config.itemBreakdown())
+		{
+			breakdown = new JPanel(new GridBagLayout());
+			breakdown.setBackground(ColorScheme.DARK_GRAY_COLOR);
+			this.add(breakdown, c);
+		}
+		else
+		{
+			grid = new LootGrid(new LTItemEntry[0], itemManager);
+			this.add(grid, c);
+		}
+		c.gridy++;
+	}
+
+	/**
+	 * Shows the current state of the log, only touching the components whose values changed
+	 */
+	private void update(final LootLog lootLog)
+	{
+		// Records may still be loading, so work from a snapshot of the log
+		final Map<Integer, LTItemEntry> consolidated = lootLog.copyConsolidated();
+		final int lastKillCount = lootLog.getLastKillCount();
+		final int amount = lootLog.getRecordCount();
+
+		showIf(killCountPanel, lastKillCount != -1);
+		killCountPanel.setValue(lastKillCount);
+
+		loggedPanel.setValue(amount);
+
+		final long totalValue = consolidated.values().stream().mapToLong(e -> e.getPrice() * e.getQuantity()).sum();
+		showIf(totalPanel, totalValue > 0);
+		totalPanel.setTotalValue(totalValue);
+
+		showIf(averagePanel, amount > 0 && totalValue > 0);
+		if (amount > 0)
+		{
+			averagePanel.setTotalValue(totalValue / amount);
+		}
+
+		// Check how many of each UniqueItem the player has received as a drop
+		for (final UniqueItem item : positionMap.values())
+		{
+			final LTItemEntry entry = consolidated.get(item.getItemID());
+			final LTItemEntry notedEntry = consolidated.get(item.getLinkedID());
+			final int qty = (entry == null ? 0 : entry.getQuantity()) + (notedEntry == null ? 0 : notedEntry.getQuantity());
+			item.setQty(qty);
+		}
+
+		for (final UniqueItemPanel p : uniquePanels)
+		{
+			p.refresh();
+		}
+
 		final boolean hideUniques = config.uniquesPlacement().equals(UniqueItemPlacement.UNIQUES_PANEL);
 		final Comparator<LTItemEntry> sorter = createLTItemEntryComparator(config.itemSortType());
-		final Collection<LTItemEntry> itemsToDisplay = lootLog.getConsolidated().values().stream()
+		final LTItemEntry[] itemsToDisplay = consolidated.values().stream()
 			.filter(e -> !(hideUniques && uniqueIds.contains(e.getId())))
 			.sorted(sorter)
-			.collect(Collectors.toList());
+			.toArray(LTItemEntry[]::new);
 
-		if (itemsToDisplay.size() > 0)
+		showIf(dropsTitle, itemsToDisplay.length > 0);
+		if (grid != null)
+		{
+			showIf(grid, itemsToDisplay.length > 0);
+			grid.setItems(itemsToDisplay);
+		}
+		else
 		{
-			this.add(titleLabel("Drops"), c);
-			c.gridy++;
+			updateBreakdown(itemsToDisplay);
+		}
+	}
 
-			if (config.itemBreakdown())
-			{
-				for (final LTItemEntry e : itemsToDisplay)
-				{
-					final ItemPanel p = new ItemPanel(e, itemManager);
-					this.add(p, c);
-					c.gridy++;
-				}
-			}
-			else
+	private void updateBreakdown(final LTItemEntry[] itemsToDisplay)
+	{
+		boolean changed = false;
+		while (itemPanels.size() > itemsToDisplay.length)
+		{
+			breakdown.remove(itemPanels.remove(itemPanels.size() - 1));
+			changed = true;
+		}
+
+		for (int i = 0; i < itemsToDisplay.length; i++)
+		{
+			if (i < itemPanels.size())
 			{
-				final LootGrid grid = new LootGrid(itemsToDisplay.toArray(new LTItemEntry[0]), itemManager);
-				this.add(grid, c);
-				c.gridy++;
+				itemPanels.get(i).setRecord(itemsToDisplay[i]);
+				continue;
 			}
+
+			final GridBagConstraints c = new GridBagConstraints();
+			c.fill = GridBagConstraints.HORIZONTAL;
+			c.weightx = 1;
+			c.gridx = 0;
+			c.gridy = i;
+
+			final ItemPanel p = new ItemPanel(itemsToDisplay[i], itemManager);
+			breakdown.add(p, c);
+			itemPanels.add(p);
+			changed = true;
+		}
+
+		if (changed)
+		{
+			breakdown.revalidate();
+			breakdown.repaint();
+		}
+	}
+
+	// setVisible revalidates the layout, so only call it when the visibility actually changes
+	private static void showIf(final JComponent component, final boolean visible)
+	{
+		if (component.isVisible() != visible)
+		{
+			component.setVisible(visible);
 		}
 	}
 
 	void addedRecord(final LTRecord record)
 	{
 		lootLog.addRecord(record);
+		refresh();
+	}
 
-		// TODO: Smarter update system so it only repaints necessary Item and Text Panels
-		this.removeAll();
-		this.createPanel(lootLog);
+	void refresh()
+	{
+		// The playback shows its own log until it's stopped
+		if (playback == null)
+		{
+			update(getDisplayedLog());
+		}
+	}
 
-		this.revalidate();
-		this.repaint();
+	/**
+	 * Shows the drops of a range of records instead of the whole log, or the whole log again if null
+	 */
+	void showRange(@Nullable final LootLog range)
+	{
+		stopPlayback();
+		rangeLog = range;
+		update(getDisplayedLog());
+	}
+
+	private LootLog getDisplayedLog()
+	{
+		return rangeLog == null ? lootLog : rangeLog;
 	}
 
-	void playback()
+	/**
+	 * @return the item ids of the uniques shown in their own panels, which can have their dry streaks displayed
+	 */
+	Set<Integer> getUniqueIds()
 	{
-		if (playbackPlaying)
+		return uniquePanels.isEmpty() ? Collections.emptySet() : uniqueIds;
+	}
+
+	void setDryStreaks(final Map<Integer, Integer> dryStreaks)
+	{
+		for (final UniqueItemPanel p : uniquePanels)
+		{
+			p.setDryStreaks(dryStreaks);
+		}
+	}
+
+	/**
+	 * Starts replaying the loot log one record at a time, or stops the playback if it's already playing
+	 */
+	void togglePlayback()
+	{
+		if (playback != null)
 		{
-			cancelPlayback = true;
+			stopPlayback();
 			return;
 		}
 
-		playbackPlaying = true;
+		if (lootLog.getRecordCount() == 0)
+		{
+			return;
+		}
+
+		playback = new LootPlayback(lootLog.getName(), lootLog.getType(), lootLog.getRecordCount(), playbackSource,
+			this::showSeekedPlayback);
+		moveSlider(0, playback.getLength());
+		playbackBar.setVisible(true);
+		update(playback.getLog());
 
-		if (lootLog.getRecords().size() > 0)
+		playbackTimer = new Timer(1000 / Math.max(1, config.playbackSpeed()), e -> stepPlayback());
+		playbackTimer.start();
+	}
+
+	void stopPlayback()
+	{
+		if (playback == null)
 		{
-			final Collection<LTRecord> recs = new ArrayList<>();
-			for (final LTRecord r : lootLog.getRecords())
-			{
-				recs.add(r);
+			return;
+		}
 
-				SwingUtilities.invokeLater(() -> refreshPlayback(new LootLog(recs, lootLog.getName())));
-				try
-				{
-					if (cancelPlayback)
-					{
-						playbackPlaying = false;
-						cancelPlayback = false;
-						SwingUtilities.invokeLater(() -> refreshPlayback(lootLog));
-						break;
-					}
+		playbackTimer.stop();
+		playbackTimer = null;
+		playback = null;
+		playbackBar.setVisible(false);
+		update(getDisplayedLog());
+	}
 
-					// TODO: Allow this rate to be configurable?
-					Thread.sleep(250);
-				}
-				catch (InterruptedException e)
-				{
-					System.out.println(e.getMessage());
-				}
-			}
+	private void stepPlayback()
+	{
+		// Don't fight the user while they drag the slider
+		if (playbackSlider.getValueIsAdjusting())
+		{
+			return;
+		}
+
+		if (!playback.step())
+		{
+			stopPlayback();
+			return;
+		}
+
+		moveSlider(playback.getPosition(), playback.getLength());
+		update(playback.getLog());
+	}
+
+	// Jumps to the record the user selected with the slider
+	private void seekPlayback()
+	{
+		if (movingSlider || playback == null)
+		{
+			return;
 		}
 
-		playbackPlaying = false;
+		playback.seek(playbackSlider.getValue());
+		showPlaybackPosition();
 	}
 
-	private void refreshPlayback(final LootLog log)
+	// Shows the playback log once a seek has rebuilt it, unless the playback was stopped in the meantime
+	private void showSeekedPlayback()
 	{
-		this.removeAll();
+		if (playback == null)
+		{
+			return;
+		}
+
+		showPlaybackPosition();
+		update(playback.getLog());
+	}
 
-		this.createPanel(log);
+	private void moveSlider(final int position, final int length)
+	{
+		movingSlider = true;
+		playbackSlider.setMaximum(length);
+		playbackSlider.setValue(position);
+		movingSlider = false;
+		showPlaybackPosition();
+	}
 
-		this.revalidate();
-		this.repaint();
+	private void showPlaybackPosition()
+	{
+		playbackLabel.setText("Replaying " + playback.getPosition() + " / " + playback.getLength());
 	}
 
 	/**
@@ -26,7 +26,6 @@ package net.runelite.client.plugins.lootlogger.ui;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -37,9 +36,8 @@ import java.awt.Image;
 import java.awt.Insets;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -49,6 +47,9 @@ import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.ToolTipManager;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
@@ -64,14 +65,14 @@ import net.runelite.client.ui.components.materialtabs.MaterialTab;
 import net.runelite.client.ui.components.materialtabs.MaterialTabGroup;
 import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.http.api.loottracker.LootRecordType;
-import org.apache.commons.text.similarity.JaroWinklerDistance;
 
 class SelectionPanel extends JPanel
 {
 	private final static Color BACKGROUND_COLOR = ColorScheme.DARK_GRAY_COLOR;
 	private final static Color BUTTON_COLOR = ColorScheme.DARKER_GRAY_COLOR;
 	private final static Color BUTTON_HOVER_COLOR = ColorScheme.DARKER_GRAY_HOVER_COLOR;
-	private static final JaroWinklerDistance DISTANCE = new JaroWinklerDistance();
+	// Milliseconds to wait for the user to stop typing before searching
+	private static final int SEARCH_DELAY = 150;
 
 	private final SetMultimap<LootRecordType, String> names;
 	private final LootLoggerPanel parent;
@@ -83,6 +84,10 @@ class SelectionPanel extends JPanel
 
 	private boolean configToggle;
 
+	private final Timer searchTimer = new Timer(SEARCH_DELAY, e -> search());
+	// Incremented for every search, results of older searches are dropped
+	private int searchGeneration;
+
 	SelectionPanel(
 		final boolean configToggle,
 		final SetMultimap<LootRecordType, String> names,
@@ -122,6 +127,8 @@ class SelectionPanel extends JPanel
 			}
 		});
 
+		searchTimer.setRepeats(false);
+
 		namePanel.setLayout(new GridBagLayout());
 
 		createPanel();
@@ -146,7 +153,7 @@ class SelectionPanel extends JPanel
 		this.add(searchBar, c);
 		c.gridy++;
 
-		addNamesToPanel(this.names);
+		addNamesToPanel(this.names, false);
 		this.add(namePanel, c);
 	}
 
@@ -171,7 +178,10 @@ class SelectionPanel extends JPanel
 		return container;
 	}
 
-	private void addNamesToPanel(final SetMultimap<LootRecordType, String> names)
+	/**
+	 * @param ranked whether the names are already in order, otherwise they are sorted alphabetically
+	 */
+	private void addNamesToPanel(final SetMultimap<LootRecordType, String> names, final boolean ranked)
 	{
 		namePanel.removeAll();
 
@@ -189,7 +199,7 @@ class SelectionPanel extends JPanel
 				continue;
 			}
 
-			final JPanel section = createCollapseableSection(type, names.get(type));
+			final JPanel section = createCollapseableSection(type, names.get(type), ranked);
 			if (section != null)
 			{
 				namePanel.add(section, c);
@@ -201,7 +211,7 @@ class SelectionPanel extends JPanel
 	}
 
 	@Nullable
-	private JPanel createCollapseableSection(final LootRecordType type, Set<String> names)
+	private JPanel createCollapseableSection(final LootRecordType type, Set<String> names, final boolean ranked)
 	{
 		// Filter out boss tabs if the config toggle is enabled
 		names = names.stream().filter((n) ->
@@ -213,7 +223,7 @@ class SelectionPanel extends JPanel
 
 			BossTab b = BossTab.getByName(n);
 			return b == null || !b.getType().equals(type);
-		}).collect(Collectors.toSet());
+		}).collect(Collectors.toCollection(LinkedHashSet::new));
 		if (names.size() == 0)
 		{
 			return null;
@@ -273,7 +283,7 @@ class SelectionPanel extends JPanel
 		c.gridy = 0;
 		c.insets = new Insets(2, 0, 2, 0);
 
-		for (final String name : new TreeSet<>(names))
+		for (final String name : ranked ? names : new TreeSet<>(names))
 		{
 			panel.add(createNamePanel(type, name), c);
 			c.gridy++;
@@ -285,7 +295,16 @@ class SelectionPanel extends JPanel
 
 	private JPanel createNamePanel(final LootRecordType type, final String name)
 	{
-		final JPanel p = new JPanel();
+		final JPanel p = new JPanel()
+		{
+			// Totals are only looked up once the user hovers the name
+			@Override
+			public String getToolTipText(final MouseEvent e)
+			{
+				return parent.getSummaryToolTip(type, name);
+			}
+		};
+		ToolTipManager.sharedInstance().registerComponent(p);
 		p.add(new JLabel(name));
 		p.setBackground(BUTTON_COLOR);
 		p.addMouseListener(new MouseAdapter()
@@ -388,41 +407,26 @@ class SelectionPanel extends JPanel
 
 	private void onSearchBarChanged()
 	{
+		// Wait for the user to stop typing
+		searchTimer.restart();
+	}
+
+	private void search()
+	{
+		final int generation = ++searchGeneration;
 		final String text = searchBar.getText();
 		if (Strings.isNullOrEmpty(text))
 		{
-			addNamesToPanel(this.names);
+			addNamesToPanel(this.names, false);
+			return;
 		}
-		else
-		{
-			addNamesToPanel(filterNames(this.names, text));
-		}
-	}
 
-	private SetMultimap<LootRecordType, String> filterNames(final SetMultimap<LootRecordType, String> nameMap, final String searchText)
-	{
-		final String[] searchTerms = searchText.toLowerCase().split(" ");
-		return nameMap.entries().stream()
-			.filter(entry -> matchesSearchTerm(entry.getValue(), searchTerms))
-			.collect(Multimaps.toMultimap(
-				Map.Entry::getKey,
-				Map.Entry::getValue,
-				HashMultimap::create
-				)
-			);
-	}
-
-	private static boolean matchesSearchTerm(final String name, final String[] terms)
-	{
-		for (final String term : terms)
+		parent.searchNames(text).thenAccept(results -> SwingUtilities.invokeLater(() ->
 		{
-			if (Arrays.stream(name.toLowerCase().split(" ")).noneMatch((nameTerm ->
-				nameTerm.contains(term) || DISTANCE.apply(nameTerm, term) > 0.9)))
+			if (generation == searchGeneration)
 			{
-				return false;
+				addNamesToPanel(results, true);
 			}
-		}
-
-		return true;
+		}));
 	}
-}
\ No newline at end of file
+}
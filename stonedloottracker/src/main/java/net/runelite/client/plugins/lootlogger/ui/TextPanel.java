@@ -47,6 +47,9 @@ class TextPanel extends JPanel
 
 	private static final Border CONTAINER_BORDER = BorderFactory.createMatteBorder(0, 15, 0, 15, PANEL_BACKGROUND_COLOR);
 
+	private final JPanel panel = createPanel();
+	private final JLabel valueLabel = new JLabel("", SwingConstants.LEFT);
+
 	// Long value should be for Total Value
 	TextPanel(final String text, final long totalValue)
 	{
@@ -58,14 +61,11 @@ class TextPanel extends JPanel
 		totalText.setForeground(Color.WHITE);
 
 		// Item Values (Colored off Total Value of item)
-		final JLabel total = new JLabel(QuantityFormatter.quantityToStackSize(totalValue) + " gp", SwingConstants.LEFT);
-		total.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0));
-		total.setForeground(getRSValueColor(totalValue));
-
-		final JPanel panel = createPanel();
+		valueLabel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0));
+		setTotalValue(totalValue);
 
 		panel.add(totalText, BorderLayout.LINE_START);
-		panel.add(total, BorderLayout.CENTER);
+		panel.add(valueLabel, BorderLayout.CENTER);
 
 		final GridBagConstraints c = new GridBagConstraints();
 		c.fill = GridBagConstraints.BOTH;
@@ -74,8 +74,6 @@ class TextPanel extends JPanel
 		c.gridy = 0;
 		c.ipady = 20;
 
-		panel.setToolTipText(QuantityFormatter.formatNumber(totalValue));
-
 		this.add(panel, c);
 	}
 
@@ -88,10 +86,9 @@ class TextPanel extends JPanel
 		final JLabel textLabel = new JLabel(text, SwingConstants.LEFT);
 		textLabel.setForeground(Color.WHITE);
 
-		final JLabel valueLabel = new JLabel(String.valueOf(value), SwingConstants.LEFT);
 		valueLabel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 0));
+		setValue(value);
 
-		final JPanel panel = createPanel();
 		panel.add(textLabel, BorderLayout.LINE_START);
 		panel.add(valueLabel, BorderLayout.CENTER);
 
@@ -105,6 +102,18 @@ class TextPanel extends JPanel
 		this.add(panel, c);
 	}
 
+	void setTotalValue(final long totalValue)
+	{
+		valueLabel.setText(QuantityFormatter.quantityToStackSize(totalValue) + " gp");
+		valueLabel.setForeground(getRSValueColor(totalValue));
+		panel.setToolTipText(QuantityFormatter.formatNumber(totalValue));
+	}
+
+	void setValue(final int value)
+	{
+		valueLabel.setText(String.valueOf(value));
+	}
+
 	private static JPanel createPanel()
 	{
 		final JPanel panel = new JPanel();
@@ -30,7 +30,11 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -54,9 +58,21 @@ class UniqueItemPanel extends JPanel
 	private static final Border panelBorder = new EmptyBorder(3, 0, 3, 0);
 	private static final Color panelBackgroundColor = ColorScheme.DARK_GRAY_COLOR;
 
+	private final ItemManager itemManager;
+	private final float alphaMissing;
+	private final List<UniqueItem> items;
+	private final List<JLabel> icons = new ArrayList<>();
+	// Quantity each icon displays
+	private final int[] shownQuantities;
+	// Records since each item last dropped, by item id
+	private Map<Integer, Integer> dryStreaks = Collections.emptyMap();
+
 	UniqueItemPanel(final Collection<UniqueItem> items, final ItemManager itemManager, final int itemMissingAlpha)
 	{
-		float alphaMissing = itemMissingAlpha / 100f;
+		this.itemManager = itemManager;
+		this.alphaMissing = itemMissingAlpha / 100f;
+		this.items = new ArrayList<>(items);
+		this.shownQuantities = new int[items.size()];
 		final JPanel panel = new JPanel();
 		panel.setLayout(new GridBagLayout());
 		panel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
@@ -75,41 +91,87 @@ class UniqueItemPanel extends JPanel
 		c.ipady = 5;
 
 		// Add each Unique Item icon to the panel
-		for (final UniqueItem l : items)
+		for (int i = 0; i < this.items.size(); i++)
 		{
-			final int quantity = l.getQty();
-			final float alpha = (quantity > 0 ? alphaHas : alphaMissing);
-			final AsyncBufferedImage image = itemManager.getImage(l.getItemID(), quantity, quantity > 1);
-			final BufferedImage opaque = ImageUtil.alphaOffset(image, alpha);
-
 			final JLabel icon = new JLabel();
-			icon.setToolTipText(buildToolTip(l, quantity));
-			icon.setIcon(new ImageIcon(opaque));
 			icon.setVerticalAlignment(SwingConstants.CENTER);
 			icon.setHorizontalAlignment(SwingConstants.CENTER);
 			panel.add(icon, c);
 			c.gridx++;
 
-			// in case the image is blank we will refresh it upon load
-			// Should only trigger if image hasn't been added
-			image.onLoaded(() ->
-			{
-				icon.setIcon(new ImageIcon(ImageUtil.alphaOffset(image, alpha)));
-				icon.revalidate();
-				icon.repaint();
-			});
+			icons.add(icon);
+			showQuantity(i);
 		}
 
 		this.add(panel, BorderLayout.NORTH);
 	}
 
-	private static String buildToolTip(final UniqueItem item, final int qty)
+	/**
+	 * Redraws the icons of the unique items whose quantity changed since they were last drawn
+	 */
+	void refresh()
+	{
+		for (int i = 0; i < items.size(); i++)
+		{
+			if (items.get(i).getQty() != shownQuantities[i])
+			{
+				showQuantity(i);
+			}
+		}
+	}
+
+	/**
+	 * Shows the records since each unique last dropped in the tooltips
+	 */
+	void setDryStreaks(final Map<Integer, Integer> dryStreaks)
+	{
+		this.dryStreaks = dryStreaks;
+		for (int i = 0; i < items.size(); i++)
+		{
+			icons.get(i).setToolTipText(buildToolTip(items.get(i), shownQuantities[i]));
+		}
+	}
+
+	private void showQuantity(final int index)
+	{
+		final UniqueItem l = items.get(index);
+		final JLabel icon = icons.get(index);
+		final int quantity = l.getQty();
+		final float alpha = (quantity > 0 ? alphaHas : alphaMissing);
+		final AsyncBufferedImage image = itemManager.getImage(l.getItemID(), quantity, quantity > 1);
+		final BufferedImage opaque = ImageUtil.alphaOffset(image, alpha);
+
+		icon.setToolTipText(buildToolTip(l, quantity));
+		icon.setIcon(new ImageIcon(opaque));
+		shownQuantities[index] = quantity;
+
+		// in case the image is blank we will refresh it upon load
+		// Should only trigger if image hasn't been added
+		image.onLoaded(() ->
+		{
+			// Skip images that have been replaced by a newer quantity in the meantime
+			if (shownQuantities[index] != quantity)
+			{
+				return;
+			}
+			icon.setIcon(new ImageIcon(ImageUtil.alphaOffset(image, alpha)));
+			icon.revalidate();
+			icon.repaint();
+		});
+	}
+
+	private String buildToolTip(final UniqueItem item, final int qty)
 	{
 		String s = "<html>" + item.getName();
 		if (qty > 0)
 		{
 			s += " x " + QuantityFormatter.formatNumber(qty);
 		}
+		final int dryStreak = getDryStreak(item);
+		if (dryStreak >= 0)
+		{
+			s += "<br/>Loots since last drop: " + QuantityFormatter.formatNumber(dryStreak);
+		}
 		if (item.getPrice() > 0)
 		{
 			s += "<br/>Price: " + QuantityFormatter.quantityToStackSize(item.getPrice());
@@ -123,4 +185,17 @@ class UniqueItemPanel extends JPanel
 
 		return s;
 	}
-}
\ No newline at end of file
+
+	// The noted and unnoted item count as the same drop, -1 if unknown
+	private int getDryStreak(final UniqueItem item)
+	{
+		final Integer streak = dryStreaks.get(item.getItemID());
+		final Integer linkedStreak = dryStreaks.get(item.getLinkedID());
+		if (streak == null || linkedStreak == null)
+		{
+			return streak == null ? (linkedStreak == null ? -1 : linkedStreak) : streak;
+		}
+
+		return Math.min(streak, linkedStreak);
+	}
+}